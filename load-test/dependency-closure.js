@@ -0,0 +1,77 @@
+// k6 benchmark of reachability on a deep dependency graph.
+// Setup builds one chain of DEPTH tasks, each depending on the next. The `cycle_check` scenario then
+// asks for the last task to depend on the first, which is rejected after a cycle check across the
+// whole chain, and the `descendants` scenario lists every task the first one depends on.
+// Run it once with DEPENDENCY_CLOSURE_ENABLED=false (DFS and recursive query) and once with true
+// (closure table lookups) and compare the `cycle_check` and `descendants` trends.
+//
+//   k6 run -e BASE_URL=http://localhost:8080/api/v1 -e DEPTH=1000 load-test/dependency-closure.js
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const DEPTH = Number(__ENV.DEPTH || 1000);
+const DURATION = __ENV.DURATION || '1m';
+const VUS = Number(__ENV.VUS || 10);
+const CREATE_CHUNK = 100;
+
+const cycleCheck = new Trend('cycle_check', true);
+const descendants = new Trend('descendants', true);
+
+export const options = {
+    setupTimeout: '10m',
+    scenarios: {
+        cycle_check: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            exec: 'checkCycle',
+        },
+        descendants: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            startTime: DURATION,
+            exec: 'listDescendants',
+        },
+    },
+};
+
+export function setup() {
+    const params = { headers: { 'Content-Type': 'application/json' } };
+    const dueDate = new Date(Date.now() + 30 * 86400000).toISOString().slice(0, 19);
+
+    // Create the tasks of the chain in parallel chunks
+    const ids = [];
+    for (let start = 0; start < DEPTH; start += CREATE_CHUNK) {
+        const requests = [];
+        for (let i = start; i < Math.min(start + CREATE_CHUNK, DEPTH); i++) {
+            const body = JSON.stringify({ title: `closure-benchmark-${i}`, dueDate, priority: 'LOW' });
+            requests.push(['POST', `${BASE_URL}/tasks`, body, params]);
+        }
+        http.batch(requests).forEach((res) => ids.push(res.json('data.id')));
+    }
+
+    // Link them into one chain in a single batch
+    const edges = [];
+    for (let i = 0; i < ids.length - 1; i++) {
+        edges.push({ taskId: ids[i], dependsOnTaskId: ids[i + 1] });
+    }
+    const res = http.post(`${BASE_URL}/dependencies/batch`, JSON.stringify({ edges }), params);
+    check(res, { 'chain created': (r) => r.status === 200 });
+
+    return { head: ids[0], tail: ids[ids.length - 1] };
+}
+
+export function checkCycle(chain) {
+    const res = http.post(`${BASE_URL}/dependencies/${chain.tail}?dependentTaskId=${chain.head}`);
+    check(res, { 'cycle rejected': (r) => r.status === 400 });
+    cycleCheck.add(res.timings.duration);
+}
+
+export function listDescendants(chain) {
+    const res = http.get(`${BASE_URL}/dependencies/${chain.head}/descendants`);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+    descendants.add(res.timings.duration);
+}
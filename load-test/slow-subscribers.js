@@ -0,0 +1,76 @@
+// Load test for notification backpressure: opens thousands of STOMP subscribers, most of which
+// stop reading from their socket, then creates tasks that all become overdue at the same time.
+// Afterwards it prints the notifications.queued and notifications.dropped metrics; heap should
+// stay flat while slow sessions are dropped or closed.
+//
+//   npm install ws
+//   SUBSCRIBERS=5000 SLOW_RATIO=0.9 TASKS=200 node load-test/slow-subscribers.js
+const WebSocket = require('ws');
+
+const BASE_URL = process.env.BASE_URL || 'http://localhost:8080/api/v1';
+const WS_URL = BASE_URL.replace(/^http/, 'ws') + '/ws';
+const SUBSCRIBERS = Number(process.env.SUBSCRIBERS || 5000);
+const SLOW_RATIO = Number(process.env.SLOW_RATIO || 0.9);
+const TASKS = Number(process.env.TASKS || 200);
+const DUE_IN_SECONDS = Number(process.env.DUE_IN_SECONDS || 30);
+const HOLD_SECONDS = Number(process.env.HOLD_SECONDS || 60);
+
+const frame = (command, headers) =>
+    command + '\n' + Object.entries(headers).map(([k, v]) => `${k}:${v}`).join('\n') + '\n\n\0';
+
+let received = 0;
+
+function connect(index) {
+    return new Promise((resolve) => {
+        const ws = new WebSocket(`${WS_URL}?user=load-${index}`);
+        const slow = index < SUBSCRIBERS * SLOW_RATIO;
+        ws.on('open', () => {
+            ws.send(frame('CONNECT', { 'accept-version': '1.2', host: 'localhost', 'heart-beat': '0,0' }));
+            ws.send(frame('SUBSCRIBE', { id: 'overdue', destination: '/notification/overdue-tasks' }));
+            ws.send(frame('SUBSCRIBE', { id: 'upcoming', destination: '/notification/upcoming-tasks' }));
+            // A slow consumer stops reading, so the server's writes back up in its send buffer
+            if (slow) ws._socket.pause();
+            resolve(ws);
+        });
+        ws.on('message', () => received++);
+        ws.on('error', () => resolve(null));
+    });
+}
+
+async function metric(name) {
+    const res = await fetch(`${BASE_URL}/actuator/metrics/${name}`);
+    return res.ok ? JSON.stringify((await res.json()).measurements) : `HTTP ${res.status}`;
+}
+
+async function main() {
+    const sockets = [];
+    for (let i = 0; i < SUBSCRIBERS; i += 100) {
+        const batch = [];
+        for (let j = i; j < Math.min(i + 100, SUBSCRIBERS); j++) batch.push(connect(j));
+        sockets.push(...(await Promise.all(batch)).filter(Boolean));
+    }
+    console.log(`Connected ${sockets.length} subscribers (${Math.round(SLOW_RATIO * 100)}% slow)`);
+
+    // Every task becomes overdue at the same moment, producing one burst of notifications.
+    // Due dates are local date-times, so this assumes the client and server share a time zone.
+    const offset = new Date().getTimezoneOffset() * 60 * 1000;
+    const dueDate = new Date(Date.now() + DUE_IN_SECONDS * 1000 - offset).toISOString().slice(0, 19);
+    for (let i = 0; i < TASKS; i++) {
+        await fetch(`${BASE_URL}/tasks`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ title: `Load test task ${i}`, dueDate }),
+        });
+    }
+    console.log(`Created ${TASKS} tasks due at ${dueDate}`);
+
+    await new Promise((r) => setTimeout(r, (DUE_IN_SECONDS + HOLD_SECONDS) * 1000));
+    console.log(`Fast subscribers received ${received} frames`);
+    console.log(`notifications.queued  ${await metric('notifications.queued')}`);
+    console.log(`notifications.dropped ${await metric('notifications.dropped')}`);
+    console.log(`jvm.memory.used       ${await metric('jvm.memory.used?tag=area:heap')}`);
+
+    sockets.forEach((ws) => ws.terminate());
+}
+
+main();
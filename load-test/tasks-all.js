@@ -0,0 +1,30 @@
+// k6 load test for GET /tasks/all.
+// Run it once against the default profile and once with SPRING_PROFILES_ACTIVE=prod and compare
+// http_reqs (throughput) and http_req_duration (latency) in the summary.
+//
+//   k6 run -e BASE_URL=http://localhost:8080/api/v1 load-test/tasks-all.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const STATUSES = ['PENDING', 'IN_PROGRESS', 'DONE', 'OVERDUE'];
+const PRIORITIES = ['LOW', 'MEDIUM', 'HIGH', 'URGENT', 'CRITICAL'];
+
+export const options = {
+    scenarios: {
+        tasks_all: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 50),
+            duration: __ENV.DURATION || '1m',
+        },
+    },
+};
+
+export default function () {
+    // Vary the filters so most requests miss the Redis cache and reach the database
+    const page = Math.floor(Math.random() * 50) + 1;
+    const status = STATUSES[Math.floor(Math.random() * STATUSES.length)];
+    const priority = PRIORITIES[Math.floor(Math.random() * PRIORITIES.length)];
+    const res = http.get(`${BASE_URL}/tasks/all?page=${page}&size=20&status=${status}&priority=${priority}`);
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,64 @@
+// k6 benchmark of rows/sec served by GET /tasks/all on cache misses.
+// Run it against a build before and after the projection queries and compare the `rows` rate
+// of the `full` scenario, then compare the `full` and `truncated` scenarios of the new build.
+//
+//   k6 run -e BASE_URL=http://localhost:8080/api/v1 load-test/tasks-projection.js
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const SIZE = Number(__ENV.SIZE || 100);
+const DESCRIPTION_LENGTH = Number(__ENV.DESCRIPTION_LENGTH || 100);
+const DURATION = __ENV.DURATION || '1m';
+const VUS = Number(__ENV.VUS || 20);
+
+const rows = new Counter('rows');
+
+export const options = {
+    // Thresholds make k6 report the rows of each scenario separately
+    thresholds: {
+        'rows{mode:full}': ['count>=0'],
+        'rows{mode:truncated}': ['count>=0'],
+    },
+    scenarios: {
+        full: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            env: { MODE: 'full' },
+        },
+        truncated: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            startTime: DURATION,
+            env: { MODE: 'truncated' },
+        },
+    },
+};
+
+export default function () {
+    // Pages past the cached window with a random start date, so requests reach the database
+    const page = Math.floor(Math.random() * 30) + 3;
+    const day = new Date(Date.UTC(2020, 0, 1) + Math.floor(Math.random() * 3650) * 86400000);
+    let url = `${BASE_URL}/tasks/all?page=${page}&size=${SIZE}&startDate=${day.toISOString().slice(0, 10)}`;
+    if (__ENV.MODE === 'truncated') {
+        url += `&descriptionLength=${DESCRIPTION_LENGTH}`;
+    }
+
+    const res = http.get(url, { tags: { mode: __ENV.MODE } });
+    check(res, { 'status is 200': (r) => r.status === 200 });
+    if (res.status === 200) {
+        rows.add(res.json('data.results').length, { mode: __ENV.MODE });
+    }
+}
+
+export function handleSummary(data) {
+    // Each scenario runs for DURATION, so its rate is its row count over that duration
+    const seconds = DURATION.endsWith('m') ? parseFloat(DURATION) * 60 : parseFloat(DURATION);
+    const lines = ['full', 'truncated']
+        .filter((mode) => data.metrics[`rows{mode:${mode}}`])
+        .map((mode) => `${mode}: ${(data.metrics[`rows{mode:${mode}}`].values.count / seconds).toFixed(1)} rows/s`);
+    return { stdout: lines.join('\n') + '\n' };
+}
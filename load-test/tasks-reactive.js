@@ -0,0 +1,54 @@
+// k6 load test comparing the blocking and reactive read paths.
+// Both scenarios run the same traffic one after the other; compare http_req_duration and
+// http_reqs per scenario in the summary, and the Tomcat thread count while each one runs.
+//
+//   k6 run -e BASE_URL=http://localhost:8080/api/v1 load-test/tasks-reactive.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const VUS = Number(__ENV.VUS || 500);
+const DURATION = __ENV.DURATION || '1m';
+const STATUSES = ['PENDING', 'IN_PROGRESS', 'DONE', 'OVERDUE'];
+
+export const options = {
+    scenarios: {
+        blocking: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            env: { PREFIX: '/tasks' },
+            tags: { path: 'blocking' },
+        },
+        reactive: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            startTime: DURATION,
+            env: { PREFIX: '/tasks/reactive' },
+            tags: { path: 'reactive' },
+        },
+    },
+    thresholds: {
+        // Listing the per-scenario metrics makes k6 print them separately in the summary
+        'http_req_duration{path:blocking}': ['p(95)>=0'],
+        'http_req_duration{path:reactive}': ['p(95)>=0'],
+        'http_reqs{path:blocking}': ['count>=0'],
+        'http_reqs{path:reactive}': ['count>=0'],
+    },
+};
+
+export default function () {
+    const prefix = __ENV.PREFIX;
+    let res;
+    if (Math.random() < 0.5) {
+        const id = Math.floor(Math.random() * 1000) + 1;
+        res = http.get(`${BASE_URL}${prefix}/${id}`);
+        check(res, { 'status is 200 or 404': (r) => r.status === 200 || r.status === 404 });
+    } else {
+        const page = Math.floor(Math.random() * 50) + 1;
+        const status = STATUSES[Math.floor(Math.random() * STATUSES.length)];
+        res = http.get(`${BASE_URL}${prefix}/all?page=${page}&size=20&status=${status}`);
+        check(res, { 'status is 200': (r) => r.status === 200 });
+    }
+}
@@ -0,0 +1,23 @@
+package com.huydevcorn.todo_app.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * A request to drop entities from the second-level cache of every other node.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class EntityCacheEviction {
+    String origin;
+    String entityName;
+    List<Long> ids;
+}
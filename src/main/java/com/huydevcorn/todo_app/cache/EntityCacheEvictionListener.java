@@ -0,0 +1,31 @@
+package com.huydevcorn.todo_app.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Listener receiving second-level cache evictions published by any node and applying them locally.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class EntityCacheEvictionListener implements MessageListener {
+    RedisTemplate<String, Object> redisTemplate;
+    ObjectMapper objectMapper;
+    EntityCacheInvalidator entityCacheInvalidator;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            entityCacheInvalidator.apply(objectMapper.convertValue(body, EntityCacheEviction.class));
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply second-level cache eviction: {}", e.getMessage());
+        }
+    }
+}
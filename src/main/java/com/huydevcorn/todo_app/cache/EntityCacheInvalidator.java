@@ -0,0 +1,142 @@
+package com.huydevcorn.todo_app.cache;
+
+import com.huydevcorn.todo_app.service.RedisService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the in-process second-level caches of all nodes consistent.
+ * Entities updated or deleted through Hibernate, and rows written around it, are announced on a Redis channel
+ * after commit, and every other node drops them from its own cache. A node may still serve an entry it cached
+ * until the announcement arrives, but never for the lifetime of the entry.
+ */
+@Component
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class EntityCacheInvalidator implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    String nodeId = UUID.randomUUID().toString();
+    RedisService redisService;
+    ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    String channel;
+
+    /**
+     * Constructs a new EntityCacheInvalidator.
+     *
+     * @param redisService the service publishing evictions
+     * @param entityManagerFactory the entity manager factory owning the local cache, resolved lazily
+     * @param channel the eviction channel
+     */
+    public EntityCacheInvalidator(
+            RedisService redisService,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory,
+            @Value("${app.second-level-cache.channel:entity-cache}") String channel
+    ) {
+        this.redisService = redisService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.channel = channel;
+    }
+
+    /**
+     * Drops entities written around Hibernate from the local cache now, and from the other nodes after commit.
+     *
+     * @param entityType the entity class
+     * @param ids the IDs of the entities
+     */
+    public void evict(Class<?> entityType, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String entityName = entityType.getName();
+        List<Long> evicted = List.copyOf(ids);
+        evictLocally(entityName, evicted);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(entityName, evicted);
+            return;
+        }
+
+        // Evict again on commit, since a concurrent reader may have cached the old row in the meantime
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictLocally(entityName, evicted);
+                publish(entityName, evicted);
+            }
+        });
+    }
+
+    /**
+     * Drops entities evicted by another node from the local cache.
+     *
+     * @param eviction the eviction received
+     */
+    public void apply(EntityCacheEviction eviction) {
+        if (!nodeId.equals(eviction.getOrigin())) {
+            evictLocally(eviction.getEntityName(), eviction.getIds());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister().getEntityName(), List.of((Long) event.getId()));
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister().getEntityName(), List.of((Long) event.getId()));
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+
+    // utility methods
+
+    /**
+     * Drops entities from the cache of this node.
+     */
+    private void evictLocally(String entityName, List<Long> ids) {
+        Cache cache = entityManagerFactory.getObject().getCache().unwrap(Cache.class);
+        ids.forEach(id -> cache.evictEntityData(entityName, id));
+    }
+
+    /**
+     * Announces committed writes to the other nodes. A failure only leaves their entries until they expire.
+     */
+    private void publish(String entityName, List<Long> ids) {
+        try {
+            redisService.publish(channel, EntityCacheEviction.builder()
+                    .origin(nodeId)
+                    .entityName(entityName)
+                    .ids(ids)
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish second-level cache eviction of {} {}: {}", entityName, ids, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.huydevcorn.todo_app.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for sizing the connection pool from the number of available cores.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.pool.size-from-cores", havingValue = "true")
+@Slf4j
+public class ConnectionPoolConfig {
+    /**
+     * Sizes every Hikari pool as {@code cores * connectionsPerCore + spindles} and keeps it fixed,
+     * so connections are never opened on the request path.
+     *
+     * @param connectionsPerCore the number of connections per available core
+     * @param spindles the number of extra connections to cover I/O waits
+     * @return the bean post processor resizing Hikari pools
+     */
+    @Bean
+    static BeanPostProcessor hikariPoolSizer(
+            @Value("${app.datasource.pool.connections-per-core:2}") int connectionsPerCore,
+            @Value("${app.datasource.pool.spindles:1}") int spindles
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    int poolSize = Runtime.getRuntime().availableProcessors() * connectionsPerCore + spindles;
+                    dataSource.setMaximumPoolSize(poolSize);
+                    dataSource.setMinimumIdle(poolSize);
+                    log.info("Sized connection pool {} to {} connections", beanName, poolSize);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.huydevcorn.todo_app.configuration;
+
+import com.huydevcorn.todo_app.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration class for read-replica routing.
+ * Only active when {@code app.datasource.replica.enabled} is true; otherwise the auto-configured
+ * single DataSource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class DataSourceConfig {
+    /**
+     * Configures and returns the primary connection pool from the {@code spring.datasource} properties.
+     *
+     * @param properties the data source properties
+     * @return the primary DataSource
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Configures and returns the routing DataSource with one read-only pool per replica URL.
+     * Replicas share the primary's credentials unless overridden.
+     *
+     * @param primaryDataSource the primary DataSource
+     * @param properties the data source properties
+     * @param urls the replica JDBC URLs
+     * @param username the replica username
+     * @param password the replica password
+     * @param maximumPoolSize the maximum pool size of each replica
+     * @return the routing DataSource
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.urls}") List<String> urls,
+            @Value("${app.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password}}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize
+    ) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    /**
+     * Configures and returns the application DataSource. The lazy proxy defers fetching a physical
+     * connection until the first statement, when the transaction's read-only flag is known.
+     *
+     * @param replicaRoutingDataSource the routing DataSource
+     * @return the application DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
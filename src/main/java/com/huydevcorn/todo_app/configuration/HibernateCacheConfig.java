@@ -0,0 +1,143 @@
+package com.huydevcorn.todo_app.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.huydevcorn.todo_app.cache.EntityCacheEvictionListener;
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.entity.TaskDependency;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration class for the Hibernate second-level cache.
+ * Entity regions live in an in-process Ehcache (JCache) manager with bounded heap size and TTL, and are kept
+ * consistent across nodes by evictions published over Redis. Query results are not cached, since a query region
+ * cannot be invalidated from another node.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    /**
+     * Configures and returns the JCache CacheManager holding the second-level cache regions.
+     *
+     * @param entityMaxEntries the maximum number of entries per entity region
+     * @param timeToLive the time to live of cached entries
+     * @return the configured CacheManager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.second-level-cache.entity-max-entries:10000}") long entityMaxEntries,
+            @Value("${app.second-level-cache.time-to-live:10m}") Duration timeToLive
+    ) {
+        CachingProvider provider = Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("todo-app-second-level-cache"), getClass().getClassLoader());
+
+        createRegion(cacheManager, Task.class.getName(), entityMaxEntries, timeToLive);
+        createRegion(cacheManager, TaskDependency.class.getName(), entityMaxEntries, timeToLive);
+
+        return cacheManager;
+    }
+
+    /**
+     * Hands the CacheManager to Hibernate so that its regions are used instead of ones created on the fly,
+     * and registers the invalidator for committed updates and deletes of cached entities.
+     *
+     * @param hibernateCacheManager the CacheManager holding the regions
+     * @param entityCacheInvalidator the invalidator publishing evictions to the other nodes
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(
+            CacheManager hibernateCacheManager,
+            EntityCacheInvalidator entityCacheInvalidator
+    ) {
+        Integrator integrator = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+                EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+                registry.appendListeners(EventType.POST_COMMIT_UPDATE, entityCacheInvalidator);
+                registry.appendListeners(EventType.POST_COMMIT_DELETE, entityCacheInvalidator);
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+            }
+        };
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(JpaSettings.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(integrator));
+        };
+    }
+
+    /**
+     * Configures and returns the listener container subscribing this node to second-level cache evictions.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @param redisTemplate the Redis template used to decode evictions
+     * @param objectMapper the object mapper
+     * @param entityCacheInvalidator the invalidator applying evictions to the local cache
+     * @param channel the eviction channel
+     * @return the configured RedisMessageListenerContainer
+     */
+    @Bean
+    public RedisMessageListenerContainer entityCacheEvictionContainer(
+            RedisConnectionFactory connectionFactory,
+            RedisTemplate<String, Object> redisTemplate,
+            ObjectMapper objectMapper,
+            EntityCacheInvalidator entityCacheInvalidator,
+            @Value("${app.second-level-cache.channel:entity-cache}") String channel
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                new EntityCacheEvictionListener(redisTemplate, objectMapper, entityCacheInvalidator),
+                new ChannelTopic(channel)
+        );
+        return container;
+    }
+
+    /**
+     * Creates a heap-bounded cache region if it does not exist yet.
+     *
+     * @param cacheManager the CacheManager to create the region in
+     * @param name the region name
+     * @param maxEntries the maximum number of entries before eviction
+     * @param timeToLive the time to live of entries
+     */
+    private void createRegion(CacheManager cacheManager, String name, long maxEntries, Duration timeToLive) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+        cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(builder));
+    }
+}
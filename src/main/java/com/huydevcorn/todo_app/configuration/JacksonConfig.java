@@ -0,0 +1,23 @@
+package com.huydevcorn.todo_app.configuration;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the shared Jackson object mapper.
+ */
+@Configuration
+public class JacksonConfig {
+    /**
+     * Registers a filter provider that leaves filtered types unfiltered by default, so task responses
+     * are only narrowed where a sparse fieldset is requested, and still serialize fully to Redis.
+     *
+     * @return the object mapper builder customizer
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer filterProviderCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
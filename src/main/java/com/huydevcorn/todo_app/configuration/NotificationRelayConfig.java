@@ -0,0 +1,49 @@
+package com.huydevcorn.todo_app.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.huydevcorn.todo_app.notification.NotificationRelayListener;
+import com.huydevcorn.todo_app.service.NotificationService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Configuration class for relaying WebSocket notifications between nodes over Redis pub/sub.
+ * Only active when {@code app.websocket.relay.enabled} is true; otherwise notifications are
+ * delivered by the local broker of the node that raised them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.websocket.relay.enabled", havingValue = "true")
+public class NotificationRelayConfig {
+    /**
+     * Configures and returns the listener container subscribing this node to the relay channel.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @param redisTemplate the Redis template used to decode relayed messages
+     * @param objectMapper the object mapper
+     * @param notificationService the notification service delivering to local sessions
+     * @param channel the relay channel
+     * @return the configured RedisMessageListenerContainer
+     */
+    @Bean
+    public RedisMessageListenerContainer notificationRelayContainer(
+            RedisConnectionFactory connectionFactory,
+            RedisTemplate<String, Object> redisTemplate,
+            ObjectMapper objectMapper,
+            NotificationService notificationService,
+            @Value("${app.websocket.relay.channel:notification}") String channel
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                new NotificationRelayListener(redisTemplate, objectMapper, notificationService),
+                new ChannelTopic(channel)
+        );
+        return container;
+    }
+}
@@ -0,0 +1,44 @@
+package com.huydevcorn.todo_app.configuration;
+
+import com.huydevcorn.todo_app.datasource.MultiplexedR2dbcConnections;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration class for the R2DBC connections of the reactive read path.
+ * The ConnectionFactory is built here from the {@code spring.r2dbc} properties and kept out of the
+ * context: a ConnectionFactory bean would make the JDBC DataSource auto-configuration back off,
+ * taking JPA down with it. R2dbcAutoConfiguration is excluded on the application class for the same reason.
+ */
+@Configuration
+public class R2dbcConfig {
+    /**
+     * Configures and returns the shared R2DBC connections.
+     *
+     * @param url the R2DBC URL
+     * @param username the username, unless given in the URL
+     * @param password the password, unless given in the URL
+     * @param connections the number of connections
+     * @return the shared connections
+     */
+    @Bean(destroyMethod = "close")
+    public MultiplexedR2dbcConnections multiplexedR2dbcConnections(
+            @Value("${spring.r2dbc.url}") String url,
+            @Value("${spring.r2dbc.username:}") String username,
+            @Value("${spring.r2dbc.password:}") String password,
+            @Value("${app.r2dbc.connections:4}") int connections
+    ) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (StringUtils.hasText(username)) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (StringUtils.hasText(password)) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return new MultiplexedR2dbcConnections(ConnectionFactories.get(options.build()), connections);
+    }
+}
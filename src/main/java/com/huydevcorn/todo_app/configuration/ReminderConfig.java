@@ -0,0 +1,45 @@
+package com.huydevcorn.todo_app.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.huydevcorn.todo_app.notification.NotificationScheduler;
+import com.huydevcorn.todo_app.notification.ReminderCommandListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Configuration class for forwarding reminder commands to the node owning a task's partition.
+ */
+@Configuration
+public class ReminderConfig {
+    /**
+     * Configures and returns the listener container subscribing this node to reminder commands.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @param redisTemplate the Redis template used to decode commands
+     * @param objectMapper the object mapper
+     * @param notificationScheduler the scheduler applying commands for owned partitions
+     * @param channel the reminder command channel
+     * @return the configured RedisMessageListenerContainer
+     */
+    @Bean
+    public RedisMessageListenerContainer reminderCommandContainer(
+            RedisConnectionFactory connectionFactory,
+            RedisTemplate<String, Object> redisTemplate,
+            ObjectMapper objectMapper,
+            NotificationScheduler notificationScheduler,
+            @Value("${app.reminder.channel:reminder}") String channel
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                new ReminderCommandListener(redisTemplate, objectMapper, notificationScheduler),
+                new ChannelTopic(channel)
+        );
+        return container;
+    }
+}
@@ -0,0 +1,32 @@
+package com.huydevcorn.todo_app.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hibernate statement inspector that logs only a random sample of SQL statements,
+ * replacing {@code show-sql} which logs every statement on the request path.
+ */
+@Slf4j
+public class SampledStatementInspector implements StatementInspector {
+    private final double sampleRate;
+
+    /**
+     * Constructs a new SampledStatementInspector.
+     *
+     * @param sampleRate the fraction of statements to log, between 0 and 1
+     */
+    public SampledStatementInspector(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled SQL: {}", sql);
+        }
+        return sql;
+    }
+}
@@ -1,7 +1,12 @@
 package com.huydevcorn.todo_app.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.Executors;
@@ -9,17 +14,49 @@ import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Configuration class for scheduling tasks.
+ * Reminders and {@code @Scheduled} jobs run on separate pools, so a burst of due reminders
+ * cannot delay lease heartbeats, and a slow job cannot delay reminders.
  */
 @Configuration
-public class SchedulerConfig {
+public class SchedulerConfig implements SchedulingConfigurer {
+    private final int scheduledPoolSize;
+
     /**
-     * Configures and returns a ScheduledExecutorService bean with a thread pool of size 5.
+     * Constructs a new SchedulerConfig.
+     *
+     * @param scheduledPoolSize the number of threads running {@code @Scheduled} jobs
+     */
+    public SchedulerConfig(@Value("${app.scheduling.pool-size:2}") int scheduledPoolSize) {
+        this.scheduledPoolSize = scheduledPoolSize;
+    }
+
+    /**
+     * Configures and returns the ScheduledExecutorService firing reminders, with a thread pool of size 5.
      *
      * @return the configured ScheduledExecutorService
      */
     @Bean
     public ScheduledExecutorService scheduledExecutorService() {
-        return Executors.newScheduledThreadPool(5);
+        return Executors.newScheduledThreadPool(5, new CustomizableThreadFactory("reminder-"));
+    }
+
+    /**
+     * Configures and returns the TaskScheduler running {@code @Scheduled} jobs.
+     *
+     * @return the configured ThreadPoolTaskScheduler
+     */
+    @Bean
+    public ThreadPoolTaskScheduler scheduledJobScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(scheduledPoolSize);
+        scheduler.setThreadNamePrefix("scheduled-");
+        return scheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        // Without this, @Scheduled would pick up the only ScheduledExecutorService bean: the reminder pool
+        taskRegistrar.setTaskScheduler(scheduledJobScheduler());
     }
 
     /**
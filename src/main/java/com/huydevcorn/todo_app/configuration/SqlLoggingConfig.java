@@ -0,0 +1,26 @@
+package com.huydevcorn.todo_app.configuration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for sampled SQL logging.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql-log.sample-rate")
+public class SqlLoggingConfig {
+    /**
+     * Registers the sampled statement inspector with Hibernate.
+     *
+     * @param sampleRate the fraction of statements to log
+     * @return the Hibernate properties customizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sampledSqlLoggingCustomizer(@Value("${app.sql-log.sample-rate}") double sampleRate) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SampledStatementInspector(sampleRate));
+    }
+}
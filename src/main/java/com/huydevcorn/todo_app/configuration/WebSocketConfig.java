@@ -1,17 +1,53 @@
 package com.huydevcorn.todo_app.configuration;
 
+import com.huydevcorn.todo_app.notification.SlowConsumerInterceptor;
+import com.huydevcorn.todo_app.notification.UserHandshakeHandler;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
 
 /**
  * Configuration class for WebSocket message broker.
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    SlowConsumerInterceptor slowConsumerInterceptor;
+    DataSize sendBufferSizeLimit;
+    Duration sendTimeLimit;
+    DataSize messageSizeLimit;
+
+    /**
+     * Constructs a new WebSocketConfig.
+     *
+     * @param slowConsumerInterceptor the interceptor bounding the notifications queued per session
+     * @param sendBufferSizeLimit the maximum amount of data buffered for a session that is slow to receive
+     * @param sendTimeLimit the maximum time a single send may take before the session is closed
+     * @param messageSizeLimit the maximum size of an incoming message
+     */
+    public WebSocketConfig(
+            SlowConsumerInterceptor slowConsumerInterceptor,
+            @Value("${app.websocket.outbound.send-buffer-size-limit:512KB}") DataSize sendBufferSizeLimit,
+            @Value("${app.websocket.outbound.send-time-limit:10s}") Duration sendTimeLimit,
+            @Value("${app.websocket.inbound.message-size-limit:64KB}") DataSize messageSizeLimit
+    ) {
+        this.slowConsumerInterceptor = slowConsumerInterceptor;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.sendTimeLimit = sendTimeLimit;
+        this.messageSizeLimit = messageSizeLimit;
+    }
+
     /**
      * Registers STOMP endpoints for WebSocket connections.
      *
@@ -19,8 +55,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
      */
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
-        registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
-        registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
+        registry.addEndpoint("/ws").setAllowedOriginPatterns("*").setHandshakeHandler(new UserHandshakeHandler());
+        registry.addEndpoint("/ws").setAllowedOriginPatterns("*").setHandshakeHandler(new UserHandshakeHandler()).withSockJS();
     }
 
     /**
@@ -32,5 +68,29 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/notification");
         config.setApplicationDestinationPrefixes("/socket");
+        config.setUserDestinationPrefix("/user");
+    }
+
+    /**
+     * Limits how much a slow session may buffer and how long a send to it may block.
+     * A session exceeding either limit is closed instead of growing the heap.
+     *
+     * @param registration the WebSocket transport registration to configure
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit((int) sendBufferSizeLimit.toBytes());
+        registration.setSendTimeLimit((int) sendTimeLimit.toMillis());
+        registration.setMessageSizeLimit((int) messageSizeLimit.toBytes());
+    }
+
+    /**
+     * Registers the interceptor bounding the notifications queued per session.
+     *
+     * @param registration the client outbound channel registration to configure
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(slowConsumerInterceptor);
     }
 }
@@ -0,0 +1,103 @@
+package com.huydevcorn.todo_app.controller;
+
+import com.huydevcorn.todo_app.dto.response.ApiResponse;
+import com.huydevcorn.todo_app.dto.response.PaginationResponse;
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.service.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Controller for the non-blocking task read endpoints.
+ * Responses are returned as Mono, so the servlet thread is released while Redis and PostgreSQL are queried.
+ */
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+@RequestMapping("/tasks/reactive")
+@Tag(name = "Reactive Task", description = "Non-blocking task read API")
+public class ReactiveTaskController {
+    /**
+     * Service for non-blocking task reads.
+     */
+    ReactiveTaskService reactiveTaskService;
+
+    /**
+     * Endpoint to get a task by its ID.
+     *
+     * @param id the task ID
+     * @return a Mono emitting the task response
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get task by id (non-blocking)")
+    public Mono<ApiResponse<TaskResponse>> getTaskById(@PathVariable Long id) {
+        return reactiveTaskService.getTask(id)
+                .map(task -> ApiResponse.<TaskResponse>builder()
+                        .data(task)
+                        .build());
+    }
+
+    /**
+     * Endpoint to get all tasks with optional filters.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param title the task title filter
+     * @param priority the task priority filter
+     * @param startDate the start date filter
+     * @param endDate the end date filter
+     * @param status the task status filter
+     * @return a Mono emitting the paginated task response
+     */
+    @GetMapping("/all")
+    @Operation(summary = "Get all tasks (non-blocking)")
+    public Mono<ApiResponse<PaginationResponse<TaskResponse>>> getAllTasks(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false)
+            @Parameter(
+                    schema = @Schema(
+                            example = "'LOW', 'MEDIUM', 'HIGH', 'URGENT', or 'CRITICAL'"
+                    )
+            )
+            String priority,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(
+                    schema = @Schema(
+                            example = "2025-03-20"
+                    )
+            )
+            LocalDate startDate,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(
+                    schema = @Schema(
+                            example = "2025-03-20"
+                    )
+            )
+            LocalDate endDate,
+            @RequestParam(required = false)
+            @Parameter(
+                    schema = @Schema(
+                            example = "'PENDING', 'IN_PROGRESS', or 'DONE'"
+                    )
+            )
+            String status
+    ) {
+        return reactiveTaskService.getTasks(page, size, title, priority, startDate, endDate, status)
+                .map(tasks -> ApiResponse.<PaginationResponse<TaskResponse>>builder()
+                        .data(tasks)
+                        .build());
+    }
+}
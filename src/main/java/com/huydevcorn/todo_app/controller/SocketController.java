@@ -1,24 +1,54 @@
 package com.huydevcorn.todo_app.controller;
 
+import com.huydevcorn.todo_app.service.NotificationService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
+
 /**
  * Controller for handling WebSocket messages.
  */
 @Controller
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class SocketController {
+    NotificationService notificationService;
+
     /**
-     * Endpoint to receive messages from clients and broadcast them to subscribers.
+     * Endpoint to receive messages from clients and broadcast them to subscribers on every node.
      *
      * @param message the message received from the client
-     * @return the message to be broadcasted to subscribers
      */
     @MessageMapping("/sendMessage")
-    @SendTo("/notification/messages")
-    public String receiveMessage(String message) {
+    public void receiveMessage(String message) {
         System.out.println("Received message: " + message);
-        return "Server received: " + message;
+        notificationService.send("/notification/messages", "Server received: " + message);
+    }
+
+    /**
+     * Endpoint to receive the notifications of a task on the user's own destinations.
+     *
+     * @param taskId the ID of the task to watch
+     * @param principal the user of the session
+     */
+    @MessageMapping("/tasks/{taskId}/watch")
+    public void watchTask(@DestinationVariable Long taskId, Principal principal) {
+        notificationService.watch(taskId, principal.getName());
+    }
+
+    /**
+     * Endpoint to stop receiving the notifications of a task.
+     *
+     * @param taskId the ID of the task to stop watching
+     * @param principal the user of the session
+     */
+    @MessageMapping("/tasks/{taskId}/unwatch")
+    public void unwatchTask(@DestinationVariable Long taskId, Principal principal) {
+        notificationService.unwatch(taskId, principal.getName());
     }
 }
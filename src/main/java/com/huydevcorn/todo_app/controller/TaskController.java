@@ -3,8 +3,14 @@ package com.huydevcorn.todo_app.controller;
 import com.huydevcorn.todo_app.dto.request.TaskCreationRequest;
 import com.huydevcorn.todo_app.dto.request.TaskUpdateRequest;
 import com.huydevcorn.todo_app.dto.response.ApiResponse;
+import com.huydevcorn.todo_app.dto.response.ImportReportResponse;
 import com.huydevcorn.todo_app.dto.response.PaginationResponse;
+import com.huydevcorn.todo_app.dto.response.TaskCalendarResponse;
 import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.dto.response.TaskStatsResponse;
+import com.huydevcorn.todo_app.service.TaskCalendarService;
+import com.huydevcorn.todo_app.service.TaskETagService;
+import com.huydevcorn.todo_app.service.TaskImportService;
 import com.huydevcorn.todo_app.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,7 +20,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -33,6 +43,21 @@ public class TaskController {
      */
     TaskService taskService;
 
+    /**
+     * Service for bulk task imports.
+     */
+    TaskImportService taskImportService;
+
+    /**
+     * Service for the due date calendar view.
+     */
+    TaskCalendarService taskCalendarService;
+
+    /**
+     * Service for the entity tags of task responses.
+     */
+    TaskETagService taskETagService;
+
     /**
      * Endpoint to create a new task.
      *
@@ -47,17 +72,59 @@ public class TaskController {
                 .build();
     }
 
+    /**
+     * Endpoint to bulk import tasks and their dependencies from an NDJSON or CSV file.
+     *
+     * @param file the uploaded file
+     * @param format the file format, inferred from the file extension when omitted
+     * @param user the importing user, who receives the progress notifications
+     * @return the import report
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import tasks")
+    public ApiResponse<ImportReportResponse> importTasks(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false)
+            @Parameter(
+                    schema = @Schema(
+                            example = "'NDJSON' or 'CSV'"
+                    )
+            )
+            String format,
+            @RequestHeader(value = "X-User-Id", required = false) String user
+    ) {
+        return ApiResponse.<ImportReportResponse>builder()
+                .data(taskImportService.importTasks(file, format, user))
+                .build();
+    }
+
     /**
      * Endpoint to get a task by its ID.
      *
      * @param id the task ID
-     * @return the task response
+     * @param request the current request, used to evaluate If-None-Match
+     * @return the task response, or null with status 304 if the client's copy is current
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get task by id")
-    public ApiResponse<TaskResponse> getTaskById(@PathVariable Long id) {
+    public ApiResponse<TaskResponse> getTaskById(@PathVariable Long id, WebRequest request) {
+        // Answer 304 from the version stamp alone when the client holds the latest version;
+        // checkNotModified sets the response tag, so it only sees the stamp once it matches
+        String stampedETag = taskETagService.getStampedTaskETag(id);
+        if (stampedETag != null && clientHolds(request, stampedETag) && request.checkNotModified(stampedETag)) {
+            return null;
+        }
+
+        // Tag the body with its own version, which may lag behind the stamp when it comes from the cache
+        TaskResponse task = taskService.getTask(id);
+        taskETagService.recordRead(id, task.getVersion());
+        String eTag = taskETagService.getTaskETag(id, task.getVersion());
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
+
         return ApiResponse.<TaskResponse>builder()
-                .data(taskService.getTask(id))
+                .data(task)
                 .build();
     }
 
@@ -71,7 +138,10 @@ public class TaskController {
      * @param startDate the start date filter
      * @param endDate the end date filter
      * @param status the task status filter
-     * @return the paginated task response
+     * @param descriptionLength the maximum number of description characters returned per task
+     * @param fields the comma-separated task properties to return
+     * @param request the current request, used to evaluate If-None-Match
+     * @return the paginated task response, or null with status 304 if the client's copy is current
      */
     @GetMapping("/all")
     @Operation(summary = "Get all tasks")
@@ -108,10 +178,77 @@ public class TaskController {
                             example = "'PENDING', 'IN_PROGRESS', or 'DONE'"
                     )
             )
-            String status
+            String status,
+            @RequestParam(required = false)
+            @Parameter(
+                    description = "Truncate descriptions to this many characters",
+                    schema = @Schema(
+                            example = "100"
+                    )
+            )
+            Integer descriptionLength,
+            @RequestParam(required = false)
+            @Parameter(
+                    description = "Return only these task properties",
+                    schema = @Schema(
+                            example = "id,title,status"
+                    )
+            )
+            String fields,
+            WebRequest request
     ) {
+        // Any task write starts a new list generation, so an unchanged generation means an unchanged list
+        if (request.checkNotModified(taskETagService.getTasksETag())) {
+            return null;
+        }
+
         return ApiResponse.<PaginationResponse<TaskResponse>>builder()
-                .data(taskService.getTasks(page, size, title, priority, startDate, endDate, status))
+                .data(taskService.getTasks(page, size, title, priority, startDate, endDate, status, descriptionLength, fields))
+                .build();
+    }
+
+    /**
+     * Endpoint to get aggregate task counts for dashboards.
+     *
+     * @return the task counts by status, priority and due date
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Get task stats")
+    public ApiResponse<TaskStatsResponse> getStats() {
+        return ApiResponse.<TaskStatsResponse>builder()
+                .data(taskService.getStats())
+                .build();
+    }
+
+    /**
+     * Endpoint to get per-day or per-hour task counts and top tasks for a month.
+     *
+     * @param month the month in the format yyyy-MM
+     * @param granularity the bucket size
+     * @param top the maximum number of tasks per bucket
+     * @return the task calendar response
+     */
+    @GetMapping("/calendar")
+    @Operation(summary = "Get due date calendar")
+    public ApiResponse<TaskCalendarResponse> getCalendar(
+            @RequestParam
+            @Parameter(
+                    schema = @Schema(
+                            example = "2025-03"
+                    )
+            )
+            String month,
+            @RequestParam(defaultValue = "DAY")
+            @Parameter(
+                    schema = @Schema(
+                            example = "'DAY' or 'HOUR'"
+                    )
+            )
+            String granularity,
+            @RequestParam(defaultValue = "3") int top
+    ) {
+        return ApiResponse.<TaskCalendarResponse>builder()
+                .data(taskCalendarService.getCalendar(month, granularity, top))
                 .build();
     }
 
@@ -184,4 +321,33 @@ public class TaskController {
                 .message("Delete task successfully")
                 .build();
     }
+
+
+    // utility methods
+
+    /**
+     * Checks whether a request's If-None-Match lists an entity tag, by weak comparison.
+     */
+    private boolean clientHolds(WebRequest request, String eTag) {
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String header : ifNoneMatch) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || opaqueTag(tag).equals(opaqueTag(eTag))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Strips the weakness indicator of an entity tag.
+     */
+    private String opaqueTag(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
 }
@@ -1,14 +1,23 @@
 package com.huydevcorn.todo_app.controller;
 
+import com.huydevcorn.todo_app.dto.request.DependencyBatchRequest;
 import com.huydevcorn.todo_app.dto.response.ApiResponse;
+import com.huydevcorn.todo_app.dto.response.DependencyBatchResponse;
+import com.huydevcorn.todo_app.dto.response.DependentTaskResponse;
+import com.huydevcorn.todo_app.dto.response.PaginationResponse;
+import com.huydevcorn.todo_app.dto.response.ReachableTaskResponse;
+import com.huydevcorn.todo_app.dto.response.TaskDependencyGraphResponse;
 import com.huydevcorn.todo_app.dto.response.TaskDependencyResponse;
 import com.huydevcorn.todo_app.service.TaskDependencyService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -44,6 +53,20 @@ public class TaskDependencyController {
                 .build();
     }
 
+    /**
+     * Endpoint to create many dependencies between any tasks at once.
+     *
+     * @param request the dependency edges to create
+     * @return the numbers of created and already existing dependencies
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Create dependencies in batch")
+    public ApiResponse<DependencyBatchResponse> createDependencyBatch(@RequestBody @Valid DependencyBatchRequest request) {
+        return ApiResponse.<DependencyBatchResponse>builder()
+                .data(taskDependencyService.addDependencyBatch(request.getEdges()))
+                .build();
+    }
+
     /**
      * Endpoint to get the dependencies of a task.
      *
@@ -60,6 +83,73 @@ public class TaskDependencyController {
                 .build();
     }
 
+    /**
+     * Endpoint to get the dependencies of a task as a flat node table and edge list.
+     * Selected with {@code format=compact}; shared sub-graphs are returned only once.
+     *
+     * @param taskId the ID of the task
+     * @param format the response format, must be {@code compact}
+     * @return the task dependency graph response
+     */
+    @GetMapping(value = "/{taskId}", params = "format=compact")
+    @Operation(summary = "Get dependencies of a task as a compact graph")
+    public ApiResponse<TaskDependencyGraphResponse> getDependencyGraph(
+            @PathVariable Long taskId,
+            @RequestParam @Parameter(description = "Use 'compact' for a flat node table and edge list") String format
+    ) {
+        return ApiResponse.<TaskDependencyGraphResponse>builder()
+                .data(taskDependencyService.getDependencyGraph(taskId))
+                .build();
+    }
+
+    /**
+     * Endpoint to get the tasks that directly depend on a task.
+     *
+     * @param taskId the ID of the task
+     * @param page the page number
+     * @param size the page size
+     * @return the paginated dependent tasks with the number of their unfinished dependencies
+     */
+    @GetMapping("/{taskId}/dependents")
+    @Operation(summary = "Get tasks depending on a task")
+    public ApiResponse<PaginationResponse<DependentTaskResponse>> getDependents(
+            @PathVariable Long taskId,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ApiResponse.<PaginationResponse<DependentTaskResponse>>builder()
+                .data(taskDependencyService.getDependents(taskId, page, size))
+                .build();
+    }
+
+    /**
+     * Endpoint to get every task that depends on a task, directly or indirectly.
+     *
+     * @param taskId the ID of the task
+     * @return the dependent tasks with their distance to the task
+     */
+    @GetMapping("/{taskId}/ancestors")
+    @Operation(summary = "Get all tasks depending on a task")
+    public ApiResponse<List<ReachableTaskResponse>> getAncestors(@PathVariable Long taskId) {
+        return ApiResponse.<List<ReachableTaskResponse>>builder()
+                .data(taskDependencyService.getAncestors(taskId))
+                .build();
+    }
+
+    /**
+     * Endpoint to get every task that a task depends on, directly or indirectly.
+     *
+     * @param taskId the ID of the task
+     * @return the tasks depended on with their distance from the task
+     */
+    @GetMapping("/{taskId}/descendants")
+    @Operation(summary = "Get all tasks a task depends on")
+    public ApiResponse<List<ReachableTaskResponse>> getDescendants(@PathVariable Long taskId) {
+        return ApiResponse.<List<ReachableTaskResponse>>builder()
+                .data(taskDependencyService.getDescendants(taskId))
+                .build();
+    }
+
     /**
      * Endpoint to delete some dependencies of a task.
      *
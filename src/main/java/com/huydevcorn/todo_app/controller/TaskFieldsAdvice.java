@@ -0,0 +1,47 @@
+package com.huydevcorn.todo_app.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.utils.TaskQueryUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Response body advice serializing only the task properties listed in the {@code fields} parameter
+ * of task reads. Responses without the parameter are serialized unchanged.
+ * Writes are left alone: the advice runs after the handler, so rejecting the parameter there would
+ * answer 400 for a write that has already committed.
+ */
+@RestControllerAdvice(assignableTypes = TaskController.class)
+public class TaskFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    private static final String FIELDS_PARAMETER = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(
+            MappingJacksonValue bodyContainer,
+            MediaType contentType,
+            MethodParameter returnType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest) || request.getMethod() != HttpMethod.GET) {
+            return;
+        }
+
+        Set<String> fields = TaskQueryUtils.parseFields(servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER));
+        if (fields != null) {
+            bodyContainer.setFilters(new SimpleFilterProvider()
+                    .addFilter(TaskResponse.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        }
+    }
+}
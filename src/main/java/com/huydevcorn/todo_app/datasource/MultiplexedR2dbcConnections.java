@@ -0,0 +1,68 @@
+package com.huydevcorn.todo_app.datasource;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * A fixed set of long-lived R2DBC connections shared by all reactive reads.
+ * The PostgreSQL driver queues and pipelines statements on a connection, so autocommit reads can
+ * share connections without checking them out; statements are spread round-robin over the set.
+ * A connection that fails is dropped and transparently reopened by the next statement using its slot.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MultiplexedR2dbcConnections implements AutoCloseable {
+    ConnectionFactory connectionFactory;
+    AtomicReferenceArray<Mono<Connection>> slots;
+    AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructs a new MultiplexedR2dbcConnections.
+     *
+     * @param connectionFactory the factory opening the connections
+     * @param size the number of connections
+     */
+    public MultiplexedR2dbcConnections(ConnectionFactory connectionFactory, int size) {
+        this.connectionFactory = connectionFactory;
+        this.slots = new AtomicReferenceArray<>(Math.max(1, size));
+    }
+
+    /**
+     * Runs statements on one of the shared connections.
+     *
+     * @param work the statements to run
+     * @param <T> the type of the emitted items
+     * @return a Flux emitting the results of the statements
+     */
+    public <T> Flux<T> withConnection(Function<Connection, Publisher<T>> work) {
+        int slot = Math.floorMod(next.getAndIncrement(), slots.length());
+        Mono<Connection> connection = slots.updateAndGet(slot, current ->
+                current != null ? current : Mono.<Connection>from(connectionFactory.create()).cache());
+
+        return connection.flatMapMany(work)
+                .doOnError(e -> {
+                    // Reopen the connection on next use instead of reusing a broken one
+                    if (slots.compareAndSet(slot, connection, null)) {
+                        connection.flatMap(c -> Mono.from(c.close())).onErrorComplete().subscribe();
+                    }
+                });
+    }
+
+    @Override
+    public void close() {
+        for (int i = 0; i < slots.length(); i++) {
+            Mono<Connection> connection = slots.getAndSet(i, null);
+            if (connection != null) {
+                connection.flatMap(c -> Mono.from(c.close())).onErrorComplete().block();
+            }
+        }
+    }
+}
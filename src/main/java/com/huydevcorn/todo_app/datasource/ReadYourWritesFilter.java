@@ -0,0 +1,87 @@
+package com.huydevcorn.todo_app.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Filter that decides per request whether read-only transactions may use a replica.
+ * Safe requests are allowed to read from replicas unless the same client wrote recently;
+ * a write stamps a cookie so the client's reads stick to the primary for a short window,
+ * which keeps read-your-writes consistency across nodes without server-side state.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final String STICKY_COOKIE = "primary_until";
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    Duration stickyWindow;
+
+    /**
+     * Constructs a new ReadYourWritesFilter.
+     *
+     * @param stickyWindow how long a client's reads stick to the primary after a write
+     */
+    public ReadYourWritesFilter(@Value("${app.datasource.replica.sticky-window:5s}") Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            // Stamp the write so the client's next reads go to the primary
+            Cookie cookie = new Cookie(STICKY_COOKIE, Long.toString(now + stickyWindow.toMillis()));
+            cookie.setMaxAge((int) Math.max(1, stickyWindow.toSeconds()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        } else if (readPrimaryUntil(request) <= now) {
+            ReplicaRoutingContext.allowReplica();
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    /**
+     * Reads the end of the primary-sticky window from the request cookies.
+     *
+     * @param request the HTTP request
+     * @return the epoch millis until which reads must go to the primary, or 0 if none
+     */
+    private long readPrimaryUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (STICKY_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
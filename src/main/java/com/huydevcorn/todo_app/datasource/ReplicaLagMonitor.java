@@ -0,0 +1,86 @@
+package com.huydevcorn.todo_app.datasource;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Component that periodically measures the replication lag of every replica and takes
+ * replicas that are unreachable or lagging too far behind out of rotation.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ReplicaLagMonitor {
+    // Lag is zero when everything received has been replayed, otherwise the age of the last replayed transaction
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    ReplicaRoutingDataSource replicaRoutingDataSource;
+    double maxLagSeconds;
+
+    /**
+     * Constructs a new ReplicaLagMonitor.
+     *
+     * @param replicaRoutingDataSource the routing DataSource whose replicas are monitored
+     * @param maxLagSeconds the maximum tolerated replication lag in seconds
+     */
+    public ReplicaLagMonitor(
+            ReplicaRoutingDataSource replicaRoutingDataSource,
+            @Value("${app.datasource.replica.max-lag-seconds:5}") double maxLagSeconds
+    ) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    /**
+     * Checks the lag of every replica and updates its health in the routing DataSource.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkReplicationLag() {
+        replicaRoutingDataSource.getReplicas().forEach((key, dataSource) -> {
+            try {
+                double lag = measureLag(dataSource);
+                if (lag > maxLagSeconds) {
+                    log.warn("Replica {} is lagging {}s behind the primary", key, lag);
+                }
+                replicaRoutingDataSource.setHealthy(key, lag <= maxLagSeconds);
+            } catch (SQLException e) {
+                log.warn("Replica {} is unreachable: {}", key, e.getMessage());
+                replicaRoutingDataSource.setHealthy(key, false);
+            }
+        });
+    }
+
+    /**
+     * Measures the replication lag of a replica.
+     *
+     * @param dataSource the replica DataSource
+     * @return the lag in seconds
+     * @throws SQLException if the replica cannot be queried
+     */
+    private double measureLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                return resultSet.next() ? resultSet.getDouble(1) : Double.MAX_VALUE;
+            }
+        }
+    }
+}
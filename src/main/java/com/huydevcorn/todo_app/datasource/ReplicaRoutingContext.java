@@ -0,0 +1,64 @@
+package com.huydevcorn.todo_app.datasource;
+
+/**
+ * Holds the per-request replica routing decision for the current thread.
+ * Replicas are only used when a request has explicitly allowed them, so write requests,
+ * scheduler threads and WebSocket handlers always read from the primary.
+ */
+public class ReplicaRoutingContext {
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+    private static final ThreadLocal<String> SELECTED_REPLICA = new ThreadLocal<>();
+
+    /**
+     * Allows read-only transactions on the current thread to be routed to a replica.
+     */
+    public static void allowReplica() {
+        REPLICA_ALLOWED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Checks if read-only transactions on the current thread may be routed to a replica.
+     *
+     * @return true if replicas are allowed, false otherwise
+     */
+    public static boolean isReplicaAllowed() {
+        return Boolean.TRUE.equals(REPLICA_ALLOWED.get());
+    }
+
+    /**
+     * Returns the replica already selected for the current request, so every query of a request
+     * sees the same snapshot.
+     *
+     * @return the selected replica key, or null if none was selected yet
+     */
+    public static String getSelectedReplica() {
+        return SELECTED_REPLICA.get();
+    }
+
+    /**
+     * Checks if the current request has read from a replica, whose data may lag behind the primary
+     * and so must not be written to shared caches.
+     *
+     * @return true if a replica was selected for the current request, false otherwise
+     */
+    public static boolean isReadFromReplica() {
+        return SELECTED_REPLICA.get() != null;
+    }
+
+    /**
+     * Remembers the replica selected for the current request.
+     *
+     * @param replicaKey the selected replica key
+     */
+    public static void setSelectedReplica(String replicaKey) {
+        SELECTED_REPLICA.set(replicaKey);
+    }
+
+    /**
+     * Clears the routing state of the current thread.
+     */
+    public static void clear() {
+        REPLICA_ALLOWED.remove();
+        SELECTED_REPLICA.remove();
+    }
+}
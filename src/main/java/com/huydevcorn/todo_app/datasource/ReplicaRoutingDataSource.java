@@ -0,0 +1,102 @@
+package com.huydevcorn.todo_app.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource that routes read-only transactions to healthy replicas and everything else to the primary.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the routing decision is made after the
+ * transaction's read-only flag has been set.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final Set<String> healthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * Constructs a new routing DataSource.
+     *
+     * @param primary the primary DataSource
+     * @param replicas the replica DataSources by key
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.replicas = Map.copyOf(replicas);
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+    }
+
+    /**
+     * Returns the replica DataSources by key.
+     *
+     * @return the replica DataSources
+     */
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Marks a replica as healthy or unhealthy. Unhealthy replicas receive no traffic.
+     *
+     * @param replicaKey the replica key
+     * @param healthy whether the replica is healthy
+     */
+    public void setHealthy(String replicaKey, boolean healthy) {
+        boolean changed = healthy ? healthyReplicas.add(replicaKey) : healthyReplicas.remove(replicaKey);
+        if (changed) {
+            log.info("Replica {} is now {}", replicaKey, healthy ? "in rotation" : "out of rotation");
+        }
+    }
+
+    /**
+     * Closes the replica pools when the application shuts down.
+     *
+     * @throws Exception if a pool cannot be closed
+     */
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !ReplicaRoutingContext.isReplicaAllowed()) {
+            return PRIMARY;
+        }
+
+        // Keep using the replica already chosen for this request while it stays healthy
+        String selected = ReplicaRoutingContext.getSelectedReplica();
+        if (selected != null && healthyReplicas.contains(selected)) {
+            return selected;
+        }
+
+        // Round robin over healthy replicas, falling back to the primary if none is available
+        for (int i = 0; i < replicaKeys.size(); i++) {
+            String candidate = replicaKeys.get(Math.floorMod(counter.getAndIncrement(), replicaKeys.size()));
+            if (healthyReplicas.contains(candidate)) {
+                ReplicaRoutingContext.setSelectedReplica(candidate);
+                return candidate;
+            }
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,21 @@
+package com.huydevcorn.todo_app.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class DependencyBatchRequest {
+    @NotEmpty(message = "DEPENDENCY_EDGES_ARE_REQUIRED")
+    List<@Valid DependencyEdgeRequest> edges;
+}
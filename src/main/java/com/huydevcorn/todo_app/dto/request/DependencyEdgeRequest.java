@@ -0,0 +1,21 @@
+package com.huydevcorn.todo_app.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class DependencyEdgeRequest {
+    @NotNull(message = "DEPENDENCY_EDGE_IS_INCOMPLETE")
+    Long taskId;
+
+    @NotNull(message = "DEPENDENCY_EDGE_IS_INCOMPLETE")
+    Long dependsOnTaskId;
+}
@@ -0,0 +1,64 @@
+package com.huydevcorn.todo_app.dto.request;
+
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Canonical form of the task list filters. Equivalent filters have equal instances and cache keys.
+ */
+@Value
+@Builder(toBuilder = true)
+public class TaskFilter {
+    // Title or description keyword, null when absent or blank.
+    String title;
+    TaskPriority priority;
+    TaskStatus status;
+    LocalDate startDate;
+    LocalDate endDate;
+
+    /**
+     * Builds the part of a cache key identifying this filter. An absent keyword is written as {@code ~},
+     * which the URL encoding of a keyword never produces, so no keyword collides with it.
+     *
+     * @return the cache key part
+     */
+    public String cacheKey() {
+        return String.format("title=%s:priority=%s:start=%s:end=%s:status=%s",
+                title != null ? URLEncoder.encode(title, StandardCharsets.UTF_8) : "~",
+                priority != null ? priority.name() : "all",
+                startDate != null ? startDate.toString() : "all",
+                endDate != null ? endDate.toString() : "all",
+                status != null ? status.name() : "all");
+    }
+
+    /**
+     * Checks whether a task passes the status, priority and due date filters, with the bounds of
+     * {@code TaskSpecification}. The title filter is not checked.
+     *
+     * @param status the status of the task
+     * @param priority the priority of the task
+     * @param dueDate the due date of the task, or null
+     * @return true if the task passes the filters
+     */
+    public boolean matches(TaskStatus status, TaskPriority priority, LocalDateTime dueDate) {
+        if (this.status != null && this.status != status) {
+            return false;
+        }
+        if (this.priority != null && this.priority != priority) {
+            return false;
+        }
+        if (startDate == null && endDate == null) {
+            return true;
+        }
+        return dueDate != null
+                && (startDate == null || !dueDate.isBefore(startDate.atStartOfDay()))
+                && (endDate == null || !dueDate.isAfter(endDate.atStartOfDay()));
+    }
+}
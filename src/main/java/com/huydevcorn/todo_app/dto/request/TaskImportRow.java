@@ -0,0 +1,24 @@
+package com.huydevcorn.todo_app.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class TaskImportRow {
+    String externalId;
+    String title;
+    String description;
+    LocalDateTime dueDate;
+    String priority;
+    List<String> dependsOn;
+}
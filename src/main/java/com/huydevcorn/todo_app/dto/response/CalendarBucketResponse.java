@@ -0,0 +1,21 @@
+package com.huydevcorn.todo_app.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class CalendarBucketResponse {
+    LocalDateTime start;
+    long count;
+    List<TaskResponse> tasks;
+}
@@ -0,0 +1,17 @@
+package com.huydevcorn.todo_app.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class DependencyEdgeResponse {
+    Long taskId;
+    Long dependsOnTaskId;
+}
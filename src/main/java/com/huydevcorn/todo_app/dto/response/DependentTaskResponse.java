@@ -0,0 +1,20 @@
+package com.huydevcorn.todo_app.dto.response;
+
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class DependentTaskResponse {
+    Long id;
+    String title;
+    TaskStatus status;
+    Long remainingBlockers;
+}
@@ -0,0 +1,24 @@
+package com.huydevcorn.todo_app.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class ImportReportResponse {
+    long totalRows;
+    long importedTasks;
+    long rejectedRows;
+    long importedDependencies;
+    long rejectedDependencies;
+    boolean errorsTruncated;
+    List<ImportRowErrorResponse> errors;
+}
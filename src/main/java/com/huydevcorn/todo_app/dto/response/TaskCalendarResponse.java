@@ -0,0 +1,21 @@
+package com.huydevcorn.todo_app.dto.response;
+
+import com.huydevcorn.todo_app.enums.CalendarGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class TaskCalendarResponse {
+    String month;
+    CalendarGranularity granularity;
+    List<CalendarBucketResponse> buckets;
+}
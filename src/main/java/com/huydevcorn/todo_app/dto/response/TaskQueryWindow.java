@@ -0,0 +1,41 @@
+package com.huydevcorn.todo_app.dto.response;
+
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cached leading window of a task list query: the matching tasks, newest first, with the columns
+ * needed to narrow the window down to a stricter filter.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class TaskQueryWindow {
+    List<Entry> entries;
+    long total;
+
+    // Whether the entries hold every matching task, which is required to narrow the window
+    boolean complete;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+    public static class Entry {
+        Long id;
+        TaskStatus status;
+        TaskPriority priority;
+        LocalDateTime dueDate;
+    }
+}
@@ -1,5 +1,6 @@
 package com.huydevcorn.todo_app.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.huydevcorn.todo_app.enums.TaskPriority;
 import com.huydevcorn.todo_app.enums.TaskStatus;
 import lombok.AllArgsConstructor;
@@ -10,17 +11,24 @@ import lombok.experimental.FieldDefaults;
 
 import java.time.LocalDateTime;
 
+@JsonFilter(TaskResponse.FIELDS_FILTER)
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @FieldDefaults(level = lombok.AccessLevel.PRIVATE)
 public class TaskResponse {
+    /**
+     * The Jackson filter restricting task responses to the requested fields.
+     */
+    public static final String FIELDS_FILTER = "taskFields";
+
     Long id;
     String title;
     String description;
     TaskPriority priority;
     TaskStatus status;
+    Long version;
     LocalDateTime dueDate;
     LocalDateTime createdAt;
     LocalDateTime updatedAt;
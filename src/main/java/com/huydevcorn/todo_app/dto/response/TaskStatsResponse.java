@@ -0,0 +1,22 @@
+package com.huydevcorn.todo_app.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class TaskStatsResponse {
+    long total;
+    Map<String, Long> byStatus;
+    Map<String, Long> byPriority;
+    Map<String, Long> byDueDate;
+    long noDueDate;
+}
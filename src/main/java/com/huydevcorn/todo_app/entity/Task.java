@@ -5,6 +5,9 @@ import com.huydevcorn.todo_app.enums.TaskStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -19,7 +22,11 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_due_date", columnList = "due_date")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Task {
     // Unique identifier for the task.
     @Id
@@ -48,6 +55,12 @@ public class Task {
     @Column(nullable = false)
     TaskStatus status = TaskStatus.PENDING;
 
+    // Version of the task, incremented on every update. Used for optimistic locking and entity tags.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    Long version;
+
     // Timestamp when the task was created. This field is automatically populated.
     @CreationTimestamp
     @Column(name = "create_at", updatable = false)
@@ -3,6 +3,8 @@ package com.huydevcorn.todo_app.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Check;
 
 /**
@@ -16,8 +18,13 @@ import org.hibernate.annotations.Check;
 @AllArgsConstructor
 @NoArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "task_dependencies")
+@Table(name = "task_dependencies", indexes = {
+        @Index(name = "idx_task_dependencies_task_id", columnList = "task_id"),
+        @Index(name = "idx_task_dependencies_depends_on_task_id", columnList = "depends_on_task_id")
+})
 @Check(constraints = "task_id <> depends_on_task_id")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class TaskDependency {
     // Unique identifier for the task dependency.
     @Id
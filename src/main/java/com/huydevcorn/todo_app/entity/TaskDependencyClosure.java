@@ -0,0 +1,50 @@
+package com.huydevcorn.todo_app.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Entity representing the transitive closure of task dependencies: one row per pair of tasks where
+ * the ancestor depends on the descendant through a chain of dependencies, with the length of the shortest chain.
+ * Rows are written only by the dependency repository.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "task_dependency_closure", indexes = {
+        @Index(name = "idx_task_dependency_closure_descendant_id", columnList = "descendant_id, ancestor_id")
+})
+@IdClass(TaskDependencyClosure.Key.class)
+public class TaskDependencyClosure {
+    // The task that depends on the descendant.
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    // The task the ancestor depends on.
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    // The number of dependencies in the shortest chain, at least 1.
+    @Column(nullable = false)
+    private Integer depth;
+
+    /**
+     * Composite primary key of a closure row.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
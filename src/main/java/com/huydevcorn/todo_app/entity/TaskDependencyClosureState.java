@@ -0,0 +1,28 @@
+package com.huydevcorn.todo_app.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Entity holding the single row that tells whether the task_dependency_closure table is out of date.
+ * Dependency writes made while the closure is disabled mark it stale, and a rebuild clears the mark.
+ * Without the row, the closure has never been built and counts as stale.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "task_dependency_closure_state")
+public class TaskDependencyClosureState {
+    // Always 1.
+    @Id
+    private Integer id;
+
+    // Whether dependencies were written without updating the closure since its last rebuild.
+    @Column(nullable = false)
+    private Boolean stale;
+}
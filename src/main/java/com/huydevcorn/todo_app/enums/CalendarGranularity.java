@@ -0,0 +1,25 @@
+package com.huydevcorn.todo_app.enums;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Enum representing the bucket sizes of the due date calendar.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public enum CalendarGranularity {
+    // One bucket per day.
+    DAY("day", "One bucket per day"),
+
+    // One bucket per hour.
+    HOUR("hour", "One bucket per hour"),
+
+    ;
+
+    String unit;
+    String description;
+}
@@ -0,0 +1,25 @@
+package com.huydevcorn.todo_app.enums;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Enum representing the file formats accepted by the task import endpoint.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@RequiredArgsConstructor
+public enum ImportFormat {
+    // Newline-delimited JSON, one task object per line.
+    NDJSON(".ndjson", "One JSON task object per line"),
+
+    // Comma-separated values with a header row.
+    CSV(".csv", "Comma-separated values with a header row"),
+
+    ;
+
+    String extension;
+    String description;
+}
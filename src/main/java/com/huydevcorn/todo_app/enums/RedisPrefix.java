@@ -22,6 +22,27 @@ public enum RedisPrefix {
     // Prefix for task dependency cache.
     DEPENDENCIES("dependencies:", "Use for task dependency cache"),
 
+    // Prefix for compact task dependency graph cache.
+    DEPENDENCY_GRAPH("dependency_graph:", "Use for compact task dependency graph cache"),
+
+    // Prefix for task counters.
+    TASK_STATS("task_stats:", "Use for task counters"),
+
+    // Prefix for due date calendar cache.
+    CALENDAR("calendar:", "Use for due date calendar cache"),
+
+    // Prefix for the eviction counter of the due date calendar cache.
+    CALENDAR_EPOCH("calendar_epoch:", "Use for the eviction counter of the due date calendar cache"),
+
+    // Prefix for the users watching a task.
+    TASK_WATCHERS("task_watchers:", "Use for the users watching a task"),
+
+    // Prefix for reminder partition leases, live nodes and fired reminders.
+    REMINDER("reminder:", "Use for reminder partition leases, live nodes and fired reminders"),
+
+    // Prefix for task version stamps and the task list generation used as entity tags.
+    ETAG("etag:", "Use for task version stamps and the task list generation"),
+
     // Prefix for check circle cache.
     CHECK_CIRCLE("check_circle:", "Use for check circle cache"),
 
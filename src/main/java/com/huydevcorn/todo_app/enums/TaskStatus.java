@@ -5,6 +5,10 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Enum representing task statuses with their values and descriptions.
  */
@@ -26,6 +30,9 @@ public enum TaskStatus {
 
     ;
 
+    // Statuses a task can still move out of, the only ones a status transition or overdue marking applies to.
+    public static final Set<TaskStatus> OPEN = Collections.unmodifiableSet(EnumSet.of(PENDING, IN_PROGRESS));
+
     String status;
     String description;
 }
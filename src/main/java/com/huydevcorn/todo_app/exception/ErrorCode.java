@@ -24,10 +24,13 @@ public enum ErrorCode {
 
     // Task-related errors
     TASK_NOT_FOUND(HttpStatus.NOT_FOUND.value(), "Task not found", HttpStatus.NOT_FOUND),
+    TASK_MODIFIED_CONCURRENTLY(HttpStatus.CONFLICT.value(), "Task was modified concurrently, please reload it and retry", HttpStatus.CONFLICT),
 
     // Pagination errors
     INVALID_PAGE(HttpStatus.BAD_REQUEST.value(), "Page must be greater than or equal to 1", HttpStatus.BAD_REQUEST),
     INVALID_PAGE_SIZE(HttpStatus.BAD_REQUEST.value(), "Page size must be greater than or equal to 1", HttpStatus.BAD_REQUEST),
+    INVALID_DESCRIPTION_LENGTH(HttpStatus.BAD_REQUEST.value(), "Description length must be greater than or equal to 1", HttpStatus.BAD_REQUEST),
+    INVALID_FIELDS(HttpStatus.BAD_REQUEST.value(), "Fields must be a comma-separated list of task properties", HttpStatus.BAD_REQUEST),
 
     // Dependency-related errors
     DEPENDENT_TASK_IDS_ARE_REQUIRED(HttpStatus.BAD_REQUEST.value(), "Dependent task ids are required", HttpStatus.BAD_REQUEST),
@@ -36,6 +39,9 @@ public enum ErrorCode {
     DO_NOT_HAVE_ANY_DEPENDENCY(HttpStatus.BAD_REQUEST.value(), "Task do not have any dependency", HttpStatus.BAD_REQUEST),
     CIRCULAR_DEPENDENCY(HttpStatus.BAD_REQUEST.value(), "Circular dependency detected", HttpStatus.BAD_REQUEST),
     DEPENDENCIES_ALREADY_EXIST(HttpStatus.BAD_REQUEST.value(), "Dependencies already exist", HttpStatus.BAD_REQUEST),
+    DEPENDENCY_EDGES_ARE_REQUIRED(HttpStatus.BAD_REQUEST.value(), "Dependency edges are required", HttpStatus.BAD_REQUEST),
+    DEPENDENCY_EDGE_IS_INCOMPLETE(HttpStatus.BAD_REQUEST.value(), "Each dependency edge needs a task id and a depends on task id", HttpStatus.BAD_REQUEST),
+    TOO_MANY_DEPENDENCY_EDGES(HttpStatus.BAD_REQUEST.value(), "Too many dependency edges in one batch", HttpStatus.BAD_REQUEST),
     CAN_NOT_DELETE_TASK_WITH_DEPENDENCY(HttpStatus.BAD_REQUEST.value(), "Cannot delete task that has dependencies", HttpStatus.BAD_REQUEST),
     START_DATE_MUST_BE_BEFORE_END_DATE(HttpStatus.BAD_REQUEST.value(), "Start date must be before end date", HttpStatus.BAD_REQUEST),
     CAN_NOT_UPDATE_STATUS_OF_TASK_WITH_DEPENDENCY(HttpStatus.BAD_REQUEST.value(), "Cannot update status of task that has uncompleted dependencies", HttpStatus.BAD_REQUEST),
@@ -47,6 +53,21 @@ public enum ErrorCode {
     CAN_NOT_CHANGE_STATUS_OF_OVERDUE_TASK(HttpStatus.BAD_REQUEST.value(), "Cannot change status of overdue task, please extend due date", HttpStatus.BAD_REQUEST),
     CAN_NOT_ADD_OVERDUE_TASK_AS_DEPENDENCY(HttpStatus.BAD_REQUEST.value(), "Cannot add overdue task as dependency", HttpStatus.BAD_REQUEST),
 
+    // Calendar errors
+    INVALID_MONTH(HttpStatus.BAD_REQUEST.value(), "Month must be in the format 'yyyy-MM'", HttpStatus.BAD_REQUEST),
+    INVALID_GRANULARITY(HttpStatus.BAD_REQUEST.value(), "Granularity must be 'DAY' or 'HOUR'", HttpStatus.BAD_REQUEST),
+    INVALID_TOP(HttpStatus.BAD_REQUEST.value(), "Top must be between 0 and 10", HttpStatus.BAD_REQUEST),
+
+    // Import errors
+    IMPORT_FILE_IS_REQUIRED(HttpStatus.BAD_REQUEST.value(), "Import file is required", HttpStatus.BAD_REQUEST),
+    INVALID_IMPORT_FORMAT(HttpStatus.BAD_REQUEST.value(), "Import format must be 'NDJSON' or 'CSV'", HttpStatus.BAD_REQUEST),
+    INVALID_IMPORT_HEADER(HttpStatus.BAD_REQUEST.value(), "CSV header must contain 'external_id' and 'title' columns", HttpStatus.BAD_REQUEST),
+    INVALID_IMPORT_ROW(HttpStatus.BAD_REQUEST.value(), "Row could not be parsed", HttpStatus.BAD_REQUEST),
+    EXTERNAL_ID_IS_REQUIRED(HttpStatus.BAD_REQUEST.value(), "External id is required and must not contain ';'", HttpStatus.BAD_REQUEST),
+    DUPLICATE_EXTERNAL_ID(HttpStatus.BAD_REQUEST.value(), "External id is duplicated in the import file", HttpStatus.BAD_REQUEST),
+    DEPENDENCY_ROW_REJECTED(HttpStatus.BAD_REQUEST.value(), "Dependency refers to a rejected row of the import file", HttpStatus.BAD_REQUEST),
+    IMPORT_FAILED(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Import failed, no rows were imported", HttpStatus.INTERNAL_SERVER_ERROR),
+
     ;
 
     // Fields representing the error code, message, and HTTP status code
@@ -0,0 +1,460 @@
+package com.huydevcorn.todo_app.index;
+
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process index over the filter and sort columns of tasks, used to answer task list queries
+ * without a database round trip.
+ * Statuses and priorities are kept as bitmaps over task IDs, due dates and creation times as
+ * sorted arrays. Writes of this instance are applied as they happen, and the whole index is
+ * periodically rebuilt from the database to pick up writes of other instances.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class TaskBitmapIndex {
+    private static final String LOAD_SQL = "SELECT id, status, priority, due_date, create_at FROM tasks";
+
+    boolean enabled;
+    JdbcTemplate jdbcTemplate;
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Null until the first build completes
+    @NonFinal
+    Snapshot snapshot;
+
+    // Writes applied while a rebuild is loading, replayed on the rebuilt snapshot; null when not rebuilding
+    @NonFinal
+    List<Consumer<Snapshot>> pendingWrites;
+
+    /**
+     * Constructs a new TaskBitmapIndex.
+     *
+     * @param jdbcTemplate the JDBC template used to load the index
+     * @param enabled whether the index is maintained and used
+     */
+    public TaskBitmapIndex(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.task-index.enabled:false}") boolean enabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * A page of task IDs matching a query.
+     *
+     * @param ids the IDs of the page, in list order
+     * @param total the number of matching tasks
+     */
+    public record TaskIdSlice(List<Long> ids, long total) {}
+
+    /**
+     * Finds a page of tasks ordered by creation time, newest first, using the same filters as the task list query.
+     *
+     * @param status the status filter, or null
+     * @param priority the priority filter, or null
+     * @param startDate the start of the due date range, or null
+     * @param endDate the end of the due date range, or null
+     * @param page the page number, starting at 1
+     * @param size the page size
+     * @return the page of task IDs, or empty if the index is disabled or not built yet
+     */
+    public Optional<TaskIdSlice> query(TaskStatus status, TaskPriority priority, LocalDate startDate, LocalDate endDate, int page, int size) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (snapshot == null || snapshot.overflowed) {
+                return Optional.empty();
+            }
+
+            // Intersect the bitmaps of the filters
+            BitSet matches = snapshot.all;
+            if (status != null) {
+                matches = and(matches, snapshot.byStatus.get(status));
+            }
+            if (priority != null) {
+                matches = and(matches, snapshot.byPriority.get(priority));
+            }
+            if (startDate != null || endDate != null) {
+                matches = and(matches, snapshot.dueDateRange(startDate, endDate));
+            }
+
+            // Walk creation times from newest to oldest and keep the matches of the requested page
+            long offset = (long) (page - 1) * size;
+            List<Long> ids = new ArrayList<>(size);
+            SortedLongs createdAts = snapshot.createdAts;
+            for (int i = createdAts.size - 1; i >= 0 && ids.size() < size; i--) {
+                int id = createdAts.ids[i];
+                if (!matches.get(id)) {
+                    continue;
+                }
+                if (offset > 0) {
+                    offset--;
+                } else {
+                    ids.add((long) id);
+                }
+            }
+            return Optional.of(new TaskIdSlice(ids, matches.cardinality()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a task to the index or replaces its previous entry.
+     *
+     * @param task the saved task
+     */
+    public void upsert(Task task) {
+        if (!enabled || task.getId() == null) {
+            return;
+        }
+        long id = task.getId();
+        IndexedTask entry = new IndexedTask(task.getStatus(), task.getPriority(), toKey(task.getDueDate()), toKey(task.getCreatedAt()));
+        apply(s -> s.put(id, entry));
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param id the ID of the deleted task
+     */
+    public void remove(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        apply(s -> s.remove(id));
+    }
+
+    /**
+     * Rebuilds the index from the database. Runs at startup, periodically and after bulk writes.
+     */
+    @Scheduled(fixedDelayString = "${app.task-index.refresh-interval-ms:60000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        // Record writes made while loading, so the load cannot lose them
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long start = System.nanoTime();
+            Snapshot fresh = new Snapshot();
+            jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> fresh.append(rs.getLong("id"), new IndexedTask(
+                    TaskStatus.valueOf(rs.getString("status")),
+                    TaskPriority.valueOf(rs.getString("priority")),
+                    toKey(rs.getTimestamp("due_date")),
+                    toKey(rs.getTimestamp("create_at"))
+            )));
+            fresh.dueDates.sort();
+            fresh.createdAts.sort();
+
+            // Replay concurrent writes and swap the snapshot in
+            lock.writeLock().lock();
+            try {
+                pendingWrites.forEach(write -> write.accept(fresh));
+                snapshot = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Rebuilt task index with {} tasks in {} ms", fresh.tasks.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild task index: {}", e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+
+    // utility methods
+
+    /**
+     * Applies a write to the current snapshot and records it for a running rebuild.
+     */
+    private void apply(Consumer<Snapshot> write) {
+        lock.writeLock().lock();
+        try {
+            if (snapshot != null) {
+                write.accept(snapshot);
+            }
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Intersects two bitmaps without modifying either.
+     */
+    private static BitSet and(BitSet left, BitSet right) {
+        BitSet result = (BitSet) left.clone();
+        result.and(right);
+        return result;
+    }
+
+    /**
+     * Converts a timestamp to a sortable key in microseconds, or {@link Long#MIN_VALUE} for null.
+     */
+    private static long toKey(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return Long.MIN_VALUE;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    /**
+     * Converts a nullable database timestamp to a sortable key.
+     */
+    private static long toKey(Timestamp timestamp) {
+        return toKey(timestamp == null ? null : timestamp.toLocalDateTime());
+    }
+
+    /**
+     * The indexed columns of a task.
+     *
+     * @param status the status
+     * @param priority the priority
+     * @param dueDate the due date key, {@link Long#MIN_VALUE} if the task has no due date
+     * @param createdAt the creation time key
+     */
+    private record IndexedTask(TaskStatus status, TaskPriority priority, long dueDate, long createdAt) {}
+
+    /**
+     * The index data of one build, mutated in place by writes under the write lock.
+     */
+    private static final class Snapshot {
+        final Map<Integer, IndexedTask> tasks = new HashMap<>();
+        final BitSet all = new BitSet();
+        final Map<TaskStatus, BitSet> byStatus = new EnumMap<>(TaskStatus.class);
+        final Map<TaskPriority, BitSet> byPriority = new EnumMap<>(TaskPriority.class);
+        final SortedLongs dueDates = new SortedLongs();
+        final SortedLongs createdAts = new SortedLongs();
+
+        // Set once an ID does not fit a bitmap position, which makes queries fall back to the database
+        boolean overflowed;
+
+        Snapshot() {
+            Arrays.stream(TaskStatus.values()).forEach(status -> byStatus.put(status, new BitSet()));
+            Arrays.stream(TaskPriority.values()).forEach(priority -> byPriority.put(priority, new BitSet()));
+        }
+
+        /**
+         * Adds a task during a bulk load, before the sorted arrays are sorted.
+         */
+        void append(long id, IndexedTask entry) {
+            if (id > Integer.MAX_VALUE) {
+                overflowed = true;
+                return;
+            }
+            int position = (int) id;
+            setBits(position, entry);
+            if (entry.dueDate() != Long.MIN_VALUE) {
+                dueDates.append(entry.dueDate(), position);
+            }
+            createdAts.append(entry.createdAt(), position);
+        }
+
+        /**
+         * Adds or replaces a task.
+         */
+        void put(long id, IndexedTask entry) {
+            if (id > Integer.MAX_VALUE) {
+                overflowed = true;
+                return;
+            }
+            remove(id);
+            int position = (int) id;
+            setBits(position, entry);
+            if (entry.dueDate() != Long.MIN_VALUE) {
+                dueDates.insert(entry.dueDate(), position);
+            }
+            createdAts.insert(entry.createdAt(), position);
+        }
+
+        /**
+         * Removes a task if present.
+         */
+        void remove(long id) {
+            if (id > Integer.MAX_VALUE) {
+                return;
+            }
+            int position = (int) id;
+            IndexedTask previous = tasks.remove(position);
+            if (previous == null) {
+                return;
+            }
+            all.clear(position);
+            byStatus.get(previous.status()).clear(position);
+            byPriority.get(previous.priority()).clear(position);
+            if (previous.dueDate() != Long.MIN_VALUE) {
+                dueDates.remove(previous.dueDate(), position);
+            }
+            createdAts.remove(previous.createdAt(), position);
+        }
+
+        /**
+         * Builds the bitmap of tasks due in a range, with the bounds of the database filter:
+         * from the start of the start date up to the start of the end date, both inclusive.
+         */
+        BitSet dueDateRange(LocalDate startDate, LocalDate endDate) {
+            int from = startDate == null ? 0 : dueDates.lowerBound(toKey(startDate.atStartOfDay()));
+            int to = endDate == null ? dueDates.size : dueDates.upperBound(toKey(endDate.atStartOfDay()));
+            BitSet range = new BitSet();
+            for (int i = from; i < to; i++) {
+                range.set(dueDates.ids[i]);
+            }
+            return range;
+        }
+
+        private void setBits(int position, IndexedTask entry) {
+            tasks.put(position, entry);
+            all.set(position);
+            byStatus.get(entry.status()).set(position);
+            byPriority.get(entry.priority()).set(position);
+        }
+    }
+
+    /**
+     * Parallel arrays of keys and task IDs, sorted by key then ID.
+     */
+    private static final class SortedLongs {
+        long[] keys = new long[16];
+        int[] ids = new int[16];
+        int size;
+
+        void append(long key, int id) {
+            grow();
+            keys[size] = key;
+            ids[size] = id;
+            size++;
+        }
+
+        void insert(long key, int id) {
+            int index = search(key, id);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            grow();
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            keys[index] = key;
+            ids[index] = id;
+            size++;
+        }
+
+        void remove(long key, int id) {
+            int index = search(key, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        /**
+         * Returns the first index whose key is greater than or equal to the given key.
+         */
+        int lowerBound(long key) {
+            return -search(key, Integer.MIN_VALUE) - 1;
+        }
+
+        /**
+         * Returns the first index whose key is greater than the given key.
+         */
+        int upperBound(long key) {
+            int index = search(key, Integer.MAX_VALUE);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        /**
+         * Sorts entries appended during a bulk load.
+         */
+        void sort() {
+            Integer[] order = new Integer[size];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, Comparator.<Integer>comparingLong(i -> keys[i]).thenComparingInt(i -> ids[i]));
+            long[] sortedKeys = new long[keys.length];
+            int[] sortedIds = new int[ids.length];
+            for (int i = 0; i < size; i++) {
+                sortedKeys[i] = keys[order[i]];
+                sortedIds[i] = ids[order[i]];
+            }
+            keys = sortedKeys;
+            ids = sortedIds;
+        }
+
+        /**
+         * Binary search for an entry, returning its index or {@code -(insertion point) - 1}.
+         */
+        private int search(long key, int id) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = keys[mid] != key ? Long.compare(keys[mid], key) : Integer.compare(ids[mid], id);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void grow() {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.huydevcorn.todo_app.index;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process counting Bloom filter of the task IDs appearing on either side of a task dependency,
+ * used to skip the dependency checks when deleting a task that was never linked.
+ * A negative answer may be wrong for links made by other instances since the last rebuild, so callers
+ * must keep a database constraint behind it; a positive answer is confirmed against the database.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class TaskDependencyFilter {
+    private static final String LOAD_SQL = "SELECT task_id, depends_on_task_id FROM task_dependencies";
+    private static final int HASHES = 3;
+    private static final int SATURATED = 0xFF;
+
+    int size;
+    JdbcTemplate jdbcTemplate;
+    ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // One unsigned counter per slot; null until the first build completes
+    @NonFinal
+    byte[] counters;
+
+    // Writes applied while a rebuild is loading, replayed on the rebuilt counters; null when not rebuilding
+    @NonFinal
+    List<Consumer<byte[]>> pendingWrites;
+
+    /**
+     * Constructs a new TaskDependencyFilter.
+     *
+     * @param jdbcTemplate the JDBC template used to load the filter
+     * @param size the number of counters, one byte each
+     */
+    public TaskDependencyFilter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.dependency-filter.size:4194304}") int size
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.size = size;
+    }
+
+    /**
+     * Checks whether a task may appear in a dependency.
+     *
+     * @param id the ID of the task
+     * @return false if the task is in no dependency known to this instance, true otherwise or if the filter is not built yet
+     */
+    public boolean mightBeLinked(Long id) {
+        lock.readLock().lock();
+        try {
+            if (counters == null) {
+                return true;
+            }
+            for (int i = 0; i < HASHES; i++) {
+                if (counters[slot(id, i)] == 0) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records a dependency added by this instance.
+     *
+     * @param taskId the ID of the dependent task
+     * @param dependsOnTaskId the ID of the task it depends on
+     */
+    public void addEdge(Long taskId, Long dependsOnTaskId) {
+        apply(c -> {
+            increment(c, taskId);
+            increment(c, dependsOnTaskId);
+        });
+    }
+
+    /**
+     * Records a dependency removed by this instance.
+     *
+     * @param taskId the ID of the dependent task
+     * @param dependsOnTaskId the ID of the task it depended on
+     */
+    public void removeEdge(Long taskId, Long dependsOnTaskId) {
+        apply(c -> {
+            decrement(c, taskId);
+            decrement(c, dependsOnTaskId);
+        });
+    }
+
+    /**
+     * Rebuilds the filter from the database. Runs at startup, periodically and after bulk writes.
+     */
+    @Scheduled(fixedDelayString = "${app.dependency-filter.refresh-interval-ms:300000}")
+    public synchronized void rebuild() {
+        // Record writes made while loading, so the load cannot lose them
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long start = System.nanoTime();
+            byte[] fresh = new byte[size];
+            jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> {
+                increment(fresh, rs.getLong("task_id"));
+                increment(fresh, rs.getLong("depends_on_task_id"));
+            });
+
+            // Replay concurrent writes and swap the counters in
+            lock.writeLock().lock();
+            try {
+                pendingWrites.forEach(write -> write.accept(fresh));
+                counters = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Rebuilt task dependency filter in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild task dependency filter: {}", e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+
+    // utility methods
+
+    /**
+     * Applies a write to the current counters and records it for a running rebuild.
+     */
+    private void apply(Consumer<byte[]> write) {
+        lock.writeLock().lock();
+        try {
+            if (counters != null) {
+                write.accept(counters);
+            }
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Increments the counters of a task ID. A saturated counter stays saturated.
+     */
+    private void increment(byte[] c, long id) {
+        for (int i = 0; i < HASHES; i++) {
+            int slot = slot(id, i);
+            int count = Byte.toUnsignedInt(c[slot]);
+            if (count < SATURATED) {
+                c[slot] = (byte) (count + 1);
+            }
+        }
+    }
+
+    /**
+     * Decrements the counters of a task ID. A saturated counter no longer knows its count and is left as is.
+     */
+    private void decrement(byte[] c, long id) {
+        for (int i = 0; i < HASHES; i++) {
+            int slot = slot(id, i);
+            int count = Byte.toUnsignedInt(c[slot]);
+            if (count > 0 && count < SATURATED) {
+                c[slot] = (byte) (count - 1);
+            }
+        }
+    }
+
+    /**
+     * Computes the i-th counter slot of a task ID by double hashing.
+     */
+    private int slot(long id, int i) {
+        long h1 = mix(id);
+        long h2 = mix(h1) | 1;
+        return (int) Long.remainderUnsigned(h1 + i * h2, size);
+    }
+
+    /**
+     * Scrambles the bits of a value (the finalizer of SplitMix64).
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,26 @@
+package com.huydevcorn.todo_app.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * A notification on its way to WebSocket subscribers, as published on the Redis relay channel.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class NotificationEnvelope {
+    // The user to deliver to, or null to broadcast to every subscriber of the destination
+    String user;
+    String destination;
+    Object payload;
+
+    // The task the notification is about and the epoch millis after which it is stale, if any
+    Long taskId;
+    Long expiresAt;
+}
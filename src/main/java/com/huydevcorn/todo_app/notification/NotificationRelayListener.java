@@ -0,0 +1,33 @@
+package com.huydevcorn.todo_app.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.huydevcorn.todo_app.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Listener receiving notifications published by any node on the Redis relay channel and
+ * delivering them to the WebSocket sessions connected to this node.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class NotificationRelayListener implements MessageListener {
+    RedisTemplate<String, Object> redisTemplate;
+    ObjectMapper objectMapper;
+    NotificationService notificationService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            notificationService.deliver(objectMapper.convertValue(body, NotificationEnvelope.class));
+        } catch (RuntimeException e) {
+            log.warn("Failed to deliver relayed notification: {}", e.getMessage());
+        }
+    }
+}
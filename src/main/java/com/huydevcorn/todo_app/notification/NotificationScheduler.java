@@ -1,48 +1,146 @@
 package com.huydevcorn.todo_app.notification;
 
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
 import com.huydevcorn.todo_app.dto.response.NotificationResponse;
 import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.RedisPrefix;
 import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.index.TaskBitmapIndex;
 import com.huydevcorn.todo_app.repository.TaskRepository;
+import com.huydevcorn.todo_app.service.NotificationService;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.TaskCalendarService;
+import com.huydevcorn.todo_app.service.TaskETagService;
+import com.huydevcorn.todo_app.service.TaskStatsService;
+import com.huydevcorn.todo_app.utils.RedisUtils;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
 * Component for scheduling and managing task notifications.
+* Reminders of a task are only scheduled on the node owning its partition; other nodes forward
+* schedule and cancel requests to that node.
 */
 @Component
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
 public class NotificationScheduler {
+    private static final int MAX_OVERDUE_ATTEMPTS = 3;
+    private static final Duration CLAIM_RETRY_DELAY = Duration.ofSeconds(5);
+    private static final Duration DUE_DATE_PRECISION = Duration.of(1, ChronoUnit.MICROS);
+
     ScheduledExecutorService scheduledExecutorService;
-    SimpMessagingTemplate simpMessagingTemplate;
+    NotificationService notificationService;
     Map<Long, List<ScheduledFuture<?>>> scheduledTasks = new ConcurrentHashMap<>();
     DateTimeFormatter dateTimeFormatter;
     TaskRepository taskRepository;
+    TaskStatsService taskStatsService;
+    TaskCalendarService taskCalendarService;
+    TaskETagService taskETagService;
+    TaskBitmapIndex taskBitmapIndex;
+    ReminderPartitionManager reminderPartitionManager;
+    RedisService redisService;
+    EntityCacheInvalidator entityCacheInvalidator;
 
     /**
-     * Cancels all scheduled notifications for a given task.
+     * Cancels all scheduled notifications for a given task on the node owning its partition.
      *
      * @param taskId the ID of the task
      */
     public void cancelTask(Long taskId) {
+        cancelLocally(taskId);
+        if (!reminderPartitionManager.owns(taskId)) {
+            reminderPartitionManager.forward(ReminderCommand.builder()
+                    .action(ReminderCommand.Action.CANCEL)
+                    .taskId(taskId)
+                    .build());
+        }
+    }
+
+    /**
+     * Schedules notifications for a task on the node owning its partition.
+     *
+     * @param taskId the ID of the task
+     * @param title the title of the task
+     * @param dueDate the due date of the task
+     */
+    public void scheduleTask(Long taskId, String title, LocalDateTime dueDate) {
+        if (reminderPartitionManager.owns(taskId)) {
+            scheduleLocally(taskId, title, dueDate);
+            return;
+        }
+        reminderPartitionManager.forward(ReminderCommand.builder()
+                .action(ReminderCommand.Action.SCHEDULE)
+                .taskId(taskId)
+                .title(title)
+                .dueDate(dueDate)
+                .build());
+    }
+
+    /**
+     * Applies a reminder command forwarded by another node, if this node owns the task's partition.
+     *
+     * @param command the reminder command
+     */
+    public void apply(ReminderCommand command) {
+        if (!reminderPartitionManager.owns(command.getTaskId())) {
+            return;
+        }
+        if (command.getAction() == ReminderCommand.Action.SCHEDULE) {
+            scheduleLocally(command.getTaskId(), command.getTitle(), command.getDueDate());
+        } else {
+            cancelLocally(command.getTaskId());
+        }
+    }
+
+    /**
+     * Drops the reminders of released partitions and loads those of acquired partitions from the database,
+     * so reminders survive restarts and move with their partition.
+     *
+     * @param event the partition change event
+     */
+    @EventListener
+    public void onPartitionsChanged(ReminderPartitionsChangedEvent event) {
+        // Cancel reminders now owned by another node
+        for (Long taskId : Set.copyOf(scheduledTasks.keySet())) {
+            if (event.released().contains(reminderPartitionManager.partitionOf(taskId))) {
+                cancelLocally(taskId);
+            }
+        }
+
+        // Schedule every pending task of the acquired partitions
+        if (!event.acquired().isEmpty()) {
+            List<Task> tasks = taskRepository.findSchedulableByPartitions(reminderPartitionManager.getPartitions(), event.acquired());
+            tasks.forEach(task -> scheduleLocally(task.getId(), task.getTitle(), task.getDueDate()));
+            log.info("Loaded reminders of {} tasks for partitions {}", tasks.size(), event.acquired());
+        }
+    }
+
+    /**
+     * Cancels all scheduled notifications for a given task on this node.
+     *
+     * @param taskId the ID of the task
+     */
+    private void cancelLocally(Long taskId) {
         // Retrieve the list of scheduled futures for the task
         List<ScheduledFuture<?>> futures = scheduledTasks.get(taskId);
 
@@ -59,32 +157,36 @@ public class NotificationScheduler {
     }
 
     /**
-     * Schedules notifications for a task based on its due date.
+     * Schedules notifications for a task on this node based on its due date.
      *
      * @param taskId the ID of the task
      * @param title the title of the task
      * @param dueDate the due date of the task
      */
-    public void scheduleTask(Long taskId, String title, LocalDateTime dueDate) {
+    private void scheduleLocally(Long taskId, String title, LocalDateTime dueDate) {
+        // Replace reminders scheduled for a previous due date
+        cancelLocally(taskId);
+
         LocalDateTime now = LocalDateTime.now();
         Duration timeUntilDue = Duration.between(now, dueDate);
 
+        // Store the scheduled futures in the map before any of them can run
+        List<ScheduledFuture<?>> futures = new CopyOnWriteArrayList<>();
+        scheduledTasks.put(taskId, futures);
+
         // If the task is already overdue, send an overdue notification immediately
         if (timeUntilDue.isNegative()) {
             log.warn("Task {} is already overdue, sending overdue notification now.", taskId);
-            sendNotification("/notification/overdue-tasks", "Task Overdue",
-                    "Your task is overdue: " + title + " at " + dueDate.format(dateTimeFormatter));
-            markTaskAsOverdue(taskId);
-            return;
+            timeUntilDue = Duration.ZERO;
         }
 
-        List<ScheduledFuture<?>> futures = new ArrayList<>();
-
         // Schedule a reminder notification 1 hour before the due date
         Duration reminderDelay = timeUntilDue.minus(Duration.ofHours(1));
         if (!reminderDelay.isNegative()) {
             futures.add(scheduleNotification(
+                    futures,
                     taskId,
+                    dueDate,
                     "/notification/upcoming-tasks",
                     "Task Reminder",
                     "You have an upcoming task: " + title + " at " + dueDate.format(dateTimeFormatter),
@@ -95,23 +197,24 @@ public class NotificationScheduler {
 
         // Schedule an overdue notification at the due date
         futures.add(scheduleNotification(
+                futures,
                 taskId,
+                dueDate,
                 "/notification/overdue-tasks",
                 "Task Overdue",
                 "Your task is overdue: " + title + " at " + dueDate.format(dateTimeFormatter),
                 timeUntilDue,
                 true
         ));
-
-        // Store the scheduled futures in the map
-        scheduledTasks.put(taskId, futures);
         log.info("Scheduled {} notifications for task {}", futures.size(), taskId);
     }
 
     /**
      * Schedules a notification to be sent after a specified delay.
      *
+     * @param futures the scheduled futures of the task, which retries of the notification join
      * @param taskId the ID of the task
+     * @param dueDate the due date the notification is for
      * @param destination the destination of the notification
      * @param title the title of the notification
      * @param message the message of the notification
@@ -119,33 +222,62 @@ public class NotificationScheduler {
      * @param isOverdue whether the notification is for an overdue task
      * @return the scheduled future representing the scheduled notification
      */
-    private ScheduledFuture<?> scheduleNotification(Long taskId, String destination, String title, String message, Duration delay, boolean isOverdue) {
-        if (isOverdue) {
-            // Schedule an overdue notification and mark the task as overdue
-            return scheduledExecutorService.schedule(() -> {
-                sendNotification(destination, title, message);
-                markTaskAsOverdue(taskId);
-                cleanupTask(taskId);
-            }, delay.toMillis(), TimeUnit.MILLISECONDS);
-        }
-
-        // Schedule a regular notification
+    private ScheduledFuture<?> scheduleNotification(List<ScheduledFuture<?>> futures, Long taskId, LocalDateTime dueDate, String destination, String title, String message, Duration delay, boolean isOverdue) {
+        String kind = isOverdue ? "overdue" : "upcoming";
         return scheduledExecutorService.schedule(() -> {
-            sendNotification(destination, title, message);
+            boolean claimed;
+            try {
+                claimed = claimFiring(taskId, kind, dueDate);
+            } catch (RuntimeException e) {
+                // Neither fire a possible duplicate nor lose the reminder while Redis is unavailable
+                log.warn("Failed to claim {} reminder of task {}, retrying in {}: {}", kind, taskId, CLAIM_RETRY_DELAY, e.getMessage());
+                scheduledTasks.computeIfPresent(taskId, (id, current) -> {
+                    // Only retry while the reminders of this due date are still scheduled
+                    if (current == futures) {
+                        futures.add(scheduleNotification(futures, taskId, dueDate, destination, title, message, CLAIM_RETRY_DELAY, isOverdue));
+                    }
+                    return current;
+                });
+                return;
+            }
+
+            // Mark the task as overdue first, notifying only if it was still open
+            if (claimed && (!isOverdue || markTaskAsOverdue(taskId, dueDate))) {
+                sendNotification(taskId, destination, title, message);
+            }
             cleanupTask(taskId);
         }, delay.toMillis(), TimeUnit.MILLISECONDS);
     }
 
     /**
-     * Sends a notification to a specified destination.
+     * Claims a reminder so it fires exactly once across nodes, even while a partition changes hands.
      *
+     * @param taskId the ID of the task
+     * @param kind the kind of reminder
+     * @param dueDate the due date the reminder is for
+     * @return true if this node should fire the reminder
+     * @throws RuntimeException if Redis could not be reached, so whether to fire is unknown
+     */
+    private boolean claimFiring(Long taskId, String kind, LocalDateTime dueDate) {
+        if (!reminderPartitionManager.holdsLease(taskId)) {
+            log.info("Skipped {} reminder of task {}, partition is owned by another node", kind, taskId);
+            return false;
+        }
+        String key = RedisUtils.withPrefix(RedisPrefix.REMINDER.getPrefix(), "fired:" + taskId + ":" + kind + ":" + dueDate);
+        return redisService.setIfAbsent(key, reminderPartitionManager.getNodeId(), 1, TimeUnit.DAYS);
+    }
+
+    /**
+     * Sends a notification about a task to the users watching it, or to every subscriber of the destination.
+     *
+     * @param taskId the ID of the task
      * @param destination the destination of the notification
      * @param title the title of the notification
      * @param message the message of the notification
      */
-    private void sendNotification(String destination, String title, String message) {
-        // Send the notification using the messaging template
-        simpMessagingTemplate.convertAndSend(destination, NotificationResponse.builder()
+    private void sendNotification(Long taskId, String destination, String title, String message) {
+        // Send the notification through the notification service
+        notificationService.sendToTaskWatchers(taskId, destination, NotificationResponse.builder()
                 .title(title)
                 .message(message)
                 .build());
@@ -165,27 +297,69 @@ public class NotificationScheduler {
             futures.removeIf(ScheduledFuture::isDone);
 
             // If no futures remain, remove the task from the map
-            if (futures.isEmpty()) scheduledTasks.remove(taskId);
+            if (futures.isEmpty()) scheduledTasks.remove(taskId, futures);
         }
     }
 
     /**
-     * Marks a task as overdue in the repository.
+     * Marks a task as overdue in the repository with a conditional update, so a task completed,
+     * rescheduled or deleted concurrently is never flipped to overdue.
      *
      * @param taskId the ID of the task to mark as overdue
+     * @param dueDate the due date the overdue reminder was scheduled for
+     * @return true if the task was marked as overdue
      */
-    private void markTaskAsOverdue(Long taskId) {
-        // Retrieve the task from the repository
-        Optional<Task> optionalTask = taskRepository.findById(taskId);
+    private boolean markTaskAsOverdue(Long taskId, LocalDateTime dueDate) {
+        for (int attempt = 0; attempt < MAX_OVERDUE_ATTEMPTS; attempt++) {
+            // Retrieve the task from the repository
+            Optional<Task> optionalTask = taskRepository.findById(taskId);
 
-        if (optionalTask.isPresent()) {
+            // Skip tasks that were deleted, closed or moved to another due date
+            if (optionalTask.isEmpty()
+                    || !TaskStatus.OPEN.contains(optionalTask.get().getStatus())
+                    || !isSameDueDate(dueDate, optionalTask.get().getDueDate())) {
+                log.info("Task {} is no longer due at {}, not marking it as overdue.", taskId, dueDate);
+                return false;
+            }
             Task task = optionalTask.get();
 
-            // Update the task status to overdue
+            // Update the task status to overdue, unless it changed since it was read
+            Set<String> countersBefore = taskStatsService.countersOf(task);
+            LocalDateTime now = LocalDateTime.now();
+            long stamp = taskStatsService.beginChange();
+            if (taskRepository.markOverdue(taskId, task.getVersion(), TaskStatus.OPEN, now) == 0) {
+                continue;
+            }
+            entityCacheInvalidator.evict(Task.class, List.of(taskId));
             task.setStatus(TaskStatus.OVERDUE);
-            taskRepository.save(task);
+            task.setVersion(task.getVersion() + 1);
+            task.setUpdatedAt(now);
+            taskBitmapIndex.upsert(task);
+            taskStatsService.recordChange(stamp, countersBefore, taskStatsService.countersOf(task));
+
+            // Clear related cache
+            redisService.delete(RedisUtils.withPrefix(RedisPrefix.TASK.getPrefix(), taskId.toString()));
+            redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.TASKS.getPrefix(), "*"));
+            taskCalendarService.evictDueDates(task.getDueDate());
+            taskETagService.recordWrite(taskId, task.getVersion());
+            taskETagService.bumpTasksGeneration();
             log.info("Task {} is now overdue.", taskId);
+            return true;
         }
+        log.warn("Task {} kept changing, gave up marking it as overdue.", taskId);
+        return false;
+    }
+
+    /**
+     * Checks whether a scheduled due date is the one stored for a task. The scheduled one may come
+     * straight from a request with nanoseconds, while PostgreSQL rounds timestamps to microseconds.
+     *
+     * @param scheduled the due date a reminder was scheduled for
+     * @param stored the due date read from the database
+     * @return true if both denote the same due date
+     */
+    private boolean isSameDueDate(LocalDateTime scheduled, LocalDateTime stored) {
+        return stored != null && Duration.between(scheduled, stored).abs().compareTo(DUE_DATE_PRECISION) < 0;
     }
 
 }
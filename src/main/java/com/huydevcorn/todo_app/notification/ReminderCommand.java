@@ -0,0 +1,26 @@
+package com.huydevcorn.todo_app.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * A request to schedule or cancel the reminders of a task, sent to the node owning its partition.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE)
+public class ReminderCommand {
+    public enum Action { SCHEDULE, CANCEL }
+
+    Action action;
+    Long taskId;
+    String title;
+    LocalDateTime dueDate;
+}
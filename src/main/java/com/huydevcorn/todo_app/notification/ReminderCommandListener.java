@@ -0,0 +1,32 @@
+package com.huydevcorn.todo_app.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Listener receiving reminder commands published by any node and applying those whose task
+ * belongs to a partition owned by this node.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ReminderCommandListener implements MessageListener {
+    RedisTemplate<String, Object> redisTemplate;
+    ObjectMapper objectMapper;
+    NotificationScheduler notificationScheduler;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            notificationScheduler.apply(objectMapper.convertValue(body, ReminderCommand.class));
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply reminder command: {}", e.getMessage());
+        }
+    }
+}
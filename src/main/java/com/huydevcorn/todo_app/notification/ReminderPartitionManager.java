@@ -0,0 +1,188 @@
+package com.huydevcorn.todo_app.notification;
+
+import com.huydevcorn.todo_app.enums.RedisPrefix;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.utils.RedisUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Component sharing reminder scheduling between app instances.
+ * Tasks are split into partitions by ID, and each partition is owned by one node through a Redis
+ * lease renewed on every heartbeat. Nodes register themselves on each heartbeat so every node
+ * claims its fair share of partitions, and a crashed node's leases expire and are taken over.
+ */
+@Component
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ReminderPartitionManager {
+    private static final String NODES_KEY = RedisUtils.withPrefix(RedisPrefix.REMINDER.getPrefix(), "nodes");
+
+    String nodeId = UUID.randomUUID().toString();
+    @Getter(AccessLevel.NONE)
+    Set<Integer> owned = ConcurrentHashMap.newKeySet();
+    @Getter(AccessLevel.NONE)
+    RedisService redisService;
+    @Getter(AccessLevel.NONE)
+    ApplicationEventPublisher eventPublisher;
+    int partitions;
+    Duration leaseTtl;
+    String channel;
+
+    /**
+     * Constructs a new ReminderPartitionManager.
+     *
+     * @param redisService the Redis service
+     * @param eventPublisher the publisher of partition changes
+     * @param partitions the number of partitions
+     * @param leaseTtl how long a lease survives without renewal
+     * @param channel the Redis channel reminder commands are forwarded on
+     */
+    public ReminderPartitionManager(
+            RedisService redisService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.reminder.partitions:16}") int partitions,
+            @Value("${app.reminder.lease-ttl:15s}") Duration leaseTtl,
+            @Value("${app.reminder.channel:reminder}") String channel
+    ) {
+        this.redisService = redisService;
+        this.eventPublisher = eventPublisher;
+        this.partitions = partitions;
+        this.leaseTtl = leaseTtl;
+        this.channel = channel;
+    }
+
+    /**
+     * Returns the partition of a task.
+     *
+     * @param taskId the ID of the task
+     * @return the partition, between 0 and the number of partitions
+     */
+    public int partitionOf(Long taskId) {
+        return (int) Math.floorMod(taskId, (long) partitions);
+    }
+
+    /**
+     * Checks whether this node owns the partition of a task.
+     *
+     * @param taskId the ID of the task
+     * @return true if reminders of the task are scheduled on this node
+     */
+    public boolean owns(Long taskId) {
+        return owned.contains(partitionOf(taskId));
+    }
+
+    /**
+     * Checks whether this node still holds the lease of a task's partition in Redis.
+     * Used right before firing, since the local view may lag behind an expired lease.
+     *
+     * @param taskId the ID of the task
+     * @return true if the lease is held by this node
+     */
+    public boolean holdsLease(Long taskId) {
+        int partition = partitionOf(taskId);
+        return owned.contains(partition)
+                && redisService.expireIfEquals(leaseKey(partition), nodeId, leaseTtl.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Forwards a reminder command to every node, so the owner of the task's partition applies it.
+     *
+     * @param command the reminder command
+     */
+    public void forward(ReminderCommand command) {
+        redisService.publish(channel, command);
+    }
+
+    /**
+     * Renews the leases of this node and rebalances partitions between the live nodes.
+     */
+    @Scheduled(fixedDelayString = "${app.reminder.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        Set<Integer> acquired = new HashSet<>();
+        Set<Integer> released = new HashSet<>();
+
+        try {
+            // Register this node and count the nodes that sent a heartbeat within the lease TTL
+            long now = System.currentTimeMillis();
+            redisService.addToSortedSet(NODES_KEY, nodeId, now);
+            long liveNodes = Math.max(1, redisService.trimSortedSetAndCount(NODES_KEY, now - leaseTtl.toMillis()));
+            int target = (int) Math.ceil((double) partitions / liveNodes);
+
+            // Renew owned leases, forgetting those that expired or were taken over
+            for (Integer partition : Set.copyOf(owned)) {
+                if (!redisService.expireIfEquals(leaseKey(partition), nodeId, leaseTtl.toMillis(), TimeUnit.MILLISECONDS)) {
+                    owned.remove(partition);
+                    released.add(partition);
+                }
+            }
+
+            // Give back partitions above the fair share so newly started nodes can claim them
+            for (Integer partition : Set.copyOf(owned)) {
+                if (owned.size() <= target) {
+                    break;
+                }
+                redisService.deleteIfEquals(leaseKey(partition), nodeId);
+                owned.remove(partition);
+                released.add(partition);
+            }
+
+            // Claim free partitions up to the fair share, starting at a node-specific offset to limit contention
+            int offset = Math.floorMod(nodeId.hashCode(), partitions);
+            for (int i = 0; i < partitions && owned.size() < target; i++) {
+                int partition = (offset + i) % partitions;
+                if (!owned.contains(partition) && !released.contains(partition)
+                        && redisService.setIfAbsent(leaseKey(partition), nodeId, leaseTtl.toMillis(), TimeUnit.MILLISECONDS)) {
+                    owned.add(partition);
+                    acquired.add(partition);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Reminder partition heartbeat failed: {}", e.getMessage());
+        }
+
+        if (!acquired.isEmpty() || !released.isEmpty()) {
+            log.info("Reminder partitions acquired {}, released {}, owned {}", acquired, released, owned.size());
+            eventPublisher.publishEvent(new ReminderPartitionsChangedEvent(acquired, released));
+        }
+    }
+
+    /**
+     * Releases all leases on shutdown so other nodes take over without waiting for them to expire.
+     */
+    @PreDestroy
+    public void releaseAll() {
+        try {
+            owned.forEach(partition -> redisService.deleteIfEquals(leaseKey(partition), nodeId));
+            redisService.removeFromSortedSet(NODES_KEY, nodeId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release reminder partitions: {}", e.getMessage());
+        }
+        owned.clear();
+    }
+
+
+    // utility methods
+
+    /**
+     * Builds the lease key of a partition.
+     */
+    private String leaseKey(int partition) {
+        return RedisUtils.withPrefix(RedisPrefix.REMINDER.getPrefix(), "lease:" + partition);
+    }
+}
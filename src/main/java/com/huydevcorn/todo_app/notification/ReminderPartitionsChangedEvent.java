@@ -0,0 +1,12 @@
+package com.huydevcorn.todo_app.notification;
+
+import java.util.Set;
+
+/**
+ * Event published when this node acquires or releases reminder partitions.
+ *
+ * @param acquired the partitions this node now owns
+ * @param released the partitions this node no longer owns
+ */
+public record ReminderPartitionsChangedEvent(Set<Integer> acquired, Set<Integer> released) {
+}
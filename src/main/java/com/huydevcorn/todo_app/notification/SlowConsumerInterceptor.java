@@ -0,0 +1,209 @@
+package com.huydevcorn.todo_app.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interceptor on the client outbound channel that bounds the notifications queued per session.
+ * A message is dropped when its session already has too many queued, when it expired while
+ * queued, or when a newer notification for the same task and destination was queued after it.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class SlowConsumerInterceptor implements ExecutorChannelInterceptor {
+    /**
+     * Native header holding the ID of the task a notification is about.
+     */
+    public static final String TASK_ID_HEADER = "task-id";
+
+    /**
+     * Native header holding the epoch millis after which a notification is stale.
+     */
+    public static final String EXPIRES_HEADER = "expires";
+
+    private static final String SEQUENCE_HEADER = "notificationSequence";
+    private static final String COALESCE_KEY_HEADER = "notificationCoalesceKey";
+
+    int maxQueuedPerSession;
+    Map<String, AtomicInteger> queuedBySession = new ConcurrentHashMap<>();
+    Map<String, Long> latestByKey = new ConcurrentHashMap<>();
+    AtomicLong sequence = new AtomicLong();
+    AtomicInteger queued = new AtomicInteger();
+    Counter droppedOverflow;
+    Counter droppedStale;
+    Counter droppedCoalesced;
+
+    /**
+     * Constructs a new SlowConsumerInterceptor.
+     *
+     * @param meterRegistry the registry of the notification metrics
+     * @param maxQueuedPerSession the maximum number of notifications queued per session
+     */
+    public SlowConsumerInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${app.websocket.outbound.max-queued-per-session:100}") int maxQueuedPerSession
+    ) {
+        this.maxQueuedPerSession = maxQueuedPerSession;
+        this.droppedOverflow = droppedCounter(meterRegistry, "overflow");
+        this.droppedStale = droppedCounter(meterRegistry, "stale");
+        this.droppedCoalesced = droppedCounter(meterRegistry, "coalesced");
+        Gauge.builder("notifications.queued", queued, AtomicInteger::get)
+                .description("Notifications queued for delivery to WebSocket sessions")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+
+        // Drop notifications that are already stale or would grow the session's queue past its limit
+        if (isExpired(message)) {
+            droppedStale.increment();
+            return null;
+        }
+        AtomicInteger sessionQueued = queuedBySession.computeIfAbsent(sessionId, k -> new AtomicInteger());
+        if (sessionQueued.get() >= maxQueuedPerSession) {
+            droppedOverflow.increment();
+            log.debug("Dropped notification for slow session {}", sessionId);
+            return null;
+        }
+        sessionQueued.incrementAndGet();
+        queued.incrementAndGet();
+
+        // Tag task notifications so an older queued one can be skipped in favour of this one
+        String taskId = NativeMessageHeaderAccessor.getFirstNativeHeader(TASK_ID_HEADER, message.getHeaders());
+        if (taskId == null) {
+            return message;
+        }
+        String key = sessionId + "|" + SimpMessageHeaderAccessor.getDestination(message.getHeaders()) + "|" + taskId;
+        long seq = sequence.incrementAndGet();
+        latestByKey.put(key, seq);
+        return MessageBuilder.fromMessage(message)
+                .setHeader(SEQUENCE_HEADER, seq)
+                .setHeader(COALESCE_KEY_HEADER, key)
+                .build();
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        // A message that never reached the executor is not queued anymore
+        if ((!sent || ex != null) && isCounted(message)) {
+            release(message);
+        }
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (!isCounted(message)) {
+            return message;
+        }
+
+        // Re-check while dequeuing, since the message may have waited behind a slow consumer
+        String key = message.getHeaders().get(COALESCE_KEY_HEADER, String.class);
+        Long seq = message.getHeaders().get(SEQUENCE_HEADER, Long.class);
+        if (key != null && seq != null && !seq.equals(latestByKey.get(key))) {
+            droppedCoalesced.increment();
+            release(message);
+            return null;
+        }
+        if (isExpired(message)) {
+            droppedStale.increment();
+            release(message);
+            return null;
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        if (isCounted(message)) {
+            release(message);
+        }
+    }
+
+    /**
+     * Forgets the queue of a session once it disconnects.
+     *
+     * @param event the disconnect event
+     */
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        AtomicInteger sessionQueued = queuedBySession.remove(sessionId);
+        if (sessionQueued != null) {
+            queued.addAndGet(-sessionQueued.get());
+        }
+        latestByKey.keySet().removeIf(key -> key.startsWith(sessionId + "|"));
+    }
+
+
+    // utility methods
+
+    /**
+     * Registers the counter of notifications dropped for a reason.
+     */
+    private Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("notifications.dropped")
+                .description("Notifications dropped before reaching a WebSocket session")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether a message was counted as queued by {@link #preSend}.
+     */
+    private boolean isCounted(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        return sessionId != null && SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE;
+    }
+
+    /**
+     * Checks whether a message carries an expiry that has passed.
+     */
+    private boolean isExpired(Message<?> message) {
+        String expires = NativeMessageHeaderAccessor.getFirstNativeHeader(EXPIRES_HEADER, message.getHeaders());
+        return expires != null && Long.parseLong(expires) < System.currentTimeMillis();
+    }
+
+    /**
+     * Removes a message from the queue counters of its session.
+     */
+    private void release(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        AtomicInteger sessionQueued = sessionId == null ? null : queuedBySession.get(sessionId);
+        if (sessionQueued != null && sessionQueued.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            queued.decrementAndGet();
+        }
+
+        String key = message.getHeaders().get(COALESCE_KEY_HEADER, String.class);
+        Long seq = message.getHeaders().get(SEQUENCE_HEADER, Long.class);
+        if (key != null && seq != null) {
+            latestByKey.remove(key, seq);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.huydevcorn.todo_app.notification;
+
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Handshake handler that names each WebSocket session so user destinations can address it.
+ * The name is taken from the {@code user} query parameter or the {@code X-User-Id} header,
+ * and a random name is generated for anonymous sessions.
+ */
+public class UserHandshakeHandler extends DefaultHandshakeHandler {
+    private static final String USER_PARAM = "user";
+    private static final String USER_HEADER = "X-User-Id";
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        // Query parameters of the raw URI are still percent-encoded
+        String user = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst(USER_PARAM);
+        if (StringUtils.hasText(user)) {
+            user = UriUtils.decode(user, StandardCharsets.UTF_8);
+        } else {
+            user = request.getHeaders().getFirst(USER_HEADER);
+        }
+        if (!StringUtils.hasText(user)) {
+            user = UUID.randomUUID().toString();
+        }
+
+        String name = user.trim();
+        return () -> name;
+    }
+}
@@ -0,0 +1,63 @@
+package com.huydevcorn.todo_app.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository fragment for set-based task dependency operations executed as single SQL statements,
+ * without loading dependency entities. With {@code app.dependency-closure.enabled} every write also
+ * updates the task_dependency_closure table in the same transaction; otherwise it marks the table stale.
+ */
+public interface TaskDependencyBulkRepository {
+    /**
+     * A dependency between two tasks.
+     *
+     * @param taskId the ID of the dependent task
+     * @param dependsOnTaskId the ID of the task it depends on
+     */
+    record Edge(long taskId, long dependsOnTaskId) {}
+
+    /**
+     * Deletes dependencies of a task in one statement, and the pairs no longer linked from the closure.
+     *
+     * @param taskId the ID of the dependent task
+     * @param dependsOnTaskIds the IDs of the tasks to remove as dependencies, or null to remove all of them
+     * @return the IDs of the tasks actually removed as dependencies; its size is the number of deleted rows
+     */
+    List<Long> deleteDependencies(Long taskId, Collection<Long> dependsOnTaskIds);
+
+    /**
+     * Inserts dependencies in batched statements within one transaction, and the pairs they link into the closure.
+     * With the closure, writers are serialized and a batch closing a cycle with committed dependencies or within
+     * itself is rejected, so concurrent requests that each passed their own cycle check cannot create one together.
+     *
+     * @param edges the dependencies to insert
+     * @throws com.huydevcorn.todo_app.exception.AppException with CIRCULAR_DEPENDENCY if an edge would close a cycle
+     */
+    void insertDependencies(Collection<Edge> edges);
+
+    /**
+     * Recomputes the whole closure table from task_dependencies, one chain length at a time, if it is marked stale.
+     * Does nothing unless the closure is enabled.
+     *
+     * @return true if the closure was rebuilt, false otherwise
+     */
+    boolean rebuildClosureIfStale();
+
+    /**
+     * Finds every existing dependency reachable from a set of tasks by following dependencies.
+     *
+     * @param taskIds the IDs of the tasks to start from
+     * @return the dependencies of the tasks, of their dependencies, and so on
+     */
+    List<Edge> findReachableEdges(Collection<Long> taskIds);
+
+    /**
+     * Finds the IDs of the tasks that depend on any of a set of tasks, directly or indirectly.
+     *
+     * @param taskIds the IDs of the tasks
+     * @return the IDs of their direct and indirect dependents
+     */
+    Set<Long> findDependentIds(Collection<Long> taskIds);
+}
@@ -0,0 +1,296 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.entity.TaskDependency;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of the TaskDependencyBulkRepository fragment on plain JDBC, since the deletes
+ * both modify and return rows, which JPA queries cannot express.
+ * The closure holds one row per pair of linked tasks with the length of their shortest chain. Adding the
+ * dependency a -> d links every x reaching a to every y reachable from d; removing it recomputes only those pairs
+ * from the remaining dependencies. No chain into a or out of d can run through a -> d without a cycle,
+ * so both sides are read from the closure as it is. While the closure is disabled, writes mark it stale instead.
+ */
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class TaskDependencyBulkRepositoryImpl implements TaskDependencyBulkRepository {
+    private static final String DELETE_ALL_SQL =
+            "DELETE FROM task_dependencies WHERE task_id = ? RETURNING id, depends_on_task_id";
+    private static final String DELETE_SOME_SQL =
+            "DELETE FROM task_dependencies WHERE task_id = ? AND depends_on_task_id = ANY(?) RETURNING id, depends_on_task_id";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO task_dependencies (task_id, depends_on_task_id) VALUES (?, ?)";
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    // Walks the edges forwards from the tasks; UNION stops at tasks already reached
+    private static final String REACHABLE_EDGES_SQL = """
+            WITH RECURSIVE reachable(id) AS (
+                SELECT unnest(CAST(? AS BIGINT[]))
+                UNION
+                SELECT td.depends_on_task_id FROM task_dependencies td JOIN reachable r ON td.task_id = r.id
+            )
+            SELECT td.task_id, td.depends_on_task_id FROM task_dependencies td JOIN reachable r ON td.task_id = r.id
+            """;
+
+    // Walks the edges backwards from the tasks; UNION stops at tasks already reached
+    private static final String DEPENDENTS_SQL = """
+            WITH RECURSIVE dependents(id) AS (
+                SELECT task_id FROM task_dependencies WHERE depends_on_task_id = ANY(?)
+                UNION
+                SELECT td.task_id FROM task_dependencies td JOIN dependents d ON td.depends_on_task_id = d.id
+            )
+            SELECT id FROM dependents
+            """;
+
+    // Serializes closure writers, since each one reads the pairs the others may be adding
+    private static final String LOCK_CLOSURE_SQL = "SELECT pg_advisory_xact_lock(hashtext('task_dependency_closure'))";
+    // Taken by writers while the closure is disabled, so a rebuild sees their dependencies or they see its fresh mark
+    private static final String LOCK_CLOSURE_SHARED_SQL =
+            "SELECT pg_advisory_xact_lock_shared(hashtext('task_dependency_closure'))";
+
+    // An edge closing a cycle puts a task among its own ancestors
+    private static final String CLOSES_CYCLE_SQL = """
+            SELECT EXISTS (
+                SELECT 1 FROM task_dependency_closure WHERE ancestor_id = descendant_id AND ancestor_id = ANY(?)
+            )
+            """;
+
+    // Every x reaching a, a itself, times d itself and every y reachable from d, for the dependency a -> d
+    private static final String CLOSURE_ENDS_SQL = """
+            up AS (
+                SELECT CAST(? AS BIGINT) AS id, 0 AS depth
+                UNION ALL
+                SELECT ancestor_id, depth FROM task_dependency_closure WHERE descendant_id = ?
+            ),
+            down AS (
+                SELECT CAST(? AS BIGINT) AS id, 0 AS depth
+                UNION ALL
+                SELECT descendant_id, depth FROM task_dependency_closure WHERE ancestor_id = ?
+            )
+            """;
+    // Grouped, since a task reaching itself through a cycle closed earlier in the batch appears twice on one side
+    private static final String CLOSURE_ADD_SQL = "WITH " + CLOSURE_ENDS_SQL + """
+            INSERT INTO task_dependency_closure (ancestor_id, descendant_id, depth)
+            SELECT up.id, down.id, MIN(up.depth + down.depth + 1) FROM up CROSS JOIN down GROUP BY up.id, down.id
+            ON CONFLICT (ancestor_id, descendant_id) DO UPDATE SET depth = EXCLUDED.depth
+            WHERE EXCLUDED.depth < task_dependency_closure.depth
+            """;
+    // Only the pairs from up to down can lose their chains. Their shortest remaining chains start with a remaining
+    // dependency x -> z and continue either through the closure, when z is not in up and so kept all its chains,
+    // or through the recomputed chains of z. Pairs left without a chain are deleted, the others take the new depth.
+    private static final String CLOSURE_REMOVE_SQL = "WITH RECURSIVE " + CLOSURE_ENDS_SQL + """
+            , remaining(ancestor_id, descendant_id, depth) AS (
+                SELECT td.task_id, td.depends_on_task_id, 1
+                FROM task_dependencies td
+                JOIN up ON td.task_id = up.id
+                JOIN down ON td.depends_on_task_id = down.id
+                UNION
+                SELECT td.task_id, c.descendant_id, c.depth + 1
+                FROM task_dependencies td
+                JOIN up ON td.task_id = up.id
+                JOIN task_dependency_closure c ON c.ancestor_id = td.depends_on_task_id
+                JOIN down ON c.descendant_id = down.id
+                WHERE td.depends_on_task_id NOT IN (SELECT id FROM up)
+                UNION
+                SELECT td.task_id, r.descendant_id, r.depth + 1
+                FROM task_dependencies td
+                JOIN remaining r ON td.depends_on_task_id = r.ancestor_id
+                JOIN up ON td.task_id = up.id
+            ),
+            shortest AS (
+                SELECT ancestor_id, descendant_id, MIN(depth) AS depth FROM remaining GROUP BY ancestor_id, descendant_id
+            ),
+            removed AS (
+                DELETE FROM task_dependency_closure c USING up, down
+                WHERE c.ancestor_id = up.id AND c.descendant_id = down.id
+                    AND NOT EXISTS (
+                        SELECT 1 FROM shortest s WHERE s.ancestor_id = c.ancestor_id AND s.descendant_id = c.descendant_id
+                    )
+            )
+            UPDATE task_dependency_closure c SET depth = s.depth FROM shortest s
+            WHERE c.ancestor_id = s.ancestor_id AND c.descendant_id = s.descendant_id AND c.depth <> s.depth
+            """;
+
+    private static final String CLOSURE_CLEAR_SQL = "DELETE FROM task_dependency_closure";
+    private static final String CLOSURE_SEED_SQL = """
+            INSERT INTO task_dependency_closure (ancestor_id, descendant_id, depth)
+            SELECT DISTINCT task_id, depends_on_task_id, 1 FROM task_dependencies
+            """;
+    // Extends every chain of the given length by one dependency; pairs already reached keep their shorter depth
+    private static final String CLOSURE_EXTEND_SQL = """
+            INSERT INTO task_dependency_closure (ancestor_id, descendant_id, depth)
+            SELECT DISTINCT c.ancestor_id, td.depends_on_task_id, c.depth + 1
+            FROM task_dependency_closure c JOIN task_dependencies td ON td.task_id = c.descendant_id
+            WHERE c.depth = ?
+            ON CONFLICT (ancestor_id, descendant_id) DO NOTHING
+            """;
+    private static final String CLOSURE_HAS_CYCLE_SQL =
+            "SELECT EXISTS (SELECT 1 FROM task_dependency_closure WHERE ancestor_id = descendant_id)";
+
+    // A missing state row means the closure was never built
+    private static final String CLOSURE_IS_STALE_SQL =
+            "SELECT COALESCE((SELECT stale FROM task_dependency_closure_state WHERE id = 1), TRUE)";
+    // Writes nothing once the closure is stale, so writers do not queue on the state row
+    private static final String CLOSURE_MARK_STALE_SQL = """
+            INSERT INTO task_dependency_closure_state (id, stale)
+            SELECT 1, TRUE WHERE NOT EXISTS (SELECT 1 FROM task_dependency_closure_state WHERE id = 1 AND stale)
+            ON CONFLICT (id) DO UPDATE SET stale = TRUE
+            """;
+    private static final String CLOSURE_MARK_FRESH_SQL = """
+            INSERT INTO task_dependency_closure_state (id, stale) VALUES (1, FALSE)
+            ON CONFLICT (id) DO UPDATE SET stale = FALSE
+            """;
+
+    JdbcTemplate jdbcTemplate;
+    EntityCacheInvalidator entityCacheInvalidator;
+    boolean closureEnabled;
+
+    /**
+     * Constructs a new TaskDependencyBulkRepositoryImpl.
+     *
+     * @param jdbcTemplate the JDBC template used for the statements
+     * @param entityCacheInvalidator the invalidator of the second-level cache entries the statements bypass
+     * @param closureEnabled whether the closure table is maintained
+     */
+    public TaskDependencyBulkRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            EntityCacheInvalidator entityCacheInvalidator,
+            @Value("${app.dependency-closure.enabled:false}") boolean closureEnabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityCacheInvalidator = entityCacheInvalidator;
+        this.closureEnabled = closureEnabled;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteDependencies(Long taskId, Collection<Long> dependsOnTaskIds) {
+        jdbcTemplate.execute(closureEnabled ? LOCK_CLOSURE_SQL : LOCK_CLOSURE_SHARED_SQL);
+
+        List<Long> rowIds = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        if (dependsOnTaskIds == null) {
+            jdbcTemplate.query(DELETE_ALL_SQL, (RowCallbackHandler) rs -> {
+                rowIds.add(rs.getLong("id"));
+                removed.add(rs.getLong("depends_on_task_id"));
+            }, taskId);
+        } else if (!dependsOnTaskIds.isEmpty()) {
+            jdbcTemplate.query(DELETE_SOME_SQL, (RowCallbackHandler) rs -> {
+                rowIds.add(rs.getLong("id"));
+                removed.add(rs.getLong("depends_on_task_id"));
+            }, taskId, dependsOnTaskIds.toArray(Long[]::new));
+        }
+        if (removed.isEmpty()) {
+            return removed;
+        }
+        if (closureEnabled) {
+            updateClosure(CLOSURE_REMOVE_SQL, removed.stream().map(id -> new Edge(taskId, id)).toList());
+        } else {
+            jdbcTemplate.update(CLOSURE_MARK_STALE_SQL);
+        }
+
+        // The delete bypassed Hibernate, so drop the deleted entities on every node
+        entityCacheInvalidator.evict(TaskDependency.class, rowIds);
+        return removed;
+    }
+
+    @Override
+    @Transactional
+    public void insertDependencies(Collection<Edge> edges) {
+        jdbcTemplate.execute(closureEnabled ? LOCK_CLOSURE_SQL : LOCK_CLOSURE_SHARED_SQL);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, edges, INSERT_BATCH_SIZE, (ps, edge) -> {
+            ps.setLong(1, edge.taskId());
+            ps.setLong(2, edge.dependsOnTaskId());
+        });
+        if (!closureEnabled) {
+            jdbcTemplate.update(CLOSURE_MARK_STALE_SQL);
+            return;
+        }
+
+        // Recheck cycles against committed dependencies once no other writer can add any; the exception rolls back
+        updateClosure(CLOSURE_ADD_SQL, edges);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                CLOSES_CYCLE_SQL,
+                Boolean.class,
+                (Object) edges.stream().map(Edge::taskId).distinct().toArray(Long[]::new)
+        ))) {
+            throw new AppException(ErrorCode.CIRCULAR_DEPENDENCY);
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean rebuildClosureIfStale() {
+        if (!closureEnabled) {
+            return false;
+        }
+        jdbcTemplate.execute(LOCK_CLOSURE_SQL);
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(CLOSURE_IS_STALE_SQL, Boolean.class))) {
+            return false;
+        }
+        jdbcTemplate.update(CLOSURE_CLEAR_SQL);
+
+        // Level by level, so each pair is first reached by its shortest chain
+        int edgeCount = jdbcTemplate.update(CLOSURE_SEED_SQL);
+        int depth = 1;
+        int rows = edgeCount;
+        while (rows > 0) {
+            rows = jdbcTemplate.update(CLOSURE_EXTEND_SQL, depth++);
+        }
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(CLOSURE_HAS_CYCLE_SQL, Boolean.class))) {
+            throw new IllegalStateException("task_dependencies contains a cycle");
+        }
+        jdbcTemplate.update(CLOSURE_MARK_FRESH_SQL);
+        log.info("Rebuilt the dependency closure of {} dependencies with chains up to {} long", edgeCount, depth - 1);
+        return true;
+    }
+
+    @Override
+    public List<Edge> findReachableEdges(Collection<Long> taskIds) {
+        return jdbcTemplate.query(
+                REACHABLE_EDGES_SQL,
+                (rs, rowNum) -> new Edge(rs.getLong("task_id"), rs.getLong("depends_on_task_id")),
+                (Object) taskIds.toArray(Long[]::new)
+        );
+    }
+
+    @Override
+    public Set<Long> findDependentIds(Collection<Long> taskIds) {
+        return new HashSet<>(jdbcTemplate.queryForList(DEPENDENTS_SQL, Long.class, (Object) taskIds.toArray(Long[]::new)));
+    }
+
+
+    // utility methods
+
+    /**
+     * Adds or removes the pairs linked through each dependency, one statement per dependency in one batch.
+     * Each statement sees the closure left by the previous ones.
+     *
+     * @param sql CLOSURE_ADD_SQL or CLOSURE_REMOVE_SQL
+     * @param edges the dependencies added or removed
+     */
+    private void updateClosure(String sql, Collection<Edge> edges) {
+        jdbcTemplate.batchUpdate(sql, edges, INSERT_BATCH_SIZE, (ps, edge) -> {
+            ps.setLong(1, edge.taskId());
+            ps.setLong(2, edge.taskId());
+            ps.setLong(3, edge.dependsOnTaskId());
+            ps.setLong(4, edge.dependsOnTaskId());
+        });
+    }
+}
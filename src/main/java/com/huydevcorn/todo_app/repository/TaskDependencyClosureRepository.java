@@ -0,0 +1,38 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.dto.response.ReachableTaskResponse;
+
+import java.util.List;
+
+/**
+ * Repository fragment for reachability queries over task dependencies. With
+ * {@code app.dependency-closure.enabled} they are indexed lookups in the task_dependency_closure table,
+ * which TaskDependencyBulkRepository keeps in step with every dependency write; otherwise they walk
+ * task_dependencies with recursive queries.
+ */
+public interface TaskDependencyClosureRepository {
+    /**
+     * Checks whether a task depends on another one, directly or indirectly.
+     *
+     * @param taskId the ID of the dependent task
+     * @param dependsOnTaskId the ID of the task it may depend on
+     * @return true if a chain of dependencies leads from the first task to the second, false otherwise
+     */
+    boolean existsPath(Long taskId, Long dependsOnTaskId);
+
+    /**
+     * Finds the tasks that depend on a task, directly or indirectly.
+     *
+     * @param taskId the ID of the task
+     * @return its dependents with the length of their shortest chain to it, nearest first
+     */
+    List<ReachableTaskResponse> findAncestors(Long taskId);
+
+    /**
+     * Finds the tasks that a task depends on, directly or indirectly.
+     *
+     * @param taskId the ID of the task
+     * @return its dependencies with the length of its shortest chain to them, nearest first
+     */
+    List<ReachableTaskResponse> findDescendants(Long taskId);
+}
@@ -0,0 +1,106 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.dto.response.ReachableTaskResponse;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+
+/**
+ * Implementation of the TaskDependencyClosureRepository fragment on plain JDBC.
+ */
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+public class TaskDependencyClosureRepositoryImpl implements TaskDependencyClosureRepository {
+    private static final String EXISTS_PATH_SQL =
+            "SELECT EXISTS (SELECT 1 FROM task_dependency_closure WHERE ancestor_id = ? AND descendant_id = ?)";
+
+    private static final String CLOSURE_ANCESTORS_SQL = """
+            SELECT t.id, t.title, c.depth
+            FROM task_dependency_closure c JOIN tasks t ON t.id = c.ancestor_id
+            WHERE c.descendant_id = ?
+            ORDER BY c.depth, t.id
+            """;
+    private static final String CLOSURE_DESCENDANTS_SQL = """
+            SELECT t.id, t.title, c.depth
+            FROM task_dependency_closure c JOIN tasks t ON t.id = c.descendant_id
+            WHERE c.ancestor_id = ?
+            ORDER BY c.depth, t.id
+            """;
+
+    // Without the closure, walk the edges level by level; UNION stops at tasks already reached at that depth
+    private static final String WALK_ANCESTORS_SQL = """
+            WITH RECURSIVE walk(id, depth) AS (
+                SELECT task_id, 1 FROM task_dependencies WHERE depends_on_task_id = ?
+                UNION
+                SELECT td.task_id, w.depth + 1 FROM task_dependencies td JOIN walk w ON td.depends_on_task_id = w.id
+            )
+            SELECT t.id, t.title, c.depth
+            FROM (SELECT id, MIN(depth) AS depth FROM walk GROUP BY id) c
+            JOIN tasks t ON t.id = c.id
+            ORDER BY c.depth, t.id
+            """;
+    private static final String WALK_DESCENDANTS_SQL = """
+            WITH RECURSIVE walk(id, depth) AS (
+                SELECT depends_on_task_id, 1 FROM task_dependencies WHERE task_id = ?
+                UNION
+                SELECT td.depends_on_task_id, w.depth + 1 FROM task_dependencies td JOIN walk w ON td.task_id = w.id
+            )
+            SELECT t.id, t.title, c.depth
+            FROM (SELECT id, MIN(depth) AS depth FROM walk GROUP BY id) c
+            JOIN tasks t ON t.id = c.id
+            ORDER BY c.depth, t.id
+            """;
+    private static final String WALK_EXISTS_PATH_SQL = """
+            WITH RECURSIVE reachable(id) AS (
+                SELECT depends_on_task_id FROM task_dependencies WHERE task_id = ?
+                UNION
+                SELECT td.depends_on_task_id FROM task_dependencies td JOIN reachable r ON td.task_id = r.id
+            )
+            SELECT EXISTS (SELECT 1 FROM reachable WHERE id = ?)
+            """;
+
+    private static final RowMapper<ReachableTaskResponse> REACHABLE_TASK_MAPPER = (rs, rowNum) -> ReachableTaskResponse.builder()
+            .id(rs.getLong("id"))
+            .title(rs.getString("title"))
+            .depth(rs.getInt("depth"))
+            .build();
+
+    JdbcTemplate jdbcTemplate;
+    boolean closureEnabled;
+
+    /**
+     * Constructs a new TaskDependencyClosureRepositoryImpl.
+     *
+     * @param jdbcTemplate the JDBC template used for the queries
+     * @param closureEnabled whether the closure table is maintained and queried
+     */
+    public TaskDependencyClosureRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.dependency-closure.enabled:false}") boolean closureEnabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.closureEnabled = closureEnabled;
+    }
+
+    @Override
+    public boolean existsPath(Long taskId, Long dependsOnTaskId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                closureEnabled ? EXISTS_PATH_SQL : WALK_EXISTS_PATH_SQL,
+                Boolean.class,
+                taskId,
+                dependsOnTaskId
+        ));
+    }
+
+    @Override
+    public List<ReachableTaskResponse> findAncestors(Long taskId) {
+        return jdbcTemplate.query(closureEnabled ? CLOSURE_ANCESTORS_SQL : WALK_ANCESTORS_SQL, REACHABLE_TASK_MAPPER, taskId);
+    }
+
+    @Override
+    public List<ReachableTaskResponse> findDescendants(Long taskId) {
+        return jdbcTemplate.query(closureEnabled ? CLOSURE_DESCENDANTS_SQL : WALK_DESCENDANTS_SQL, REACHABLE_TASK_MAPPER, taskId);
+    }
+}
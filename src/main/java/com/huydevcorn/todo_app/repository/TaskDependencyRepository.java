@@ -1,18 +1,25 @@
 package com.huydevcorn.todo_app.repository;
 
+import com.huydevcorn.todo_app.dto.response.DependentTaskResponse;
+import com.huydevcorn.todo_app.dto.response.TaskNodeResponse;
 import com.huydevcorn.todo_app.entity.Task;
 import com.huydevcorn.todo_app.entity.TaskDependency;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Set;
 
 /**
  * Repository interface for managing task dependencies.
  */
 @Repository
-public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long> {
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, Long>, TaskDependencyBulkRepository,
+        TaskDependencyClosureRepository {
 
     /**
      * Finds all dependencies for a given task.
@@ -24,6 +31,7 @@ public interface TaskDependencyRepository extends JpaRepository<TaskDependency,
 
     /**
      * Finds the IDs of tasks that a given task depends on.
+     * Always read from the database, since cycle checks must not see dependencies removed or added elsewhere.
      *
      * @param taskId the ID of the task to find dependencies for
      * @return a set of task IDs that the task depends on
@@ -31,23 +39,6 @@ public interface TaskDependencyRepository extends JpaRepository<TaskDependency,
     @Query("SELECT td.dependsOnTask.id FROM TaskDependency td WHERE td.task.id = :taskId")
     Set<Long> findDependsOnIdsByTaskId(Long taskId);
 
-    /**
-     * Finds specific dependencies for a given task.
-     *
-     * @param task the task to find dependencies for
-     * @param dependsOnTaskIds the IDs of the tasks to find as dependencies
-     * @return a set of task dependencies
-     */
-    Set<TaskDependency> findByTaskAndDependsOnTaskIdIn(Task task, Set<Long> dependsOnTaskIds);
-
-    /**
-     * Finds all dependencies for a given task.
-     *
-     * @param task the task to find dependencies for
-     * @return a set of task dependencies
-     */
-    Set<TaskDependency> findAllByTask(Task task);
-
     /**
      * Checks if a task has any dependencies.
      *
@@ -63,4 +54,33 @@ public interface TaskDependencyRepository extends JpaRepository<TaskDependency,
      * @return true if the task is a dependency, false otherwise
      */
     boolean existsByDependsOnTaskId(Long dependsOnTaskId);
+
+    /**
+     * Finds the tasks that directly depend on a task, through the index on depends_on_task_id,
+     * with the number of their dependencies that are not done yet.
+     *
+     * @param dependsOnTaskId the ID of the task
+     * @param pageable the page to read
+     * @return a page of the dependent tasks, ordered by ID
+     */
+    @Query(value = "SELECT new com.huydevcorn.todo_app.dto.response.DependentTaskResponse(t.id, t.title, t.status, " +
+            "(SELECT COUNT(o) FROM TaskDependency o WHERE o.task = t " +
+            "AND o.dependsOnTask.status <> com.huydevcorn.todo_app.enums.TaskStatus.DONE)) " +
+            "FROM TaskDependency td JOIN td.task t WHERE td.dependsOnTask.id = :dependsOnTaskId ORDER BY t.id",
+            countQuery = "SELECT COUNT(td) FROM TaskDependency td WHERE td.dependsOnTask.id = :dependsOnTaskId")
+    Page<DependentTaskResponse> findDependents(@Param("dependsOnTaskId") Long dependsOnTaskId, Pageable pageable);
+
+    /**
+     * Finds the open tasks that directly depend on a task and have no dependency left that is not done.
+     * Reads only the dependents of the task and their own dependencies, through the indexes on both columns.
+     *
+     * @param dependsOnTaskId the ID of the task
+     * @return the unblocked dependents
+     */
+    @Query("SELECT new com.huydevcorn.todo_app.dto.response.TaskNodeResponse(t.id, t.title) " +
+            "FROM TaskDependency td JOIN td.task t WHERE td.dependsOnTask.id = :dependsOnTaskId " +
+            "AND t.status IN (com.huydevcorn.todo_app.enums.TaskStatus.PENDING, com.huydevcorn.todo_app.enums.TaskStatus.IN_PROGRESS) " +
+            "AND NOT EXISTS (SELECT 1 FROM TaskDependency o WHERE o.task = t " +
+            "AND o.dependsOnTask.status <> com.huydevcorn.todo_app.enums.TaskStatus.DONE)")
+    List<TaskNodeResponse> findUnblockedDependents(@Param("dependsOnTaskId") Long dependsOnTaskId);
 }
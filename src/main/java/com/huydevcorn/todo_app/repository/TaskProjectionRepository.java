@@ -0,0 +1,37 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.entity.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository fragment for read-only task list queries that select task responses directly,
+ * without loading task entities into the persistence context.
+ */
+public interface TaskProjectionRepository {
+    /**
+     * Finds a page of task responses matching a specification.
+     *
+     * @param spec the specification to match
+     * @param pageable the page and sort
+     * @param descriptionLength the maximum number of description characters to read, or null for the whole description
+     * @param fields the properties to read, or null for all properties; the others are left null
+     * @return the page of task responses
+     */
+    Page<TaskResponse> findResponses(Specification<Task> spec, Pageable pageable, Integer descriptionLength, Set<String> fields);
+
+    /**
+     * Finds task responses by ID, keeping the order of the IDs and skipping IDs without a task.
+     *
+     * @param ids the IDs of the tasks
+     * @param descriptionLength the maximum number of description characters to read, or null for the whole description
+     * @param fields the properties to read, or null for all properties; the others are left null
+     * @return the task responses in the order of the IDs
+     */
+    List<TaskResponse> findResponsesByIds(List<Long> ids, Integer descriptionLength, Set<String> fields);
+}
@@ -0,0 +1,139 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the TaskProjectionRepository fragment with criteria constructor projections.
+ * Queries run in read-only transactions and never flush, since they cannot dirty the persistence context.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+public class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+    EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> findResponses(Specification<Task> spec, Pageable pageable, Integer descriptionLength, Set<String> fields) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> query = criteriaBuilder.createQuery(TaskResponse.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(responseOf(criteriaBuilder, root, descriptionLength, fields));
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        List<TaskResponse> content = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // The count only runs when the page does not reveal the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> findResponsesByIds(List<Long> ids, Integer descriptionLength, Set<String> fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> query = criteriaBuilder.createQuery(TaskResponse.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(responseOf(criteriaBuilder, root, descriptionLength, fields))
+                .where(root.get("id").in(ids));
+
+        Map<Long, TaskResponse> byId = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getResultStream()
+                .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+
+    // utility methods
+
+    /**
+     * Builds the constructor projection of a task response, truncating the description if requested.
+     * Properties outside the sparse fieldset are selected as null literals, so their columns are never read.
+     */
+    private CompoundSelection<TaskResponse> responseOf(CriteriaBuilder criteriaBuilder, Root<Task> root, Integer descriptionLength, Set<String> fields) {
+        Expression<String> description = column(criteriaBuilder, root, "description", String.class, fields);
+        if (descriptionLength != null && (fields == null || fields.contains("description"))) {
+            description = criteriaBuilder.substring(description, 1, descriptionLength);
+        }
+        return criteriaBuilder.construct(
+                TaskResponse.class,
+                root.get("id"),
+                column(criteriaBuilder, root, "title", String.class, fields),
+                description,
+                column(criteriaBuilder, root, "priority", TaskPriority.class, fields),
+                column(criteriaBuilder, root, "status", TaskStatus.class, fields),
+                column(criteriaBuilder, root, "version", Long.class, fields),
+                column(criteriaBuilder, root, "dueDate", LocalDateTime.class, fields),
+                column(criteriaBuilder, root, "createdAt", LocalDateTime.class, fields),
+                column(criteriaBuilder, root, "updatedAt", LocalDateTime.class, fields)
+        );
+    }
+
+    /**
+     * Selects a task property if it is part of the sparse fieldset, or a typed null otherwise.
+     */
+    private <T> Expression<T> column(CriteriaBuilder criteriaBuilder, Root<Task> root, String property, Class<T> type, Set<String> fields) {
+        return fields == null || fields.contains(property)
+                ? root.get(property)
+                : criteriaBuilder.nullLiteral(type);
+    }
+
+    /**
+     * Counts the tasks matching a specification.
+     */
+    private long count(Specification<Task> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(criteriaBuilder.count(root));
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL)
+                .getSingleResult();
+    }
+}
@@ -1,14 +1,78 @@
 package com.huydevcorn.todo_app.repository;
 
+import com.huydevcorn.todo_app.dto.response.TaskNodeResponse;
 import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository interface for managing tasks.
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
-    // Additional query methods can be defined here if needed
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskStatusTransitionRepository,
+        TaskProjectionRepository, TaskWindowRepository {
+    /**
+     * Counts tasks grouped by status, priority and due day.
+     *
+     * @return rows of [status, priority, due day or null, count]
+     */
+    @Query(value = "SELECT status, priority, CAST(due_date AS DATE), COUNT(*) FROM tasks GROUP BY 1, 2, 3", nativeQuery = true)
+    List<Object[]> countByStatusPriorityAndDueDay();
+
+    /**
+     * Finds the statuses of a set of tasks without loading them.
+     *
+     * @param ids the IDs of the tasks
+     * @return rows of [id, status] for the tasks that exist
+     */
+    @Query("SELECT t.id, t.status FROM Task t WHERE t.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the IDs and titles of a set of tasks without loading them.
+     *
+     * @param ids the IDs of the tasks
+     * @return the nodes of the tasks that exist
+     */
+    @Query("SELECT new com.huydevcorn.todo_app.dto.response.TaskNodeResponse(t.id, t.title) FROM Task t WHERE t.id IN :ids")
+    List<TaskNodeResponse> findNodesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the tasks that still need reminders in a set of reminder partitions.
+     *
+     * @param partitions the number of partitions
+     * @param partitionIds the partitions to load
+     * @return the pending and in-progress tasks with a due date whose ID falls into one of the partitions
+     */
+    @Query(value = "SELECT * FROM tasks WHERE due_date IS NOT NULL AND status IN ('PENDING', 'IN_PROGRESS') " +
+            "AND MOD(id, :partitions) IN (:partitionIds)", nativeQuery = true)
+    List<Task> findSchedulableByPartitions(@Param("partitions") int partitions, @Param("partitionIds") Collection<Integer> partitionIds);
+
+    /**
+     * Marks a task as overdue in one statement, only if it is still at the version that was read,
+     * still open and its due date has passed.
+     * The persistence context is cleared, so previously loaded tasks are detached afterwards.
+     *
+     * @param id the ID of the task
+     * @param version the version the caller read
+     * @param from the open statuses
+     * @param now the current time, also used as the update timestamp
+     * @return 1 if the task was marked, 0 otherwise
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = com.huydevcorn.todo_app.enums.TaskStatus.OVERDUE, t.version = t.version + 1, t.updatedAt = :now " +
+            "WHERE t.id = :id AND t.version = :version AND t.status IN :from AND t.dueDate <= :now")
+    int markOverdue(@Param("id") Long id, @Param("version") Long version, @Param("from") Collection<TaskStatus> from,
+                    @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,31 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository fragment for task status transitions executed as a single SQL statement.
+ */
+public interface TaskStatusTransitionRepository {
+    /**
+     * Result of a status transition.
+     *
+     * @param task the task after the transition
+     * @param previousStatus the status of the task before the transition
+     */
+    record StatusTransition(Task task, TaskStatus previousStatus) {}
+
+    /**
+     * Changes the status of a task, only if the task is still open and all of its dependencies are done.
+     * The checks and the update run in one statement, which returns the updated row.
+     *
+     * @param id the ID of the task
+     * @param status the new status
+     * @param now the update timestamp
+     * @return the transition, or empty if the task does not exist, is not open or has an unfinished dependency
+     */
+    Optional<StatusTransition> transitionStatus(Long id, TaskStatus status, LocalDateTime now);
+}
@@ -0,0 +1,94 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the TaskStatusTransitionRepository fragment on plain JDBC, since the statement
+ * both modifies and returns rows, which JPA queries cannot express.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+public class TaskStatusTransitionRepositoryImpl implements TaskStatusTransitionRepository {
+    private static final String OPEN_STATUSES = TaskStatus.OPEN.stream()
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", "));
+
+    // Locks the row to read the status being replaced, then updates it unless a dependency is unfinished
+    private static final String TRANSITION_SQL = """
+            WITH current AS (
+                SELECT id, status FROM tasks WHERE id = ? FOR UPDATE
+            )
+            UPDATE tasks t
+            SET status = ?, version = t.version + 1, update_at = ?
+            FROM current c
+            WHERE t.id = c.id
+              AND c.status IN (%s)
+              AND NOT EXISTS (
+                  SELECT 1 FROM task_dependencies td
+                  JOIN tasks d ON d.id = td.depends_on_task_id
+                  WHERE td.task_id = t.id AND d.status <> 'DONE'
+              )
+            RETURNING t.id, t.title, t.description, t.priority, t.status, t.version, t.due_date, t.create_at, t.update_at,
+                      c.status AS previous_status
+            """.formatted(OPEN_STATUSES);
+
+    JdbcTemplate jdbcTemplate;
+    EntityCacheInvalidator entityCacheInvalidator;
+
+    @Override
+    public Optional<StatusTransition> transitionStatus(Long id, TaskStatus status, LocalDateTime now) {
+        List<StatusTransition> transitions = jdbcTemplate.query(
+                TRANSITION_SQL,
+                (rs, rowNum) -> new StatusTransition(toTask(rs), TaskStatus.valueOf(rs.getString("previous_status"))),
+                id, status.name(), Timestamp.valueOf(now)
+        );
+        if (transitions.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // The update bypassed Hibernate, so drop the stale second-level cache entry on every node
+        entityCacheInvalidator.evict(Task.class, List.of(id));
+        return Optional.of(transitions.getFirst());
+    }
+
+
+    // utility methods
+
+    /**
+     * Maps the current row to a task.
+     */
+    private Task toTask(ResultSet rs) throws SQLException {
+        return Task.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .priority(TaskPriority.valueOf(rs.getString("priority")))
+                .status(TaskStatus.valueOf(rs.getString("status")))
+                .version(rs.getLong("version"))
+                .dueDate(toLocalDateTime(rs.getTimestamp("due_date")))
+                .createdAt(toLocalDateTime(rs.getTimestamp("create_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("update_at")))
+                .build();
+    }
+
+    /**
+     * Converts a nullable timestamp to a LocalDateTime.
+     */
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,21 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.dto.response.TaskQueryWindow;
+import com.huydevcorn.todo_app.entity.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Repository fragment for reading the leading window of a task list query.
+ */
+public interface TaskWindowRepository {
+    /**
+     * Finds the newest tasks matching a specification, reading only the columns of a window entry.
+     *
+     * @param spec the specification to match
+     * @param limit the maximum number of entries
+     * @return the matching entries, newest first
+     */
+    List<TaskQueryWindow.Entry> findWindow(Specification<Task> spec, int limit);
+}
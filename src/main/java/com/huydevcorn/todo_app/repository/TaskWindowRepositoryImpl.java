@@ -0,0 +1,53 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.dto.response.TaskQueryWindow;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementation of the TaskWindowRepository fragment with a criteria projection, so no task entity is loaded.
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+public class TaskWindowRepositoryImpl implements TaskWindowRepository {
+    EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskQueryWindow.Entry> findWindow(Specification<Task> spec, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        query.multiselect(root.get("id"), root.get("status"), root.get("priority"), root.get("dueDate"));
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.desc(root.get("createdAt")), criteriaBuilder.desc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> TaskQueryWindow.Entry.builder()
+                        .id(row.get(0, Long.class))
+                        .status(row.get(1, TaskStatus.class))
+                        .priority(row.get(2, TaskPriority.class))
+                        .dueDate(row.get(3, LocalDateTime.class))
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.huydevcorn.todo_app.service;
+
+import com.huydevcorn.todo_app.notification.NotificationEnvelope;
+
+/**
+ * Service interface for delivering notifications to WebSocket subscribers.
+ */
+public interface NotificationService {
+    /**
+     * Broadcasts a notification to every subscriber of a destination on every node.
+     *
+     * @param destination the destination of the notification
+     * @param payload the notification payload
+     */
+    void send(String destination, Object payload);
+
+    /**
+     * Sends a notification to the sessions of one user on every node.
+     *
+     * @param user the name of the user
+     * @param destination the destination of the notification, resolved per user
+     * @param payload the notification payload
+     */
+    void sendToUser(String user, String destination, Object payload);
+
+    /**
+     * Sends a notification about a task to the users watching it, or broadcasts it when nobody does.
+     *
+     * @param taskId the ID of the task
+     * @param destination the destination of the notification, resolved per user
+     * @param payload the notification payload
+     */
+    void sendToTaskWatchers(Long taskId, String destination, Object payload);
+
+    /**
+     * Registers a user as a watcher of a task.
+     *
+     * @param taskId the ID of the task
+     * @param user the name of the user
+     */
+    void watch(Long taskId, String user);
+
+    /**
+     * Removes a user from the watchers of a task.
+     *
+     * @param taskId the ID of the task
+     * @param user the name of the user
+     */
+    void unwatch(Long taskId, String user);
+
+    /**
+     * Removes all watchers of a task.
+     *
+     * @param taskId the ID of the task
+     */
+    void clearWatchers(Long taskId);
+
+    /**
+     * Delivers a notification to the matching sessions connected to this node.
+     *
+     * @param envelope the notification to deliver
+     */
+    void deliver(NotificationEnvelope envelope);
+}
@@ -0,0 +1,44 @@
+package com.huydevcorn.todo_app.service;
+
+import com.huydevcorn.todo_app.dto.response.PaginationResponse;
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for the non-blocking task read path.
+ * Reads share their cache entries with {@link TaskService}, so writes made through the blocking
+ * API invalidate both paths.
+ */
+public interface ReactiveTaskService {
+    /**
+     * Retrieves a task by its ID.
+     *
+     * @param id the ID of the task to retrieve
+     * @return a Mono emitting the task response, or an error if the task does not exist
+     */
+    Mono<TaskResponse> getTask(Long id);
+
+    /**
+     * Retrieves a paginated list of tasks based on various filters.
+     *
+     * @param page the page number to retrieve
+     * @param size the number of tasks per page
+     * @param title the title filter
+     * @param priority the priority filter
+     * @param startDate the start date filter
+     * @param endDate the end date filter
+     * @param status the status filter
+     * @return a Mono emitting the pagination response
+     */
+    Mono<PaginationResponse<TaskResponse>> getTasks(
+            int page,
+            int size,
+            String title,
+            String priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            String status
+    );
+}
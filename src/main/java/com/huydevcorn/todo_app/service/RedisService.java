@@ -4,9 +4,20 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -17,6 +28,38 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 @FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
 public class RedisService {
+    private static final RedisScript<Long> EXPIRE_IF_EQUALS = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class
+    );
+    private static final RedisScript<Long> DELETE_IF_EQUALS = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+    private static final RedisScript<Long> PUT_HASH_IF_EQUALS = RedisScript.of(
+            "if (redis.call('get', KEYS[2]) or '0') ~= ARGV[1] then return 0 end "
+                    + "if ARGV[2] == '0' and redis.call('exists', KEYS[1]) == 0 then return 0 end "
+                    + "for i = 3, #ARGV, 2 do redis.call('hset', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+                    + "if ARGV[2] ~= '0' then redis.call('pexpire', KEYS[1], ARGV[2]) end "
+                    + "return 1",
+            Long.class
+    );
+
+    private static final RedisScript<Long> INCREMENT_HASH_IF_AFTER = RedisScript.of(
+            "local mark = redis.call('get', KEYS[2]) "
+                    + "if mark and tonumber(ARGV[1]) <= tonumber(mark) then return 0 end "
+                    + "for i = 2, #ARGV, 2 do redis.call('hincrby', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+                    + "return 1",
+            Long.class
+    );
+    private static final RedisScript<Long> REPLACE_HASH_AND_MARK = RedisScript.of(
+            "redis.call('set', KEYS[3], ARGV[1]) "
+                    + "if redis.call('exists', KEYS[2]) == 1 then redis.call('rename', KEYS[2], KEYS[1]) "
+                    + "else redis.call('del', KEYS[1]) end "
+                    + "return 1",
+            Long.class
+    );
+
     RedisTemplate<String, Object> redisTemplate;
     ObjectMapper objectMapper;
 
@@ -48,6 +91,35 @@ public class RedisService {
         return objectMapper.convertValue(data, typeReference);
     }
 
+    /**
+     * Retrieves several objects from Redis in one round trip.
+     *
+     * @param keys the keys of the objects to retrieve
+     * @param typeReference the type reference of the objects
+     * @param <T> the type of the objects
+     * @return the retrieved objects in the order of the keys, with null for missing keys
+     */
+    public <T> List<T> getObjects(List<String> keys, TypeReference<T> typeReference) {
+        List<Object> data = redisTemplate.opsForValue().multiGet(keys);
+        List<T> objects = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Object value = data == null ? null : data.get(i);
+            objects.add(value == null ? null : objectMapper.convertValue(value, typeReference));
+        }
+        return objects;
+    }
+
+    /**
+     * Increments a numeric value, creating it at 1 if the key does not exist.
+     *
+     * @param key the key of the value
+     * @return the value after the increment
+     */
+    public long increment(String key) {
+        Long value = redisTemplate.opsForValue().increment(key);
+        return value == null ? 0 : value;
+    }
+
     /**
      * Deletes keys matching a pattern from Redis.
      *
@@ -69,6 +141,17 @@ public class RedisService {
         redisTemplate.delete(key);
     }
 
+    /**
+     * Deletes several keys from Redis in one round trip.
+     *
+     * @param keys the keys to delete
+     */
+    public void delete(Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
     /**
      * Checks if a key exists in Redis.
      *
@@ -79,4 +162,288 @@ public class RedisService {
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
     }
 
+    /**
+     * Increments several numeric fields of a hash in one script, unless a stamp is not above the mark
+     * held by another key.
+     *
+     * @param key the key of the hash
+     * @param deltas the amount to add to each field
+     * @param markKey the key of the mark, the fields are incremented if it does not exist
+     * @param stamp the stamp of the increments
+     * @return true if the fields were incremented
+     */
+    public boolean incrementHashIfAfter(String key, Map<String, Long> deltas, String markKey, long stamp) {
+        if (deltas.isEmpty()) {
+            return false;
+        }
+        List<byte[]> args = new ArrayList<>();
+        args.add(raw(stamp));
+        deltas.forEach((field, delta) -> {
+            args.add(raw(field));
+            args.add(raw(delta));
+        });
+        return executeRaw(INCREMENT_HASH_IF_AFTER, List.of(key, markKey), args);
+    }
+
+    /**
+     * Reads several bits of a bitmap in a single pipelined round trip.
+     *
+     * @param key the key of the bitmap
+     * @param offsets the offsets of the bits
+     * @return the bits in the order of the offsets, false for bits past the end of the bitmap
+     */
+    public List<Boolean> getBits(String key, long... offsets) {
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        List<Object> bits = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (long offset : offsets) {
+                connection.stringCommands().getBit(rawKey, offset);
+            }
+            return null;
+        });
+        return bits.stream().map(Boolean.TRUE::equals).toList();
+    }
+
+    /**
+     * Sets or clears several bits of a bitmap in a single pipelined round trip.
+     *
+     * @param key the key of the bitmap
+     * @param offsets the offsets of the bits
+     * @param value true to set the bits, false to clear them
+     */
+    public void setBits(String key, Collection<Long> offsets, boolean value) {
+        if (offsets.isEmpty()) {
+            return;
+        }
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            offsets.forEach(offset -> connection.stringCommands().setBit(rawKey, offset, value));
+            return null;
+        });
+    }
+
+    /**
+     * Retrieves all numeric fields of a hash.
+     *
+     * @param key the key of the hash
+     * @return the fields and their values, empty if the hash does not exist
+     */
+    public Map<String, Long> getHash(String key) {
+        Map<String, Long> result = new HashMap<>();
+        redisTemplate.opsForHash().entries(key).forEach((field, value) ->
+                result.put(field.toString(), ((Number) value).longValue()));
+        return result;
+    }
+
+    /**
+     * Atomically replaces the content of a hash by building it under a temporary key and renaming it,
+     * setting a mark in the same step.
+     *
+     * @param key the key of the hash
+     * @param values the new fields and values
+     * @param markKey the key of the mark
+     * @param mark the new mark
+     */
+    public void replaceHash(String key, Map<String, Long> values, String markKey, long mark) {
+        String tempKey = key + ":rebuild";
+        redisTemplate.delete(tempKey);
+        if (!values.isEmpty()) {
+            redisTemplate.opsForHash().putAll(tempKey, values);
+        }
+        executeRaw(REPLACE_HASH_AND_MARK, List.of(key, tempKey, markKey), List.of(raw(mark)));
+    }
+
+    /**
+     * Retrieves all fields of a hash holding objects.
+     *
+     * @param key the key of the hash
+     * @param typeReference the type reference of the field values
+     * @param <T> the type of the field values
+     * @return the fields and their values, empty if the hash does not exist
+     */
+    public <T> Map<String, T> getHashObjects(String key, TypeReference<T> typeReference) {
+        Map<String, T> result = new HashMap<>();
+        redisTemplate.opsForHash().entries(key).forEach((field, value) ->
+                result.put(field.toString(), objectMapper.convertValue(value, typeReference)));
+        return result;
+    }
+
+    /**
+     * Stores several fields of a hash holding objects only if a counter still holds the expected value.
+     * A timeout of zero keeps the current timeout of the hash and skips the write if the hash has expired.
+     *
+     * @param key the key of the hash
+     * @param values the fields and values to store
+     * @param counterKey the key of the counter
+     * @param expected the value the counter must hold, 0 if it must not exist
+     * @param timeout the timeout duration, or 0 to keep the current timeout
+     * @param unit the time unit of the timeout
+     * @return true if the counter held the value and the fields were stored
+     */
+    @SuppressWarnings("unchecked")
+    public boolean putHashObjectsIfEquals(String key, Map<String, ?> values, String counterKey, long expected,
+                                          long timeout, TimeUnit unit) {
+        if (values.isEmpty()) {
+            return false;
+        }
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+        List<byte[]> args = new ArrayList<>();
+        args.add(raw(expected));
+        args.add(raw(unit.toMillis(timeout)));
+        values.forEach((field, value) -> {
+            args.add(raw(field));
+            args.add(valueSerializer.serialize(value));
+        });
+        return executeRaw(PUT_HASH_IF_EQUALS, List.of(key, counterKey), args);
+    }
+
+    /**
+     * Deletes fields from a hash.
+     *
+     * @param key the key of the hash
+     * @param fields the fields to delete
+     */
+    public void deleteHashFields(String key, Object... fields) {
+        if (fields.length > 0) {
+            redisTemplate.opsForHash().delete(key, fields);
+        }
+    }
+
+    /**
+     * Adds a member to a set of strings.
+     *
+     * @param key the key of the set
+     * @param member the member to add
+     */
+    public void addToSet(String key, String member) {
+        redisTemplate.opsForSet().add(key, member);
+    }
+
+    /**
+     * Removes a member from a set of strings.
+     *
+     * @param key the key of the set
+     * @param member the member to remove
+     */
+    public void removeFromSet(String key, String member) {
+        redisTemplate.opsForSet().remove(key, member);
+    }
+
+    /**
+     * Retrieves all members of a set of strings.
+     *
+     * @param key the key of the set
+     * @return the members, empty if the set does not exist
+     */
+    public Set<String> getSetMembers(String key) {
+        Set<Object> members = redisTemplate.opsForSet().members(key);
+        Set<String> result = new HashSet<>();
+        if (members != null) {
+            members.forEach(member -> result.add(member.toString()));
+        }
+        return result;
+    }
+
+    /**
+     * Sets an object only if the key does not exist yet.
+     *
+     * @param key the key under which the object is stored
+     * @param data the object to store
+     * @param timeout the timeout duration
+     * @param unit the time unit of the timeout
+     * @return true if the object was stored, false if the key already existed
+     */
+    public boolean setIfAbsent(String key, Object data, long timeout, TimeUnit unit) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, data, timeout, unit));
+    }
+
+    /**
+     * Refreshes the timeout of a key only if it still holds the expected object.
+     *
+     * @param key the key to refresh
+     * @param expected the object the key must hold
+     * @param timeout the timeout duration
+     * @param unit the time unit of the timeout
+     * @return true if the key held the object and was refreshed
+     */
+    public boolean expireIfEquals(String key, Object expected, long timeout, TimeUnit unit) {
+        Long result = redisTemplate.execute(EXPIRE_IF_EQUALS, List.of(key), expected, unit.toMillis(timeout));
+        return result != null && result == 1L;
+    }
+
+    /**
+     * Deletes a key only if it still holds the expected object.
+     *
+     * @param key the key to delete
+     * @param expected the object the key must hold
+     * @return true if the key held the object and was deleted
+     */
+    public boolean deleteIfEquals(String key, Object expected) {
+        Long result = redisTemplate.execute(DELETE_IF_EQUALS, List.of(key), expected);
+        return result != null && result == 1L;
+    }
+
+    /**
+     * Adds a member to a sorted set or updates its score.
+     *
+     * @param key the key of the sorted set
+     * @param member the member to add
+     * @param score the score of the member
+     */
+    public void addToSortedSet(String key, String member, double score) {
+        redisTemplate.opsForZSet().add(key, member, score);
+    }
+
+    /**
+     * Removes a member from a sorted set.
+     *
+     * @param key the key of the sorted set
+     * @param member the member to remove
+     */
+    public void removeFromSortedSet(String key, String member) {
+        redisTemplate.opsForZSet().remove(key, member);
+    }
+
+    /**
+     * Removes the members of a sorted set whose score is below a bound and counts the remaining ones.
+     *
+     * @param key the key of the sorted set
+     * @param minScore the lowest score to keep
+     * @return the number of remaining members
+     */
+    public long trimSortedSetAndCount(String key, double minScore) {
+        redisTemplate.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, Math.nextDown(minScore));
+        Long count = redisTemplate.opsForZSet().zCard(key);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Publishes a message on a pub/sub channel.
+     *
+     * @param channel the channel to publish on
+     * @param message the message to publish
+     */
+    public void publish(String channel, Object message) {
+        redisTemplate.convertAndSend(channel, message);
+    }
+
+
+    // utility methods
+
+    /**
+     * Runs a script with arguments that are passed as they are instead of through the value serializer.
+     *
+     * @return true if the script returned 1
+     */
+    private boolean executeRaw(RedisScript<Long> script, List<String> keys, List<byte[]> args) {
+        Long result = redisTemplate.execute(script, RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class), keys, args.toArray());
+        return result != null && result == 1L;
+    }
+
+    /**
+     * Encodes a value as the plain string Redis commands expect.
+     */
+    private byte[] raw(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
 }
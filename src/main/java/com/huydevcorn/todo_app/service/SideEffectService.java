@@ -0,0 +1,36 @@
+package com.huydevcorn.todo_app.service;
+
+/**
+ * Service interface for running the side effects of writes in the background once they have committed.
+ */
+public interface SideEffectService {
+    /**
+     * Runs an action on a background worker after the current transaction commits, or right away
+     * when no transaction is active. Failed actions are retried with backoff.
+     * Actions submitted with the same key run one at a time in submission order.
+     *
+     * @param key the ordering key, usually the ID of the task the action is about
+     * @param name the name of the action, used in logs and metrics
+     * @param action the action to run
+     */
+    void afterCommit(Object key, String name, Runnable action);
+
+    /**
+     * Runs an action like {@link #afterCommit}, but never retries it, for actions that are not idempotent
+     * and whose lost updates are repaired elsewhere.
+     *
+     * @param key the ordering key, usually the ID of the task the action is about
+     * @param name the name of the action, used in logs and metrics
+     * @param action the action to run
+     */
+    void afterCommitOnce(Object key, String name, Runnable action);
+
+    /**
+     * Runs a cheap action on the calling thread right after the current transaction commits, or right away
+     * when no transaction is active, so it has taken effect before the response is sent. Failures are logged.
+     *
+     * @param name the name of the action, used in logs
+     * @param action the action to run
+     */
+    void afterCommitInline(String name, Runnable action);
+}
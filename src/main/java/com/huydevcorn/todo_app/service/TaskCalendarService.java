@@ -0,0 +1,33 @@
+package com.huydevcorn.todo_app.service;
+
+import com.huydevcorn.todo_app.dto.response.TaskCalendarResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for the due date calendar view.
+ */
+public interface TaskCalendarService {
+    /**
+     * Retrieves per-day or per-hour task counts and the top tasks of each bucket for a month.
+     * Only non-empty buckets are returned.
+     *
+     * @param month the month in the format yyyy-MM
+     * @param granularity the bucket size, 'DAY' or 'HOUR'
+     * @param top the maximum number of tasks returned per bucket
+     * @return the task calendar response
+     */
+    TaskCalendarResponse getCalendar(String month, String granularity, int top);
+
+    /**
+     * Evicts the cached calendar days containing the given due dates.
+     *
+     * @param dueDates the due dates touched by a write, null values are ignored
+     */
+    void evictDueDates(LocalDateTime... dueDates);
+
+    /**
+     * Evicts the whole cached calendar.
+     */
+    void evictAll();
+}
@@ -1,7 +1,14 @@
 package com.huydevcorn.todo_app.service;
 
+import com.huydevcorn.todo_app.dto.request.DependencyEdgeRequest;
+import com.huydevcorn.todo_app.dto.response.DependencyBatchResponse;
+import com.huydevcorn.todo_app.dto.response.DependentTaskResponse;
+import com.huydevcorn.todo_app.dto.response.PaginationResponse;
+import com.huydevcorn.todo_app.dto.response.ReachableTaskResponse;
+import com.huydevcorn.todo_app.dto.response.TaskDependencyGraphResponse;
 import com.huydevcorn.todo_app.dto.response.TaskDependencyResponse;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -16,6 +23,15 @@ public interface TaskDependencyService {
      */
     void addDependencies(Long taskId, Set<Long> dependentTaskIds);
 
+    /**
+     * Adds a batch of dependencies between any tasks, checking the whole batch for cycles at once.
+     * Dependencies that already exist are skipped; any other invalid edge rejects the whole batch.
+     *
+     * @param edges the dependencies to add
+     * @return the numbers of created and already existing dependencies
+     */
+    DependencyBatchResponse addDependencyBatch(List<DependencyEdgeRequest> edges);
+
     /**
      * Retrieves the dependencies of a task.
      *
@@ -24,6 +40,42 @@ public interface TaskDependencyService {
      */
     TaskDependencyResponse getDependencies(Long taskId);
 
+    /**
+     * Retrieves the dependencies of a task as a flat node table and edge list,
+     * so that shared sub-graphs appear only once.
+     *
+     * @param taskId the ID of the task to retrieve dependencies for
+     * @return the task dependency graph response
+     */
+    TaskDependencyGraphResponse getDependencyGraph(Long taskId);
+
+    /**
+     * Retrieves a page of the tasks that directly depend on a task, with the number of their
+     * dependencies that are not done yet.
+     *
+     * @param taskId the ID of the task
+     * @param page the page number, starting at 1
+     * @param size the page size
+     * @return the paginated dependent tasks, ordered by ID
+     */
+    PaginationResponse<DependentTaskResponse> getDependents(Long taskId, int page, int size);
+
+    /**
+     * Retrieves every task that depends on a task, directly or indirectly.
+     *
+     * @param taskId the ID of the task
+     * @return the dependent tasks with the length of their shortest chain to the task, nearest first
+     */
+    List<ReachableTaskResponse> getAncestors(Long taskId);
+
+    /**
+     * Retrieves every task that a task depends on, directly or indirectly.
+     *
+     * @param taskId the ID of the task
+     * @return the tasks depended on with the length of the shortest chain to them, nearest first
+     */
+    List<ReachableTaskResponse> getDescendants(Long taskId);
+
     /**
      * Removes specific dependencies from a task.
      *
@@ -0,0 +1,63 @@
+package com.huydevcorn.todo_app.service;
+
+/**
+ * Service interface for the entity tags of task responses.
+ * Tags are derived from small stamps kept in Redis, so a conditional request can be answered
+ * without loading or deserializing the task itself.
+ */
+public interface TaskETagService {
+    /**
+     * Returns the entity tag of a task version.
+     *
+     * @param id the ID of the task
+     * @param version the version of the task
+     * @return the weak entity tag, or null if the version is unknown
+     */
+    String getTaskETag(Long id, Long version);
+
+    /**
+     * Returns the entity tag of the latest version of a task, if its version stamp is known.
+     * The stamp may be ahead of the cached task, so the tag only answers conditional requests;
+     * a response body is tagged with its own version.
+     *
+     * @param id the ID of the task
+     * @return the weak entity tag, or null if no stamp is stored
+     */
+    String getStampedTaskETag(Long id);
+
+    /**
+     * Stores the version stamp of a task read from the cache or the database, unless a newer write
+     * already stored one.
+     *
+     * @param id the ID of the task
+     * @param version the version that was read
+     */
+    void recordRead(Long id, Long version);
+
+    /**
+     * Stores the version stamp of a task after a write.
+     *
+     * @param id the ID of the task
+     * @param version the version that was written
+     */
+    void recordWrite(Long id, Long version);
+
+    /**
+     * Removes the version stamp of a deleted task.
+     *
+     * @param id the ID of the task
+     */
+    void evictTask(Long id);
+
+    /**
+     * Returns the entity tag shared by all task lists, derived from the list generation.
+     *
+     * @return the weak entity tag of the current generation
+     */
+    String getTasksETag();
+
+    /**
+     * Starts a new list generation, invalidating the entity tags of every task list.
+     */
+    void bumpTasksGeneration();
+}
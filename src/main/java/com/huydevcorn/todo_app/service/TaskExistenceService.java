@@ -0,0 +1,44 @@
+package com.huydevcorn.todo_app.service;
+
+import java.util.Collection;
+
+/**
+ * Service interface for rejecting requests for nonexistent tasks without a database query.
+ * Existing task IDs are tracked in a filter shared by all instances, and recent misses are
+ * remembered for a short time.
+ */
+public interface TaskExistenceService {
+    /**
+     * Rejects a task ID that the filter or a recent miss rules out.
+     *
+     * @param id the ID of the task
+     * @throws com.huydevcorn.todo_app.exception.AppException with TASK_NOT_FOUND if the task does not exist
+     */
+    void checkExists(Long id);
+
+    /**
+     * Remembers that a task was not found in the database, for a short time.
+     *
+     * @param id the ID of the task
+     */
+    void recordMissing(Long id);
+
+    /**
+     * Adds created tasks to the filter and forgets earlier misses of their IDs.
+     *
+     * @param ids the IDs of the created tasks
+     */
+    void recordCreated(Collection<Long> ids);
+
+    /**
+     * Removes a deleted task from the filter.
+     *
+     * @param id the ID of the deleted task
+     */
+    void recordDeleted(Long id);
+
+    /**
+     * Adds every task in the database to the filter and marks the filter as complete.
+     */
+    void rebuild();
+}
@@ -0,0 +1,19 @@
+package com.huydevcorn.todo_app.service;
+
+import com.huydevcorn.todo_app.dto.response.ImportReportResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Service interface for bulk importing tasks and their dependencies.
+ */
+public interface TaskImportService {
+    /**
+     * Imports tasks and dependencies from an NDJSON or CSV file.
+     *
+     * @param file the uploaded file
+     * @param format the file format, or null to infer it from the file name
+     * @param user the user to send progress notifications to, or null to send none
+     * @return the import report with counts and per-row errors
+     */
+    ImportReportResponse importTasks(MultipartFile file, String format, String user);
+}
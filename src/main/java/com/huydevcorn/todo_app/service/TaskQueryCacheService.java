@@ -0,0 +1,25 @@
+package com.huydevcorn.todo_app.service;
+
+import com.huydevcorn.todo_app.dto.request.TaskFilter;
+import com.huydevcorn.todo_app.dto.response.TaskQueryWindow;
+
+/**
+ * Service interface for the cached leading windows of task list queries.
+ */
+public interface TaskQueryCacheService {
+    /**
+     * Returns the maximum number of entries of a window. Pages ending past it are not served from windows.
+     *
+     * @return the window size
+     */
+    int getWindowSize();
+
+    /**
+     * Retrieves the leading window of a filter, from its own cache entry, by narrowing the cached
+     * complete window of a broader filter, or from the database.
+     *
+     * @param filter the canonical filter
+     * @return the window of the filter
+     */
+    TaskQueryWindow getWindow(TaskFilter filter);
+}
@@ -4,6 +4,7 @@ import com.huydevcorn.todo_app.dto.request.TaskCreationRequest;
 import com.huydevcorn.todo_app.dto.request.TaskUpdateRequest;
 import com.huydevcorn.todo_app.dto.response.PaginationResponse;
 import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.dto.response.TaskStatsResponse;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -72,8 +73,17 @@ public interface TaskService {
      * @param startDate the start date filter
      * @param endDate the end date filter
      * @param status the task status filter
+     * @param descriptionLength the maximum number of description characters returned per task, or null for whole descriptions
+     * @param fields the comma-separated task properties to read, or null for all properties
      * @return the paginated task response
      */
-    PaginationResponse<TaskResponse> getTasks(int page, int size, String title, String priority, LocalDate startDate, LocalDate endDate, String status);
+    PaginationResponse<TaskResponse> getTasks(int page, int size, String title, String priority, LocalDate startDate, LocalDate endDate, String status, Integer descriptionLength, String fields);
+
+    /**
+     * Retrieves aggregate task counts by status, priority and due date.
+     *
+     * @return the task stats response
+     */
+    TaskStatsResponse getStats();
 
 }
@@ -0,0 +1,48 @@
+package com.huydevcorn.todo_app.service;
+
+import com.huydevcorn.todo_app.dto.response.TaskStatsResponse;
+import com.huydevcorn.todo_app.entity.Task;
+
+import java.util.Set;
+
+/**
+ * Service interface for maintaining aggregate task counters.
+ */
+public interface TaskStatsService {
+    /**
+     * Returns the counters a task contributes to, used to compute deltas around a write.
+     *
+     * @param task the task, may be null
+     * @return the counter fields of the task, empty if the task is null
+     */
+    Set<String> countersOf(Task task);
+
+    /**
+     * Takes a stamp for a write that has not committed yet. A reconciliation marks the counters with the
+     * last stamp taken once its query has run, so the deltas of writes it may already have counted are skipped.
+     *
+     * @return the stamp of the write, 0 if none could be taken
+     */
+    long beginChange();
+
+    /**
+     * Applies the difference between the counters of a task before and after a write.
+     *
+     * @param stamp the stamp taken before the write committed
+     * @param before the counters before the write, empty for a created task
+     * @param after the counters after the write, empty for a deleted task
+     */
+    void recordChange(long stamp, Set<String> before, Set<String> after);
+
+    /**
+     * Retrieves the task counters.
+     *
+     * @return the task stats response
+     */
+    TaskStatsResponse getStats();
+
+    /**
+     * Rebuilds all counters from the database to correct any drift.
+     */
+    void reconcile();
+}
@@ -0,0 +1,155 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.enums.RedisPrefix;
+import com.huydevcorn.todo_app.notification.NotificationEnvelope;
+import com.huydevcorn.todo_app.notification.SlowConsumerInterceptor;
+import com.huydevcorn.todo_app.service.NotificationService;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.utils.RedisUtils;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of the NotificationService interface.
+ * In relay mode every notification is published on a Redis channel and each node delivers it to
+ * its own sessions, so a notification raised on one node reaches clients connected to any node.
+ * Otherwise notifications go straight to the local broker.
+ */
+@Service
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+public class NotificationServiceImpl implements NotificationService {
+    SimpMessagingTemplate simpMessagingTemplate;
+    RedisService redisService;
+    boolean relayEnabled;
+    String relayChannel;
+    Duration reminderTtl;
+
+    /**
+     * Constructs a new NotificationServiceImpl.
+     *
+     * @param simpMessagingTemplate the template sending to the local broker
+     * @param redisService the Redis service
+     * @param relayEnabled whether notifications are relayed to every node over Redis pub/sub
+     * @param relayChannel the Redis channel of the relay
+     * @param reminderTtl how long a task notification may wait for a slow session before it is dropped
+     */
+    public NotificationServiceImpl(
+            SimpMessagingTemplate simpMessagingTemplate,
+            RedisService redisService,
+            @Value("${app.websocket.relay.enabled:false}") boolean relayEnabled,
+            @Value("${app.websocket.relay.channel:notification}") String relayChannel,
+            @Value("${app.websocket.outbound.reminder-ttl:5m}") Duration reminderTtl
+    ) {
+        this.simpMessagingTemplate = simpMessagingTemplate;
+        this.redisService = redisService;
+        this.relayEnabled = relayEnabled;
+        this.relayChannel = relayChannel;
+        this.reminderTtl = reminderTtl;
+    }
+
+    @Override
+    public void send(String destination, Object payload) {
+        dispatch(NotificationEnvelope.builder()
+                .destination(destination)
+                .payload(payload)
+                .build());
+    }
+
+    @Override
+    public void sendToUser(String user, String destination, Object payload) {
+        dispatch(NotificationEnvelope.builder()
+                .user(user)
+                .destination(destination)
+                .payload(payload)
+                .build());
+    }
+
+    @Override
+    public void sendToTaskWatchers(Long taskId, String destination, Object payload) {
+        long expiresAt = System.currentTimeMillis() + reminderTtl.toMillis();
+
+        // Without watchers the notification keeps going to every subscriber of the destination
+        Set<String> watchers = redisService.getSetMembers(watchersKey(taskId));
+        if (watchers.isEmpty()) {
+            dispatch(NotificationEnvelope.builder()
+                    .destination(destination)
+                    .payload(payload)
+                    .taskId(taskId)
+                    .expiresAt(expiresAt)
+                    .build());
+            return;
+        }
+
+        for (String user : watchers) {
+            dispatch(NotificationEnvelope.builder()
+                    .user(user)
+                    .destination(destination)
+                    .payload(payload)
+                    .taskId(taskId)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+    }
+
+    @Override
+    public void watch(Long taskId, String user) {
+        redisService.addToSet(watchersKey(taskId), user);
+    }
+
+    @Override
+    public void unwatch(Long taskId, String user) {
+        redisService.removeFromSet(watchersKey(taskId), user);
+    }
+
+    @Override
+    public void clearWatchers(Long taskId) {
+        redisService.delete(watchersKey(taskId));
+    }
+
+    @Override
+    public void deliver(NotificationEnvelope envelope) {
+        // Headers let the outbound interceptor drop stale or superseded task notifications
+        Map<String, Object> headers = new HashMap<>();
+        if (envelope.getTaskId() != null) {
+            headers.put(SlowConsumerInterceptor.TASK_ID_HEADER, envelope.getTaskId());
+        }
+        if (envelope.getExpiresAt() != null) {
+            headers.put(SlowConsumerInterceptor.EXPIRES_HEADER, envelope.getExpiresAt());
+        }
+
+        if (envelope.getUser() == null) {
+            simpMessagingTemplate.convertAndSend(envelope.getDestination(), envelope.getPayload(), headers);
+        } else {
+            // Dropped by the user registry when the user has no session on this node
+            simpMessagingTemplate.convertAndSendToUser(envelope.getUser(), envelope.getDestination(), envelope.getPayload(), headers);
+        }
+    }
+
+
+    // utility methods
+
+    /**
+     * Publishes a notification to every node in relay mode, or delivers it locally otherwise.
+     */
+    private void dispatch(NotificationEnvelope envelope) {
+        if (relayEnabled) {
+            redisService.publish(relayChannel, envelope);
+        } else {
+            deliver(envelope);
+        }
+    }
+
+    /**
+     * Builds the key of the watcher set of a task.
+     */
+    private String watchersKey(Long taskId) {
+        return RedisUtils.withPrefix(RedisPrefix.TASK_WATCHERS.getPrefix(), taskId.toString());
+    }
+}
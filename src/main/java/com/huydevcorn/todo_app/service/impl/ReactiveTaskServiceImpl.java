@@ -0,0 +1,188 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.huydevcorn.todo_app.dto.response.PaginationResponse;
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.enums.RedisPrefix;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.service.ReactiveTaskService;
+import com.huydevcorn.todo_app.utils.RedisUtils;
+import com.huydevcorn.todo_app.utils.TaskQueryUtils;
+import com.huydevcorn.todo_app.datasource.MultiplexedR2dbcConnections;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the ReactiveTaskService interface.
+ * The cache tier is read with reactive Lettuce commands and PostgreSQL with R2DBC, so a request
+ * never holds a thread while waiting on I/O.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+public class ReactiveTaskServiceImpl implements ReactiveTaskService {
+    private static final Duration CACHE_TTL = Duration.ofMinutes(5);
+    private static final String TASK_COLUMNS = "id, title, description, priority, status, version, due_date, create_at, update_at";
+
+    ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    MultiplexedR2dbcConnections connections;
+    ObjectMapper objectMapper;
+
+    @Override
+    public Mono<TaskResponse> getTask(Long id) {
+        // Check cache for task, then fall back to the database
+        String key = RedisUtils.withPrefix(RedisPrefix.TASK.getPrefix(), id.toString());
+        TypeReference<TaskResponse> typeRef = new TypeReference<>() {};
+
+        return reactiveRedisTemplate.opsForValue().get(key)
+                .map(cached -> objectMapper.convertValue(cached, typeRef))
+                .switchIfEmpty(Mono.defer(() -> query("SELECT " + TASK_COLUMNS + " FROM tasks WHERE id = $1", List.of(id))
+                        .next()
+                        .switchIfEmpty(Mono.error(new AppException(ErrorCode.TASK_NOT_FOUND)))
+                        .flatMap(response -> cache(key, response))));
+    }
+
+    @Override
+    public Mono<PaginationResponse<TaskResponse>> getTasks(
+            int page,
+            int size,
+            String title,
+            String priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            String status
+    ) {
+        // Validate parameters
+        TaskQueryUtils.validateFilters(page, size, priority, startDate, endDate, status);
+
+        // Check cache for tasks, then fall back to the database
+        String key = TaskQueryUtils.tasksCacheKey(page, size, title, priority, startDate, endDate, status, null, null);
+        TypeReference<PaginationResponse<TaskResponse>> typeRef = new TypeReference<>() {};
+
+        return reactiveRedisTemplate.opsForValue().get(key)
+                .map(cached -> objectMapper.convertValue(cached, typeRef))
+                .switchIfEmpty(Mono.defer(() -> queryTasks(page, size, title, priority, startDate, endDate, status)
+                        .flatMap(response -> cache(key, response))));
+    }
+
+
+    // utility methods
+
+    /**
+     * Runs the count and page queries of a task list concurrently.
+     */
+    private Mono<PaginationResponse<TaskResponse>> queryTasks(
+            int page,
+            int size,
+            String title,
+            String priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            String status
+    ) {
+        // Build the same filters as TaskSpecification
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (title != null && !title.isBlank()) {
+            params.add("%" + title + "%");
+            conditions.add("(title LIKE $" + params.size() + " OR description LIKE $" + params.size() + ")");
+        }
+        if (priority != null) {
+            params.add(priority.toUpperCase());
+            conditions.add("priority = $" + params.size());
+        }
+        if (startDate != null) {
+            params.add(startDate.atStartOfDay());
+            conditions.add("due_date >= $" + params.size());
+        }
+        if (endDate != null) {
+            params.add(endDate.atStartOfDay());
+            conditions.add("due_date <= $" + params.size());
+        }
+        if (status != null) {
+            params.add(status.toUpperCase());
+            conditions.add("status = $" + params.size());
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+        Mono<Long> total = connections.withConnection(connection -> Flux.from(bindAll(
+                        connection.createStatement("SELECT COUNT(*) AS total FROM tasks" + where), params).execute())
+                        .flatMap(result -> result.map(row -> row.get("total", Long.class))))
+                .next();
+        List<Object> pageParams = new ArrayList<>(params);
+        pageParams.add(size);
+        pageParams.add((long) (page - 1) * size);
+        Mono<List<TaskResponse>> results = query(
+                "SELECT " + TASK_COLUMNS + " FROM tasks" + where + " ORDER BY create_at DESC"
+                        + " LIMIT $" + (params.size() + 1) + " OFFSET $" + (params.size() + 2),
+                pageParams
+        ).collectList();
+
+        return Mono.zip(total, results)
+                .map(tuple -> PaginationResponse.<TaskResponse>builder()
+                        .page(page)
+                        .perPage(size)
+                        .totalPages((int) Math.ceil((double) tuple.getT1() / size))
+                        .totalResults(tuple.getT1())
+                        .results(tuple.getT2())
+                        .build());
+    }
+
+    /**
+     * Runs a task query and maps every row to a task response.
+     */
+    private Flux<TaskResponse> query(String sql, List<Object> params) {
+        return connections.withConnection(connection -> Flux.from(bindAll(connection.createStatement(sql), params).execute())
+                .flatMap(result -> result.map(this::toTaskResponse)));
+    }
+
+    /**
+     * Binds positional parameters to a statement.
+     */
+    private Statement bindAll(Statement statement, List<Object> params) {
+        for (int i = 0; i < params.size(); i++) {
+            statement.bind(i, params.get(i));
+        }
+        return statement;
+    }
+
+    /**
+     * Caches a response and emits it once stored.
+     */
+    private <T> Mono<T> cache(String key, T response) {
+        return reactiveRedisTemplate.opsForValue().set(key, response, CACHE_TTL).thenReturn(response);
+    }
+
+    /**
+     * Maps a row to a task response.
+     */
+    private TaskResponse toTaskResponse(Readable row) {
+        return TaskResponse.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .priority(TaskPriority.valueOf(row.get("priority", String.class)))
+                .status(TaskStatus.valueOf(row.get("status", String.class)))
+                .version(row.get("version", Long.class))
+                .dueDate(row.get("due_date", LocalDateTime.class))
+                .createdAt(row.get("create_at", LocalDateTime.class))
+                .updatedAt(row.get("update_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,229 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.service.SideEffectService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the SideEffectService interface.
+ * Actions are sharded by key over a fixed set of bounded queues, each drained by its own virtual thread,
+ * so actions of one task keep their order while a slow Redis or broker only delays the workers.
+ * A full queue blocks the submitting thread until there is room again.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class SideEffectServiceImpl implements SideEffectService {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+    List<BlockingQueue<SideEffect>> queues = new ArrayList<>();
+    List<Thread> workers = new ArrayList<>();
+    int maxAttempts;
+    Duration backoff;
+    Duration drainTimeout;
+    Counter retried;
+    Counter failed;
+    @NonFinal
+    volatile boolean running = true;
+
+    /**
+     * Constructs a new SideEffectServiceImpl and starts its workers.
+     *
+     * @param meterRegistry the registry of the side effect metrics
+     * @param workerCount the number of workers, each with its own queue
+     * @param queueCapacity the capacity of each queue
+     * @param maxAttempts the maximum number of attempts of an action
+     * @param backoff the delay before the first retry, doubled on each further retry
+     * @param drainTimeout the maximum time to wait for queued actions on shutdown
+     */
+    public SideEffectServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${app.side-effects.workers:4}") int workerCount,
+            @Value("${app.side-effects.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.side-effects.max-attempts:3}") int maxAttempts,
+            @Value("${app.side-effects.backoff:200ms}") Duration backoff,
+            @Value("${app.side-effects.drain-timeout:10s}") Duration drainTimeout
+    ) {
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.drainTimeout = drainTimeout;
+        this.retried = Counter.builder("side.effects.retried")
+                .description("Side effect attempts that failed and were retried")
+                .register(meterRegistry);
+        this.failed = Counter.builder("side.effects.failed")
+                .description("Side effects that failed on every attempt")
+                .register(meterRegistry);
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<SideEffect> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            workers.add(Thread.ofVirtual().name("side-effect-" + i).start(() -> drain(queue)));
+        }
+        Gauge.builder("side.effects.queued", queues, q -> q.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Side effects waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterCommit(Object key, String name, Runnable action) {
+        submit(key, new SideEffect(name, action, true));
+    }
+
+    @Override
+    public void afterCommitOnce(Object key, String name, Runnable action) {
+        submit(key, new SideEffect(name, action, false));
+    }
+
+    @Override
+    public void afterCommitInline(String name, Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // The write has committed already, so the failure must not reach the caller
+                log.warn("Side effect {} failed: {}", name, e.getMessage());
+            }
+        };
+
+        // Without a transaction the preceding write has already committed
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            guarded.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                guarded.run();
+            }
+        });
+    }
+
+    /**
+     * Stops accepting actions and waits for the queued ones to finish.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        for (Thread worker : workers) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !worker.join(Duration.ofNanos(remaining))) {
+                    log.warn("Side effect worker {} did not drain in time", worker.getName());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+
+    // utility methods
+
+    /**
+     * Queues an action on the queue of its key once the current transaction commits.
+     */
+    private void submit(Object key, SideEffect sideEffect) {
+        BlockingQueue<SideEffect> queue = queues.get(Math.floorMod(key.hashCode(), queues.size()));
+
+        // Without a transaction the preceding write has already committed
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(queue, sideEffect);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(queue, sideEffect);
+            }
+        });
+    }
+
+    /**
+     * Adds an action to a queue, blocking while the queue is full, or runs it in place after shutdown.
+     */
+    private void enqueue(BlockingQueue<SideEffect> queue, SideEffect sideEffect) {
+        if (!running) {
+            run(sideEffect);
+            return;
+        }
+        try {
+            queue.put(sideEffect);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run(sideEffect);
+        }
+    }
+
+    /**
+     * Runs the actions of a queue until shutdown and the queue is empty.
+     */
+    private void drain(BlockingQueue<SideEffect> queue) {
+        while (running || !queue.isEmpty()) {
+            try {
+                SideEffect sideEffect = queue.poll(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+                if (sideEffect != null) {
+                    run(sideEffect);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs an action, retrying in place so later actions with the same key wait for it.
+     */
+    private void run(SideEffect sideEffect) {
+        Duration delay = backoff;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sideEffect.action().run();
+                return;
+            } catch (RuntimeException e) {
+                if (!sideEffect.retryable() || attempt >= maxAttempts) {
+                    failed.increment();
+                    log.error("Side effect {} failed after {} attempts", sideEffect.name(), attempt, e);
+                    return;
+                }
+                retried.increment();
+                log.warn("Side effect {} failed, retrying in {}: {}", sideEffect.name(), delay, e.getMessage());
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Side effect {} abandoned on interrupt", sideEffect.name());
+                return;
+            }
+            delay = delay.multipliedBy(2);
+        }
+    }
+
+    /**
+     * An action waiting to run.
+     *
+     * @param name the name of the action
+     * @param action the action
+     * @param retryable whether a failed action is attempted again
+     */
+    private record SideEffect(String name, Runnable action, boolean retryable) {}
+}
@@ -0,0 +1,227 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.huydevcorn.todo_app.datasource.ReplicaRoutingContext;
+import com.huydevcorn.todo_app.dto.response.CalendarBucketResponse;
+import com.huydevcorn.todo_app.dto.response.TaskCalendarResponse;
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.enums.CalendarGranularity;
+import com.huydevcorn.todo_app.enums.RedisPrefix;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.TaskCalendarService;
+import com.huydevcorn.todo_app.utils.RedisUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the TaskCalendarService interface.
+ * Each month and granularity is cached as one Redis hash with a field per day, so a write only
+ * evicts the days containing the due dates it touched and the next read reloads just those days.
+ * Every eviction moves a counter first, and a reload is only written back if the counter has not
+ * moved since the read began.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+public class TaskCalendarServiceImpl implements TaskCalendarService {
+    private static final int MAX_TOP = 10;
+    private static final String LOADED_FIELD = "loaded";
+
+    private static final String PRIORITY_RANK = Arrays.stream(TaskPriority.values())
+            .map(priority -> "WHEN '" + priority.name() + "' THEN " + priority.getValue())
+            .collect(Collectors.joining(" ", "CASE t.priority ", " END"));
+
+    // Counts and top tasks of every bucket in one index range scan over due_date
+    private static final String BUCKETS_SQL = """
+            SELECT * FROM (
+                SELECT t.id, t.title, t.description, t.priority, t.status, t.version, t.due_date, t.create_at, t.update_at,
+                       date_trunc('%1$s', t.due_date) AS bucket,
+                       COUNT(*) OVER (PARTITION BY date_trunc('%1$s', t.due_date)) AS bucket_count,
+                       ROW_NUMBER() OVER (PARTITION BY date_trunc('%1$s', t.due_date) ORDER BY %2$s DESC, t.due_date, t.id) AS bucket_rank
+                FROM tasks t
+                WHERE t.due_date >= ? AND t.due_date < ?
+            ) b
+            WHERE b.bucket_rank <= ?
+            ORDER BY b.bucket, b.bucket_rank
+            """;
+
+    JdbcTemplate jdbcTemplate;
+    RedisService redisService;
+
+    @Override
+    public TaskCalendarResponse getCalendar(String month, String granularity, int top) {
+        // Validate parameters
+        YearMonth yearMonth;
+        try {
+            yearMonth = YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new AppException(ErrorCode.INVALID_MONTH);
+        }
+        CalendarGranularity calendarGranularity = Arrays.stream(CalendarGranularity.values())
+                .filter(e -> e.name().equalsIgnoreCase(granularity))
+                .findFirst()
+                .orElseThrow(() -> new AppException(ErrorCode.INVALID_GRANULARITY));
+        if (top < 0 || top > MAX_TOP) {
+            throw new AppException(ErrorCode.INVALID_TOP);
+        }
+
+        // Check cache for the days of the month, reading the eviction counter first so a reload
+        // that started before a later eviction is never written back
+        String key = calendarKey(yearMonth, calendarGranularity);
+        Long epoch = redisService.getObject(epochKey(), new TypeReference<>() {});
+        TypeReference<List<CalendarBucketResponse>> typeRef = new TypeReference<>() {};
+        Map<String, List<CalendarBucketResponse>> days = redisService.getHashObjects(key, typeRef);
+
+        // Load the whole month on a miss, or only the days evicted by writes since
+        boolean loaded = days.containsKey(LOADED_FIELD);
+        List<LocalDate> missingDays = yearMonth.atDay(1).datesUntil(yearMonth.plusMonths(1).atDay(1))
+                .filter(day -> !loaded || !days.containsKey(day.toString()))
+                .toList();
+        if (!missingDays.isEmpty()) {
+            Map<String, List<CalendarBucketResponse>> reloaded = loadDays(
+                    calendarGranularity,
+                    missingDays.getFirst(),
+                    missingDays.getLast().plusDays(1)
+            );
+            reloaded.keySet().retainAll(missingDays.stream().map(LocalDate::toString).collect(Collectors.toSet()));
+            reloaded.put(LOADED_FIELD, List.of());
+            // Only a full month load starts the timeout, so evicted days cannot keep a stale month alive
+            if (!ReplicaRoutingContext.isReadFromReplica()) {
+                redisService.putHashObjectsIfEquals(key, reloaded, epochKey(), epoch == null ? 0 : epoch,
+                        loaded ? 0 : 10, TimeUnit.MINUTES);
+            }
+            days.putAll(reloaded);
+        }
+
+        // Flatten the non-empty buckets in day order and keep the requested number of tasks
+        List<CalendarBucketResponse> buckets = yearMonth.atDay(1).datesUntil(yearMonth.plusMonths(1).atDay(1))
+                .flatMap(day -> days.getOrDefault(day.toString(), List.of()).stream())
+                .map(bucket -> CalendarBucketResponse.builder()
+                        .start(bucket.getStart())
+                        .count(bucket.getCount())
+                        .tasks(bucket.getTasks().subList(0, Math.min(top, bucket.getTasks().size())))
+                        .build())
+                .toList();
+
+        return TaskCalendarResponse.builder()
+                .month(yearMonth.toString())
+                .granularity(calendarGranularity)
+                .buckets(buckets)
+                .build();
+    }
+
+    @Override
+    public void evictDueDates(LocalDateTime... dueDates) {
+        if (Arrays.stream(dueDates).allMatch(Objects::isNull)) {
+            return;
+        }
+
+        // Move the counter before deleting, so a reload racing this eviction is discarded
+        redisService.increment(epochKey());
+        for (LocalDateTime dueDate : dueDates) {
+            if (dueDate == null) {
+                continue;
+            }
+            YearMonth yearMonth = YearMonth.from(dueDate);
+            for (CalendarGranularity granularity : CalendarGranularity.values()) {
+                redisService.deleteHashFields(calendarKey(yearMonth, granularity), dueDate.toLocalDate().toString());
+            }
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        redisService.increment(epochKey());
+        redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.CALENDAR.getPrefix(), "*"));
+    }
+
+
+    // utility methods
+
+    /**
+     * Builds the cache key of a month and granularity.
+     */
+    private String calendarKey(YearMonth yearMonth, CalendarGranularity granularity) {
+        return RedisUtils.withPrefix(RedisPrefix.CALENDAR.getPrefix(), yearMonth + ":" + granularity.name());
+    }
+
+    /**
+     * Builds the key of the counter moved by every eviction.
+     */
+    private String epochKey() {
+        return RedisUtils.withPrefix(RedisPrefix.CALENDAR_EPOCH.getPrefix(), "all");
+    }
+
+    /**
+     * Loads the buckets of a range of days from the database.
+     *
+     * @param granularity the bucket size
+     * @param from the first day, inclusive
+     * @param to the last day, exclusive
+     * @return the buckets of every day in the range, empty lists for days without tasks
+     */
+    private Map<String, List<CalendarBucketResponse>> loadDays(CalendarGranularity granularity, LocalDate from, LocalDate to) {
+        Map<String, List<CalendarBucketResponse>> days = new HashMap<>();
+        from.datesUntil(to).forEach(day -> days.put(day.toString(), new ArrayList<>()));
+
+        Map<LocalDateTime, CalendarBucketResponse> buckets = new LinkedHashMap<>();
+        String sql = String.format(BUCKETS_SQL, granularity.getUnit(), PRIORITY_RANK);
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            LocalDateTime start = rs.getTimestamp("bucket").toLocalDateTime();
+            CalendarBucketResponse bucket = buckets.computeIfAbsent(start, k -> {
+                CalendarBucketResponse created = CalendarBucketResponse.builder()
+                        .start(k)
+                        .tasks(new ArrayList<>())
+                        .build();
+                days.get(k.toLocalDate().toString()).add(created);
+                return created;
+            });
+            bucket.setCount(rs.getLong("bucket_count"));
+            bucket.getTasks().add(toTaskResponse(rs));
+        }, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()), MAX_TOP);
+
+        return days;
+    }
+
+    /**
+     * Maps the current row to a task response.
+     */
+    private TaskResponse toTaskResponse(ResultSet rs) throws SQLException {
+        return TaskResponse.builder()
+                .id(rs.getLong("id"))
+                .title(rs.getString("title"))
+                .description(rs.getString("description"))
+                .priority(TaskPriority.valueOf(rs.getString("priority")))
+                .status(TaskStatus.valueOf(rs.getString("status")))
+                .version(rs.getLong("version"))
+                .dueDate(toLocalDateTime(rs.getTimestamp("due_date")))
+                .createdAt(toLocalDateTime(rs.getTimestamp("create_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("update_at")))
+                .build();
+    }
+
+    /**
+     * Converts a nullable timestamp to a LocalDateTime.
+     */
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
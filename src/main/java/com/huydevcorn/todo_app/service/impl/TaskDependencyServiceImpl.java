@@ -1,26 +1,46 @@
 package com.huydevcorn.todo_app.service.impl;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.huydevcorn.todo_app.datasource.ReplicaRoutingContext;
+import com.huydevcorn.todo_app.dto.request.DependencyEdgeRequest;
+import com.huydevcorn.todo_app.dto.response.DependencyBatchResponse;
+import com.huydevcorn.todo_app.dto.response.DependencyEdgeResponse;
+import com.huydevcorn.todo_app.dto.response.DependentTaskResponse;
+import com.huydevcorn.todo_app.dto.response.PaginationResponse;
+import com.huydevcorn.todo_app.dto.response.ReachableTaskResponse;
+import com.huydevcorn.todo_app.dto.response.TaskDependencyGraphResponse;
 import com.huydevcorn.todo_app.dto.response.TaskDependencyResponse;
+import com.huydevcorn.todo_app.dto.response.TaskNodeResponse;
 import com.huydevcorn.todo_app.entity.Task;
 import com.huydevcorn.todo_app.entity.TaskDependency;
 import com.huydevcorn.todo_app.enums.RedisPrefix;
 import com.huydevcorn.todo_app.enums.TaskStatus;
 import com.huydevcorn.todo_app.exception.AppException;
 import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.index.TaskDependencyFilter;
+import com.huydevcorn.todo_app.repository.TaskDependencyBulkRepository;
 import com.huydevcorn.todo_app.repository.TaskDependencyRepository;
 import com.huydevcorn.todo_app.repository.TaskRepository;
 import com.huydevcorn.todo_app.service.RedisService;
 import com.huydevcorn.todo_app.service.TaskDependencyService;
+import com.huydevcorn.todo_app.utils.DependencyGraphUtils;
 import com.huydevcorn.todo_app.utils.RedisUtils;
-import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -29,13 +49,50 @@ import java.util.stream.Collectors;
  * Implementation of the TaskDependencyService interface for managing task dependencies.
  */
 @Service
-@RequiredArgsConstructor
 @FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
 public class TaskDependencyServiceImpl implements TaskDependencyService {
+    private static final int MAX_BATCH_EDGES = 10_000;
+
     TaskRepository taskRepository;
     TaskDependencyRepository taskDependencyRepository;
     RedisService redisService;
+    TaskDependencyFilter taskDependencyFilter;
+    boolean closureEnabled;
+
+    /**
+     * Constructs a new TaskDependencyServiceImpl.
+     *
+     * @param taskRepository the repository of tasks
+     * @param taskDependencyRepository the repository of task dependencies and their closure
+     * @param redisService the service caching dependency trees, graphs and cycle checks
+     * @param taskDependencyFilter the filter of tasks appearing in dependencies
+     * @param closureEnabled whether cycle checks read the closure table instead of walking dependencies
+     */
+    public TaskDependencyServiceImpl(
+            TaskRepository taskRepository,
+            TaskDependencyRepository taskDependencyRepository,
+            RedisService redisService,
+            TaskDependencyFilter taskDependencyFilter,
+            @Value("${app.dependency-closure.enabled:false}") boolean closureEnabled
+    ) {
+        this.taskRepository = taskRepository;
+        this.taskDependencyRepository = taskDependencyRepository;
+        this.redisService = redisService;
+        this.taskDependencyFilter = taskDependencyFilter;
+        this.closureEnabled = closureEnabled;
+    }
+
+    /**
+     * Rebuilds the closure table at startup if writes made while it was disabled left it stale.
+     * Only the first instance to start after such writes rebuilds it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildClosure() {
+        if (closureEnabled) {
+            taskDependencyRepository.rebuildClosureIfStale();
+        }
+    }
 
     @Override
     public void addDependencies(Long taskId, Set<Long> dependentTaskIds) {
@@ -67,7 +124,11 @@ public class TaskDependencyServiceImpl implements TaskDependencyService {
             if (dependentTask.getStatus() == TaskStatus.OVERDUE) {
                 throw new AppException(ErrorCode.CAN_NOT_ADD_OVERDUE_TASK_AS_DEPENDENCY);
             }
-            if (hasCircularDependency(task.getId(), dependentTask.getId())) {
+            // With the closure, a cycle check is one lookup of a chain back to the task
+            boolean circular = closureEnabled
+                    ? taskDependencyRepository.existsPath(dependentTask.getId(), task.getId())
+                    : hasCircularDependency(task.getId(), dependentTask.getId());
+            if (circular) {
                 throw new AppException(ErrorCode.CIRCULAR_DEPENDENCY);
             }
         }
@@ -77,27 +138,101 @@ public class TaskDependencyServiceImpl implements TaskDependencyService {
                 .map(dep -> dep.getDependsOnTask().getId())
                 .collect(Collectors.toSet());
 
-        // Create new dependencies and save them
-        Set<TaskDependency> newDependencies = dependentTasks.stream()
+        // Create new dependencies
+        List<TaskDependencyBulkRepository.Edge> newDependencies = dependentTasks.stream()
                 .filter(dependentTask -> !existingDependenciesIds.contains(dependentTask.getId()))
-                .map(dependentTask -> TaskDependency.builder()
-                                                    .task(task)
-                                                    .dependsOnTask(dependentTask)
-                                                    .build())
-                .collect(Collectors.toSet());
+                .map(dependentTask -> new TaskDependencyBulkRepository.Edge(taskId, dependentTask.getId()))
+                .toList();
 
         // Save new dependencies if any, otherwise throw an exception
         if (!newDependencies.isEmpty()) {
-            taskDependencyRepository.saveAll(newDependencies);
+            taskDependencyRepository.insertDependencies(newDependencies);
+            newDependencies.forEach(edge -> taskDependencyFilter.addEdge(taskId, edge.dependsOnTaskId()));
 
             // Delete cached dependencies
-            redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.DEPENDENCIES.getPrefix(), "*"));
-            redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.CHECK_CIRCLE.getPrefix(), "*"));
+            evictDependencyCaches(Set.of(taskId));
         } else {
             throw new AppException(ErrorCode.DEPENDENCIES_ALREADY_EXIST);
         }
     }
 
+    @Override
+    public DependencyBatchResponse addDependencyBatch(List<DependencyEdgeRequest> edges) {
+        // Validate the size and shape of the batch
+        if (edges.size() > MAX_BATCH_EDGES) {
+            throw new AppException(ErrorCode.TOO_MANY_DEPENDENCY_EDGES);
+        }
+        Set<TaskDependencyBulkRepository.Edge> batch = new LinkedHashSet<>();
+        for (DependencyEdgeRequest edge : edges) {
+            if (edge.getTaskId().equals(edge.getDependsOnTaskId())) {
+                throw new AppException(ErrorCode.TASK_CANNOT_DEPEND_ON_ITSELF);
+            }
+            batch.add(new TaskDependencyBulkRepository.Edge(edge.getTaskId(), edge.getDependsOnTaskId()));
+        }
+
+        // Validate existence and statuses of every task of the batch in one query
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> dependsOnTaskIds = new HashSet<>();
+        batch.forEach(edge -> {
+            taskIds.add(edge.taskId());
+            dependsOnTaskIds.add(edge.dependsOnTaskId());
+        });
+        Set<Long> allIds = new HashSet<>(taskIds);
+        allIds.addAll(dependsOnTaskIds);
+        Map<Long, TaskStatus> statuses = new HashMap<>();
+        for (Object[] row : taskRepository.findStatusesByIdIn(allIds)) {
+            statuses.put((Long) row[0], (TaskStatus) row[1]);
+        }
+        for (Long id : taskIds) {
+            TaskStatus status = statuses.get(id);
+            if (status == null) {
+                throw new AppException(ErrorCode.TASK_NOT_FOUND);
+            }
+            if (status != TaskStatus.PENDING) {
+                throw new AppException(ErrorCode.CAN_NOT_SET_DEPENDENCY_FOR_NON_PENDING_TASK);
+            }
+        }
+        for (Long id : dependsOnTaskIds) {
+            TaskStatus status = statuses.get(id);
+            if (status == null) {
+                throw new AppException(ErrorCode.DEPENDENT_TASK_NOT_FOUND);
+            }
+            if (status == TaskStatus.OVERDUE) {
+                throw new AppException(ErrorCode.CAN_NOT_ADD_OVERDUE_TASK_AS_DEPENDENCY);
+            }
+        }
+
+        // Any new cycle runs through a task of the batch, so the existing edges reachable from them suffice
+        List<TaskDependencyBulkRepository.Edge> existingEdges = taskDependencyRepository.findReachableEdges(allIds);
+        Set<TaskDependencyBulkRepository.Edge> existing = new HashSet<>(existingEdges);
+        List<TaskDependencyBulkRepository.Edge> newEdges = batch.stream()
+                .filter(edge -> !existing.contains(edge))
+                .toList();
+        Map<Long, List<Long>> dependsOn = new HashMap<>();
+        for (List<TaskDependencyBulkRepository.Edge> graphEdges : List.of(existingEdges, newEdges)) {
+            graphEdges.forEach(edge -> dependsOn.computeIfAbsent(edge.taskId(), k -> new ArrayList<>()).add(edge.dependsOnTaskId()));
+        }
+        if (DependencyGraphUtils.hasCycle(dependsOn)) {
+            throw new AppException(ErrorCode.CIRCULAR_DEPENDENCY);
+        }
+
+        // Insert the new edges in batched statements
+        if (!newEdges.isEmpty()) {
+            taskDependencyRepository.insertDependencies(newEdges);
+            newEdges.forEach(edge -> taskDependencyFilter.addEdge(edge.taskId(), edge.dependsOnTaskId()));
+
+            // Delete cached dependencies
+            evictDependencyCaches(newEdges.stream()
+                    .map(TaskDependencyBulkRepository.Edge::taskId)
+                    .collect(Collectors.toSet()));
+        }
+
+        return DependencyBatchResponse.builder()
+                .created(newEdges.size())
+                .alreadyExisting(batch.size() - newEdges.size())
+                .build();
+    }
+
     @Override
     public TaskDependencyResponse getDependencies(Long taskId) {
         // Retrieve the task by ID
@@ -117,43 +252,171 @@ public class TaskDependencyServiceImpl implements TaskDependencyService {
     }
 
     @Override
-    public void removeDependency(Long taskId, Set<Long> dependentTaskIds) {
-        // Validate that dependent task IDs are provided
-        if (dependentTaskIds == null || dependentTaskIds.isEmpty()) {
-            throw new AppException(ErrorCode.DEPENDENT_TASK_IDS_ARE_REQUIRED);
+    public TaskDependencyGraphResponse getDependencyGraph(Long taskId) {
+        // Check cache for the graph
+        String key = RedisUtils.withPrefix(RedisPrefix.DEPENDENCY_GRAPH.getPrefix(), taskId.toString());
+        TypeReference<TaskDependencyGraphResponse> typeRef = new TypeReference<>() {};
+        TaskDependencyGraphResponse cachedGraph = redisService.getObject(key, typeRef);
+        if (cachedGraph != null) {
+            return cachedGraph;
         }
 
         // Retrieve the task by ID
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
 
-        // Find and remove the specified dependencies
-        Set<TaskDependency> dependenciesToRemove = taskDependencyRepository.findByTaskAndDependsOnTaskIdIn(task, dependentTaskIds);
-        taskDependencyRepository.deleteAll(dependenciesToRemove);
+        // Read every reachable dependency as a pair of IDs in one recursive query
+        List<DependencyEdgeResponse> edges = new ArrayList<>();
+        Set<Long> nodeIds = new LinkedHashSet<>();
+        nodeIds.add(taskId);
+        for (TaskDependencyBulkRepository.Edge edge : taskDependencyRepository.findReachableEdges(List.of(taskId))) {
+            edges.add(DependencyEdgeResponse.builder()
+                    .taskId(edge.taskId())
+                    .dependsOnTaskId(edge.dependsOnTaskId())
+                    .build());
+            nodeIds.add(edge.dependsOnTaskId());
+        }
+
+        // Load the node table once, in the order the tasks were first reached
+        nodeIds.remove(taskId);
+        Map<Long, TaskNodeResponse> loadedNodes = nodeIds.isEmpty()
+                ? Map.of()
+                : taskRepository.findNodesByIdIn(nodeIds).stream()
+                        .collect(Collectors.toMap(TaskNodeResponse::getId, node -> node));
+        List<TaskNodeResponse> nodes = new ArrayList<>();
+        nodes.add(toNode(task));
+        nodeIds.stream().map(loadedNodes::get).filter(Objects::nonNull).forEach(nodes::add);
+
+        TaskDependencyGraphResponse response = TaskDependencyGraphResponse.builder()
+                .rootId(taskId)
+                .nodes(nodes)
+                .edges(edges)
+                .build();
 
-        // Delete cached dependencies
-        redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.DEPENDENCIES.getPrefix(), "*"));
-        redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.CHECK_CIRCLE.getPrefix(), "*"));
+        // Cache the graph, unless it was read from a replica that may lag behind
+        if (!ReplicaRoutingContext.isReadFromReplica()) {
+            redisService.setObject(key, response, 1, TimeUnit.HOURS);
+        }
+
+        return response;
     }
 
     @Override
-    public void removeAllDependencies(Long taskId) {
-        // Retrieve the task by ID
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+    public PaginationResponse<DependentTaskResponse> getDependents(Long taskId, int page, int size) {
+        // Validate pagination parameters
+        if (page < 1) {
+            throw new AppException(ErrorCode.INVALID_PAGE);
+        }
+        if (size < 1) {
+            throw new AppException(ErrorCode.INVALID_PAGE_SIZE);
+        }
+
+        // Validate that the task exists
+        if (!taskRepository.existsById(taskId)) {
+            throw new AppException(ErrorCode.TASK_NOT_FOUND);
+        }
+
+        // Read one page of dependents through the reverse index
+        Page<DependentTaskResponse> dependentPage = taskDependencyRepository.findDependents(taskId, PageRequest.of(page - 1, size));
 
-        // Find and remove all dependencies
-        Set<TaskDependency> dependenciesToRemove = taskDependencyRepository.findAllByTask(task);
-        taskDependencyRepository.deleteAll(dependenciesToRemove);
+        // Build pagination response
+        return PaginationResponse.<DependentTaskResponse>builder()
+                .page(page)
+                .perPage(size)
+                .totalPages(dependentPage.getTotalPages())
+                .totalResults(dependentPage.getTotalElements())
+                .results(dependentPage.getContent())
+                .build();
+    }
+
+    @Override
+    public List<ReachableTaskResponse> getAncestors(Long taskId) {
+        // Validate that the task exists
+        if (!taskRepository.existsById(taskId)) {
+            throw new AppException(ErrorCode.TASK_NOT_FOUND);
+        }
 
-        // Delete cached dependencies
-        redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.DEPENDENCIES.getPrefix(), "*"));
-        redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.CHECK_CIRCLE.getPrefix(), "*"));
+        return taskDependencyRepository.findAncestors(taskId);
+    }
+
+    @Override
+    public List<ReachableTaskResponse> getDescendants(Long taskId) {
+        // Validate that the task exists
+        if (!taskRepository.existsById(taskId)) {
+            throw new AppException(ErrorCode.TASK_NOT_FOUND);
+        }
+
+        return taskDependencyRepository.findDescendants(taskId);
+    }
+
+    @Override
+    public void removeDependency(Long taskId, Set<Long> dependentTaskIds) {
+        // Validate that dependent task IDs are provided
+        if (dependentTaskIds == null || dependentTaskIds.isEmpty()) {
+            throw new AppException(ErrorCode.DEPENDENT_TASK_IDS_ARE_REQUIRED);
+        }
+
+        // Validate that the task exists
+        if (!taskRepository.existsById(taskId)) {
+            throw new AppException(ErrorCode.TASK_NOT_FOUND);
+        }
+
+        // Remove the specified dependencies in one statement
+        List<Long> removed = taskDependencyRepository.deleteDependencies(taskId, dependentTaskIds);
+        afterDependenciesRemoved(taskId, removed);
+    }
+
+    @Override
+    public void removeAllDependencies(Long taskId) {
+        // Validate that the task exists
+        if (!taskRepository.existsById(taskId)) {
+            throw new AppException(ErrorCode.TASK_NOT_FOUND);
+        }
+
+        // Remove all dependencies in one statement
+        List<Long> removed = taskDependencyRepository.deleteDependencies(taskId, null);
+        afterDependenciesRemoved(taskId, removed);
     }
 
 
     // utility methods
 
+    /**
+     * Updates the dependency filter and caches after dependencies of a task were deleted.
+     *
+     * @param taskId the ID of the task
+     * @param removedIds the IDs of the tasks removed as its dependencies
+     */
+    private void afterDependenciesRemoved(Long taskId, List<Long> removedIds) {
+        if (removedIds.isEmpty()) {
+            return;
+        }
+        removedIds.forEach(dependsOnTaskId -> taskDependencyFilter.removeEdge(taskId, dependsOnTaskId));
+        evictDependencyCaches(Set.of(taskId));
+    }
+
+    /**
+     * Deletes the cached dependencies affected by a change to the direct dependencies of tasks:
+     * the cycle check entries of the tasks, and the dependency trees and graphs of the tasks and of
+     * every task depending on them.
+     *
+     * @param taskIds the IDs of the tasks whose direct dependencies changed
+     */
+    private void evictDependencyCaches(Set<Long> taskIds) {
+        Set<Long> affectedIds = taskDependencyRepository.findDependentIds(taskIds);
+        affectedIds.addAll(taskIds);
+
+        List<String> keys = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            keys.add(RedisUtils.withPrefix(RedisPrefix.CHECK_CIRCLE.getPrefix(), taskId.toString()));
+        }
+        for (Long id : affectedIds) {
+            keys.add(RedisUtils.withPrefix(RedisPrefix.DEPENDENCIES.getPrefix(), id.toString()));
+            keys.add(RedisUtils.withPrefix(RedisPrefix.DEPENDENCY_GRAPH.getPrefix(), id.toString()));
+        }
+        redisService.delete(keys);
+    }
+
     /**
      * Recursively finds all dependencies of a task.
      *
@@ -192,8 +455,23 @@ public class TaskDependencyServiceImpl implements TaskDependencyService {
             dependencies.add(response);
         }
 
-        // Cache the dependencies
-        redisService.setObject(key, new ArrayList<>(dependencies),1, TimeUnit.HOURS);
+        // Cache the dependencies, unless they were read from a replica that may lag behind
+        if (!ReplicaRoutingContext.isReadFromReplica()) {
+            redisService.setObject(key, new ArrayList<>(dependencies), 1, TimeUnit.HOURS);
+        }
+    }
+
+    /**
+     * Converts a task to a graph node.
+     *
+     * @param task the task to convert
+     * @return the graph node
+     */
+    private TaskNodeResponse toNode(Task task) {
+        return TaskNodeResponse.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .build();
     }
 
     /**
@@ -0,0 +1,93 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.huydevcorn.todo_app.enums.RedisPrefix;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.TaskETagService;
+import com.huydevcorn.todo_app.utils.RedisUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the TaskETagService interface.
+ * Each task has a version stamp key holding its {@code @Version}, and task lists share a single
+ * generation counter incremented on every task write.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class TaskETagServiceImpl implements TaskETagService {
+    private static final String TASKS_GENERATION_KEY = RedisUtils.withPrefix(RedisPrefix.ETAG.getPrefix(), "tasks");
+    private static final long STAMP_TTL_HOURS = 1;
+
+    RedisService redisService;
+
+    @Override
+    public String getTaskETag(Long id, Long version) {
+        return version == null ? null : "W/\"task-" + id + "-v" + version + "\"";
+    }
+
+    @Override
+    public String getStampedTaskETag(Long id) {
+        return getTaskETag(id, redisService.getObject(stampKey(id), new TypeReference<Long>() {}));
+    }
+
+    @Override
+    public void recordRead(Long id, Long version) {
+        // A read never overwrites the stamp of a concurrent write
+        if (version != null) {
+            redisService.setIfAbsent(stampKey(id), version, STAMP_TTL_HOURS, TimeUnit.HOURS);
+        }
+    }
+
+    @Override
+    public void recordWrite(Long id, Long version) {
+        try {
+            if (version == null) {
+                redisService.delete(stampKey(id));
+            } else {
+                redisService.setObject(stampKey(id), version, STAMP_TTL_HOURS, TimeUnit.HOURS);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to record version of task {}: {}", id, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evictTask(Long id) {
+        redisService.delete(stampKey(id));
+    }
+
+    @Override
+    public String getTasksETag() {
+        Long generation = redisService.getObject(TASKS_GENERATION_KEY, new TypeReference<Long>() {});
+        if (generation == null) {
+            generation = redisService.increment(TASKS_GENERATION_KEY);
+        }
+        return "W/\"tasks-g" + generation + "\"";
+    }
+
+    @Override
+    public void bumpTasksGeneration() {
+        try {
+            redisService.increment(TASKS_GENERATION_KEY);
+        } catch (RuntimeException e) {
+            log.warn("Failed to bump task list generation: {}", e.getMessage());
+        }
+    }
+
+
+    // utility methods
+
+    /**
+     * Builds the version stamp key of a task.
+     */
+    private String stampKey(Long id) {
+        return RedisUtils.withPrefix(RedisPrefix.ETAG.getPrefix(), "task:" + id);
+    }
+}
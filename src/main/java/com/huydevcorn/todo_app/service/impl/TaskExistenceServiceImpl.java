@@ -0,0 +1,173 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.datasource.ReplicaRoutingContext;
+import com.huydevcorn.todo_app.enums.RedisPrefix;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.TaskExistenceService;
+import com.huydevcorn.todo_app.utils.RedisUtils;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the TaskExistenceService interface.
+ * The filter is a Redis bitmap with one bit per task ID, which takes one bit per ID ever allocated and,
+ * unlike a Bloom filter, supports removal and has no false positives for deleted tasks. Bit 0 is never
+ * a task ID and marks the bitmap as complete, so a bitmap lost from Redis or still being built is never
+ * trusted to rule an ID out; recent misses are remembered under short-lived keys instead.
+ */
+@Service
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class TaskExistenceServiceImpl implements TaskExistenceService {
+    private static final String IDS_KEY = RedisUtils.withPrefix(RedisPrefix.TASK.getPrefix(), "ids");
+    private static final long COMPLETE_BIT = 0;
+    private static final long MAX_BIT = (1L << 32) - 1;
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+    private static final String SELECT_IDS_SQL = "SELECT id FROM tasks";
+
+    JdbcTemplate jdbcTemplate;
+    RedisService redisService;
+    Duration missingTtl;
+
+    /**
+     * Constructs the service.
+     *
+     * @param jdbcTemplate the JDBC template used to scan task IDs
+     * @param redisService the Redis service holding the filter and recent misses
+     * @param missingTtl how long a miss is remembered
+     */
+    public TaskExistenceServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            RedisService redisService,
+            @Value("${app.task-ids.missing-ttl:30s}") Duration missingTtl
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisService = redisService;
+        this.missingTtl = missingTtl;
+    }
+
+    @Override
+    public void checkExists(Long id) {
+        // IDs past the largest bitmap offset are always looked up
+        if (id == null || id <= COMPLETE_BIT || id > MAX_BIT) {
+            return;
+        }
+
+        try {
+            // A complete filter is exact for IDs it holds, so only its absence is conclusive
+            List<Boolean> bits = redisService.getBits(IDS_KEY, COMPLETE_BIT, id);
+            if (bits.get(0)) {
+                if (!bits.get(1)) {
+                    throw new AppException(ErrorCode.TASK_NOT_FOUND);
+                }
+                return;
+            }
+
+            // Without a complete filter, fall back to recent misses
+            if (redisService.hasKey(missingKey(id))) {
+                throw new AppException(ErrorCode.TASK_NOT_FOUND);
+            }
+        } catch (AppException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Failed to check existence of task {}: {}", id, e.getMessage());
+        }
+    }
+
+    @Override
+    public void recordMissing(Long id) {
+        // A replica may not have the task yet, so only the primary can tell that it is missing
+        if (ReplicaRoutingContext.isReadFromReplica()) {
+            return;
+        }
+        try {
+            redisService.setObject(missingKey(id), true, missingTtl.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            log.warn("Failed to record missing task {}: {}", id, e.getMessage());
+        }
+    }
+
+    @Override
+    public void recordCreated(Collection<Long> ids) {
+        List<Long> offsets = ids.stream()
+                .filter(id -> id > COMPLETE_BIT && id <= MAX_BIT)
+                .toList();
+        try {
+            redisService.setBits(IDS_KEY, offsets, true);
+            redisService.delete(ids.stream().map(this::missingKey).toList());
+        } catch (RuntimeException e) {
+            // A filter missing a created task would reject it, so stop trusting the filter until the next rebuild
+            log.warn("Failed to record created tasks {}: {}", ids, e.getMessage());
+            invalidate();
+        }
+    }
+
+    @Override
+    public void recordDeleted(Long id) {
+        if (id <= COMPLETE_BIT || id > MAX_BIT) {
+            return;
+        }
+        try {
+            redisService.setBits(IDS_KEY, List.of(id), false);
+        } catch (RuntimeException e) {
+            log.warn("Failed to record deleted task {}: {}", id, e.getMessage());
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.task-ids.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        // Bits are only added, so tasks created by other instances during the scan are kept
+        List<Long> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+        try {
+            jdbcTemplate.query(SELECT_IDS_SQL, (RowCallbackHandler) rs -> {
+                long id = rs.getLong("id");
+                if (id > COMPLETE_BIT && id <= MAX_BIT) {
+                    batch.add(id);
+                }
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    redisService.setBits(IDS_KEY, batch, true);
+                    batch.clear();
+                }
+            });
+            redisService.setBits(IDS_KEY, batch, true);
+            redisService.setBits(IDS_KEY, List.of(COMPLETE_BIT), true);
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild the task ID filter: {}", e.getMessage());
+        }
+    }
+
+
+    // utility methods
+
+    /**
+     * Builds the key remembering that a task was not found.
+     */
+    private String missingKey(Long id) {
+        return RedisUtils.withPrefix(RedisPrefix.TASK.getPrefix(), "missing:" + id);
+    }
+
+    /**
+     * Marks the filter as incomplete, so it no longer rules IDs out.
+     */
+    private void invalidate() {
+        try {
+            redisService.setBits(IDS_KEY, List.of(COMPLETE_BIT), false);
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate the task ID filter: {}", e.getMessage());
+        }
+    }
+}
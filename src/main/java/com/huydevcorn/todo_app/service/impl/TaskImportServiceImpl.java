@@ -0,0 +1,555 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.huydevcorn.todo_app.dto.request.TaskImportRow;
+import com.huydevcorn.todo_app.dto.response.ImportReportResponse;
+import com.huydevcorn.todo_app.dto.response.ImportRowErrorResponse;
+import com.huydevcorn.todo_app.dto.response.NotificationResponse;
+import com.huydevcorn.todo_app.enums.ImportFormat;
+import com.huydevcorn.todo_app.enums.RedisPrefix;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.index.TaskBitmapIndex;
+import com.huydevcorn.todo_app.index.TaskDependencyFilter;
+import com.huydevcorn.todo_app.notification.NotificationScheduler;
+import com.huydevcorn.todo_app.repository.TaskDependencyBulkRepository;
+import com.huydevcorn.todo_app.repository.TaskDependencyRepository;
+import com.huydevcorn.todo_app.service.NotificationService;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.SideEffectService;
+import com.huydevcorn.todo_app.service.TaskCalendarService;
+import com.huydevcorn.todo_app.service.TaskETagService;
+import com.huydevcorn.todo_app.service.TaskExistenceService;
+import com.huydevcorn.todo_app.service.TaskImportService;
+import com.huydevcorn.todo_app.service.TaskStatsService;
+import com.huydevcorn.todo_app.utils.CsvUtils;
+import com.huydevcorn.todo_app.utils.DependencyGraphUtils;
+import com.huydevcorn.todo_app.utils.RedisUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Implementation of the TaskImportService interface.
+ * Rows are streamed from the uploaded file straight into a temporary staging table with PostgreSQL COPY,
+ * so only external ids and dependency edges are held in memory, never the whole file.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class TaskImportServiceImpl implements TaskImportService {
+    private static final int PROGRESS_INTERVAL = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String PROGRESS_DESTINATION = "/notification/import-progress";
+    private static final String IMPORT_SIDE_EFFECT_KEY = "import";
+
+    private static final String CREATE_STAGING_TABLE_SQL = """
+            CREATE TEMP TABLE task_import_staging (
+                line_no BIGINT PRIMARY KEY,
+                external_id TEXT NOT NULL UNIQUE,
+                title TEXT NOT NULL,
+                description TEXT,
+                due_date TIMESTAMP,
+                priority VARCHAR(255) NOT NULL,
+                depends_on TEXT,
+                task_id BIGINT
+            ) ON COMMIT DROP
+            """;
+    private static final String COPY_STAGING_SQL =
+            "COPY task_import_staging (line_no, external_id, title, description, due_date, priority, depends_on) "
+                    + "FROM STDIN WITH (FORMAT csv)";
+    private static final String ASSIGN_IDS_SQL =
+            "UPDATE task_import_staging SET task_id = nextval(pg_get_serial_sequence('tasks', 'id'))";
+    private static final String RESOLVE_EDGES_SQL = """
+            SELECT s.line_no, s.external_id, s.task_id, d.ref, t.task_id AS target_id, e.id AS existing_id, e.status AS existing_status
+            FROM task_import_staging s
+            CROSS JOIN LATERAL unnest(string_to_array(s.depends_on, ';')) AS d(ref)
+            LEFT JOIN task_import_staging t ON t.external_id = d.ref
+            LEFT JOIN tasks e ON t.task_id IS NULL
+                AND e.id = CASE WHEN d.ref ~ '^[0-9]{1,18}$' THEN CAST(d.ref AS BIGINT) END
+            WHERE s.depends_on IS NOT NULL
+            """;
+    private static final String INSERT_TASKS_SQL = """
+            INSERT INTO tasks (id, title, description, due_date, priority, status, create_at)
+            SELECT task_id, title, description, due_date, priority, 'PENDING', LOCALTIMESTAMP
+            FROM task_import_staging
+            """;
+    private static final String SELECT_TASK_IDS_SQL =
+            "SELECT task_id FROM task_import_staging";
+    private static final String SELECT_REMINDERS_SQL =
+            "SELECT task_id, title, due_date FROM task_import_staging WHERE due_date IS NOT NULL";
+
+    JdbcTemplate jdbcTemplate;
+    ObjectMapper objectMapper;
+    NotificationScheduler notificationScheduler;
+    RedisService redisService;
+    NotificationService notificationService;
+    TaskStatsService taskStatsService;
+    TaskCalendarService taskCalendarService;
+    TaskETagService taskETagService;
+    SideEffectService sideEffectService;
+    TaskBitmapIndex taskBitmapIndex;
+    TaskExistenceService taskExistenceService;
+    TaskDependencyFilter taskDependencyFilter;
+    TaskDependencyRepository taskDependencyRepository;
+
+    @Override
+    @Transactional
+    public ImportReportResponse importTasks(MultipartFile file, String format, String user) {
+        // Validate the uploaded file and its format
+        if (file == null || file.isEmpty()) {
+            throw new AppException(ErrorCode.IMPORT_FILE_IS_REQUIRED);
+        }
+        ImportFormat importFormat = resolveFormat(file.getOriginalFilename(), format);
+        ImportContext context = new ImportContext(user);
+
+        // Stream valid rows into the staging table
+        jdbcTemplate.execute(CREATE_STAGING_TABLE_SQL);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING_SQL);
+                try {
+                    stageRows(reader, importFormat, copyIn, context);
+                    copyIn.endCopy();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                }
+                return null;
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to read import file {}", file.getOriginalFilename(), e);
+            throw new AppException(ErrorCode.IMPORT_FAILED);
+        }
+
+        if (context.stagedRows > 0) {
+            // Reserve task ids up front so external ids can be resolved before the tasks are inserted
+            jdbcTemplate.update(ASSIGN_IDS_SQL);
+            List<ImportEdge> edges = resolveEdges(context);
+
+            context.importedTasks = jdbcTemplate.update(INSERT_TASKS_SQL);
+            if (!edges.isEmpty()) {
+                taskDependencyRepository.insertDependencies(edges.stream()
+                        .map(edge -> new TaskDependencyBulkRepository.Edge(edge.taskId(), edge.dependsOnTaskId()))
+                        .toList());
+            }
+            context.importedDependencies = edges.size();
+
+            // Imported tasks become visible on commit, so they must pass the existence filter by then
+            taskExistenceService.recordCreated(jdbcTemplate.queryForList(SELECT_TASK_IDS_SQL, Long.class));
+
+            scheduleAfterCommit(loadReminders(), !edges.isEmpty());
+        }
+
+        publishProgress(context);
+        log.info("Imported {} tasks and {} dependencies from {} rows", context.importedTasks, context.importedDependencies, context.totalRows);
+
+        return ImportReportResponse.builder()
+                .totalRows(context.totalRows)
+                .importedTasks(context.importedTasks)
+                .rejectedRows(context.rejectedRows)
+                .importedDependencies(context.importedDependencies)
+                .rejectedDependencies(context.rejectedDependencies)
+                .errorsTruncated(context.errorsTruncated)
+                .errors(context.errors)
+                .build();
+    }
+
+
+    // utility methods
+
+    /**
+     * Resolves the import format from the explicit parameter or the file extension.
+     *
+     * @param fileName the original file name
+     * @param format the requested format, may be null
+     * @return the resolved import format
+     */
+    private ImportFormat resolveFormat(String fileName, String format) {
+        if (format != null) {
+            return Arrays.stream(ImportFormat.values())
+                    .filter(e -> e.name().equalsIgnoreCase(format))
+                    .findFirst()
+                    .orElseThrow(() -> new AppException(ErrorCode.INVALID_IMPORT_FORMAT));
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase();
+        return Arrays.stream(ImportFormat.values())
+                .filter(e -> name.endsWith(e.getExtension()))
+                .findFirst()
+                .orElseThrow(() -> new AppException(ErrorCode.INVALID_IMPORT_FORMAT));
+    }
+
+    /**
+     * Reads the file record by record, validates each row and writes the valid ones to the COPY stream.
+     * NDJSON records are lines; CSV records may span lines inside quoted fields.
+     *
+     * @param reader the reader over the uploaded file
+     * @param format the file format
+     * @param copyIn the open COPY operation on the staging table
+     * @param context the import context collecting counters and errors
+     */
+    private void stageRows(BufferedReader reader, ImportFormat format, CopyIn copyIn, ImportContext context)
+            throws IOException, SQLException {
+        Map<String, Integer> header = null;
+        Set<String> externalIds = new HashSet<>();
+        long lastLineNo = 0;
+        String record;
+
+        while ((record = format == ImportFormat.CSV ? CsvUtils.readRecord(reader) : reader.readLine()) != null) {
+            // Rows are numbered by the line they start on
+            long lineNo = lastLineNo + 1;
+            lastLineNo += record.chars().filter(c -> c == '\n').count() + 1;
+            if (record.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.CSV && header == null) {
+                header = parseHeader(record);
+                continue;
+            }
+            context.totalRows++;
+
+            // Parse the row, rejecting it if it is malformed
+            TaskImportRow row;
+            try {
+                row = format == ImportFormat.NDJSON
+                        ? objectMapper.readValue(record, TaskImportRow.class)
+                        : parseCsvRow(CsvUtils.parseLine(record), header);
+            } catch (IOException | RuntimeException e) {
+                context.rejectRow(lineNo, null, ErrorCode.INVALID_IMPORT_ROW);
+                continue;
+            }
+
+            ErrorCode error = validateRow(row, externalIds);
+            if (error != null) {
+                context.rejectRow(lineNo, row.getExternalId(), error);
+                continue;
+            }
+
+            byte[] bytes = toStagingLine(lineNo, row).getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            context.stagedRows++;
+
+            if (context.totalRows % PROGRESS_INTERVAL == 0) {
+                publishProgress(context);
+            }
+        }
+    }
+
+    /**
+     * Parses the CSV header into a map of normalized column names to indexes.
+     *
+     * @param record the header record
+     * @return the column index map
+     */
+    private Map<String, Integer> parseHeader(String record) {
+        List<String> columns = CsvUtils.parseLine(record);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(normalizeColumn(columns.get(i)), i);
+        }
+        if (!header.containsKey("externalid") || !header.containsKey("title")) {
+            throw new AppException(ErrorCode.INVALID_IMPORT_HEADER);
+        }
+        return header;
+    }
+
+    /**
+     * Builds an import row from CSV fields. Dependencies are separated by ';'.
+     *
+     * @param fields the CSV fields
+     * @param header the column index map
+     * @return the import row
+     */
+    private TaskImportRow parseCsvRow(List<String> fields, Map<String, Integer> header) {
+        String dueDate = column(fields, header, "duedate");
+        String dependsOn = column(fields, header, "dependson");
+        return TaskImportRow.builder()
+                .externalId(column(fields, header, "externalid"))
+                .title(column(fields, header, "title"))
+                .description(column(fields, header, "description"))
+                .priority(column(fields, header, "priority"))
+                .dueDate(dueDate == null ? null : LocalDateTime.parse(dueDate))
+                .dependsOn(dependsOn == null ? null : List.of(dependsOn.split(";")))
+                .build();
+    }
+
+    /**
+     * Returns the value of a CSV column, or null if the column is absent or blank.
+     */
+    private String column(List<String> fields, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    /**
+     * Normalizes a column name so that 'external_id', 'externalId' and 'External Id' are equivalent.
+     */
+    private String normalizeColumn(String column) {
+        return column.replaceAll("[_\\s]", "").toLowerCase();
+    }
+
+    /**
+     * Validates an import row with the same rules as task creation and normalizes it in place.
+     *
+     * @param row the row to validate
+     * @param externalIds the external ids already staged
+     * @return the error code, or null if the row is valid
+     */
+    private ErrorCode validateRow(TaskImportRow row, Set<String> externalIds) {
+        if (row.getExternalId() == null || row.getExternalId().isBlank() || row.getExternalId().contains(";")) {
+            return ErrorCode.EXTERNAL_ID_IS_REQUIRED;
+        }
+        row.setExternalId(row.getExternalId().trim());
+
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return ErrorCode.TITLE_IS_REQUIRED;
+        }
+
+        if (row.getPriority() != null) {
+            boolean isValid = Arrays.stream(TaskPriority.values())
+                    .anyMatch(e -> e.name().equalsIgnoreCase(row.getPriority()));
+            if (!isValid) {
+                return ErrorCode.INVALID_PRIORITY;
+            }
+        }
+
+        if (row.getDueDate() != null && row.getDueDate().isBefore(LocalDateTime.now())) {
+            return ErrorCode.DUE_DATE_MUST_BE_AFTER_NOW;
+        }
+
+        if (row.getDependsOn() != null) {
+            Set<String> dependsOn = new LinkedHashSet<>();
+            row.getDependsOn().stream()
+                    .filter(Objects::nonNull)
+                    .map(String::trim)
+                    .filter(ref -> !ref.isEmpty())
+                    .forEach(dependsOn::add);
+            if (dependsOn.contains(row.getExternalId())) {
+                return ErrorCode.TASK_CANNOT_DEPEND_ON_ITSELF;
+            }
+            row.setDependsOn(new ArrayList<>(dependsOn));
+        }
+
+        if (!externalIds.add(row.getExternalId())) {
+            return ErrorCode.DUPLICATE_EXTERNAL_ID;
+        }
+        return null;
+    }
+
+    /**
+     * Formats a validated row as a COPY CSV line for the staging table.
+     */
+    private String toStagingLine(long lineNo, TaskImportRow row) {
+        String priority = row.getPriority() == null ? TaskPriority.MEDIUM.name() : row.getPriority().toUpperCase();
+        String dependsOn = row.getDependsOn() == null || row.getDependsOn().isEmpty()
+                ? null
+                : String.join(";", row.getDependsOn());
+        return String.join(",",
+                Long.toString(lineNo),
+                CsvUtils.quote(row.getExternalId()),
+                CsvUtils.quote(row.getTitle()),
+                CsvUtils.quote(row.getDescription()),
+                row.getDueDate() == null ? "" : row.getDueDate().toString(),
+                priority,
+                CsvUtils.quote(dependsOn)
+        ) + "\n";
+    }
+
+    /**
+     * Resolves dependency references to task ids and validates the resulting edges.
+     * References match external ids in the file first, then ids of existing tasks. A reference to a rejected
+     * row of the file is an error, never a fallback to an existing task that happens to have that id.
+     * Existing tasks never depend on newly imported ones, so a cycle can only be formed by
+     * edges between imported tasks; those are checked together in a single pass over their graph.
+     *
+     * @param context the import context collecting errors
+     * @return the edges to insert
+     */
+    private List<ImportEdge> resolveEdges(ImportContext context) {
+        List<ImportEdge> edges = new ArrayList<>();
+        List<ImportEdge> internalEdges = new ArrayList<>();
+
+        jdbcTemplate.query(RESOLVE_EDGES_SQL, (RowCallbackHandler) rs -> {
+            long lineNo = rs.getLong("line_no");
+            String externalId = rs.getString("external_id");
+            long taskId = rs.getLong("task_id");
+
+            long targetId = rs.getLong("target_id");
+            if (!rs.wasNull()) {
+                internalEdges.add(new ImportEdge(lineNo, externalId, taskId, targetId));
+                return;
+            }
+
+            // A rejected row may share its external id with an existing task it has nothing to do with
+            if (context.rejectedExternalIds.contains(rs.getString("ref"))) {
+                context.rejectDependency(lineNo, externalId, ErrorCode.DEPENDENCY_ROW_REJECTED);
+                return;
+            }
+
+            long existingId = rs.getLong("existing_id");
+            if (rs.wasNull()) {
+                context.rejectDependency(lineNo, externalId, ErrorCode.DEPENDENT_TASK_NOT_FOUND);
+            } else if (TaskStatus.OVERDUE.name().equals(rs.getString("existing_status"))) {
+                context.rejectDependency(lineNo, externalId, ErrorCode.CAN_NOT_ADD_OVERDUE_TASK_AS_DEPENDENCY);
+            } else {
+                edges.add(new ImportEdge(lineNo, externalId, taskId, existingId));
+            }
+        });
+
+        // Only edges inside a strongly connected component lie on a cycle; edges into a cycle are kept
+        Map<Long, List<Long>> dependsOn = new HashMap<>();
+        for (ImportEdge edge : internalEdges) {
+            dependsOn.computeIfAbsent(edge.taskId(), k -> new ArrayList<>()).add(edge.dependsOnTaskId());
+        }
+        Map<Long, Integer> components = DependencyGraphUtils.findCycleComponents(dependsOn);
+        for (ImportEdge edge : internalEdges) {
+            Integer component = components.get(edge.taskId());
+            if (component != null && component.equals(components.get(edge.dependsOnTaskId()))) {
+                context.rejectDependency(edge.lineNo(), edge.externalId(), ErrorCode.CIRCULAR_DEPENDENCY);
+            } else {
+                edges.add(edge);
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Loads the imported tasks that need a due date reminder.
+     */
+    private List<ImportReminder> loadReminders() {
+        return jdbcTemplate.query(SELECT_REMINDERS_SQL, (rs, rowNum) -> new ImportReminder(
+                rs.getLong("task_id"),
+                rs.getString("title"),
+                rs.getTimestamp("due_date").toLocalDateTime()
+        ));
+    }
+
+    /**
+     * Takes a new list entity tag before the response, then schedules reminders and clears caches in the
+     * background once the import transaction has committed, so no reminder can fire for a task that was rolled back.
+     *
+     * @param reminders the reminders to schedule
+     * @param dependenciesChanged whether dependency caches must be cleared
+     */
+    private void scheduleAfterCommit(List<ImportReminder> reminders, boolean dependenciesChanged) {
+        sideEffectService.afterCommitInline("bump-task-lists-generation", taskETagService::bumpTasksGeneration);
+        sideEffectService.afterCommit(IMPORT_SIDE_EFFECT_KEY, "schedule-imported-reminders",
+                () -> reminders.forEach(r -> notificationScheduler.scheduleTask(r.taskId(), r.title(), r.dueDate())));
+        sideEffectService.afterCommit(IMPORT_SIDE_EFFECT_KEY, "clear-imported-caches", () -> {
+            // Counters and the task indexes are rebuilt in one pass rather than updated row by row
+            taskStatsService.reconcile();
+            taskBitmapIndex.rebuild();
+            if (dependenciesChanged) {
+                taskDependencyFilter.rebuild();
+            }
+
+            // Clear related cache
+            redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.TASKS.getPrefix(), "*"));
+            taskCalendarService.evictAll();
+            taskETagService.bumpTasksGeneration();
+            if (dependenciesChanged) {
+                redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.DEPENDENCIES.getPrefix(), "*"));
+                redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.DEPENDENCY_GRAPH.getPrefix(), "*"));
+                redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.CHECK_CIRCLE.getPrefix(), "*"));
+            }
+        });
+    }
+
+    /**
+     * Publishes the import progress to the sessions of the importing user, if known.
+     */
+    private void publishProgress(ImportContext context) {
+        String message = String.format("Processed %d rows: %d staged, %d rejected",
+                context.totalRows, context.stagedRows, context.rejectedRows);
+        log.debug(message);
+        if (context.user == null) {
+            return;
+        }
+        notificationService.sendToUser(context.user, PROGRESS_DESTINATION, NotificationResponse.builder()
+                .title("Import Progress")
+                .message(message)
+                .build());
+    }
+
+    /**
+     * A resolved dependency edge together with the file line it came from.
+     */
+    private record ImportEdge(long lineNo, String externalId, long taskId, long dependsOnTaskId) {}
+
+    /**
+     * A reminder to schedule for an imported task.
+     */
+    private record ImportReminder(long taskId, String title, LocalDateTime dueDate) {}
+
+    /**
+     * Mutable counters and errors for a single import.
+     */
+    private static class ImportContext {
+        final String user;
+        long totalRows;
+        long stagedRows;
+        long rejectedRows;
+        long importedTasks;
+        long importedDependencies;
+        long rejectedDependencies;
+        boolean errorsTruncated;
+        List<ImportRowErrorResponse> errors = new ArrayList<>();
+        Set<String> rejectedExternalIds = new HashSet<>();
+
+        ImportContext(String user) {
+            this.user = user;
+        }
+
+        void rejectRow(long lineNo, String externalId, ErrorCode errorCode) {
+            rejectedRows++;
+            if (externalId != null) {
+                rejectedExternalIds.add(externalId.trim());
+            }
+            addError(lineNo, externalId, errorCode);
+        }
+
+        void rejectDependency(long lineNo, String externalId, ErrorCode errorCode) {
+            rejectedDependencies++;
+            addError(lineNo, externalId, errorCode);
+        }
+
+        private void addError(long lineNo, String externalId, ErrorCode errorCode) {
+            if (errors.size() >= MAX_REPORTED_ERRORS) {
+                errorsTruncated = true;
+                return;
+            }
+            errors.add(ImportRowErrorResponse.builder()
+                    .line(lineNo)
+                    .externalId(externalId)
+                    .code(errorCode.getCode())
+                    .message(errorCode.getMessage())
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.huydevcorn.todo_app.datasource.ReplicaRoutingContext;
+import com.huydevcorn.todo_app.dto.request.TaskFilter;
+import com.huydevcorn.todo_app.dto.response.TaskQueryWindow;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.repository.TaskRepository;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.TaskQueryCacheService;
+import com.huydevcorn.todo_app.utils.TaskQueryUtils;
+import com.huydevcorn.todo_app.utils.TaskSpecification;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the TaskQueryCacheService interface.
+ * A window caches the leading matching tasks of a filter with their status, priority and due date,
+ * so any page inside it is a slice, and a complete window also answers every filter that only adds
+ * status, priority or due date conditions to it. Windows share the {@code tasks:} prefix and are
+ * evicted with the cached pages on every task write.
+ */
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TaskQueryCacheServiceImpl implements TaskQueryCacheService {
+    TaskRepository taskRepository;
+    RedisService redisService;
+
+    @Getter
+    int windowSize;
+
+    /**
+     * Constructs a new TaskQueryCacheServiceImpl.
+     *
+     * @param taskRepository the task repository
+     * @param redisService the Redis service
+     * @param windowSize the maximum number of entries of a window
+     */
+    public TaskQueryCacheServiceImpl(
+            TaskRepository taskRepository,
+            RedisService redisService,
+            @Value("${app.tasks-cache.window-size:200}") int windowSize
+    ) {
+        this.taskRepository = taskRepository;
+        this.redisService = redisService;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public TaskQueryWindow getWindow(TaskFilter filter) {
+        // Check cache for the window of the filter and of every broader filter in one round trip
+        List<TaskFilter> candidates = broaderFilters(filter);
+        List<TaskQueryWindow> windows = redisService.getObjects(
+                candidates.stream().map(TaskQueryUtils::windowCacheKey).toList(),
+                new TypeReference<>() {}
+        );
+        if (windows.getFirst() != null) {
+            return windows.getFirst();
+        }
+
+        // Narrow the smallest complete window of a broader filter
+        TaskQueryWindow window = null;
+        for (int i = 1; i < candidates.size() && window == null; i++) {
+            TaskQueryWindow broader = windows.get(i);
+            if (broader != null && broader.isComplete()) {
+                window = narrow(broader, filter);
+            }
+        }
+
+        // Fall back to the database, fetching one extra entry to tell whether the window is complete
+        if (window == null) {
+            window = load(filter);
+        }
+
+        // Cache the window, unless it was read from a replica that may lag behind
+        if (!ReplicaRoutingContext.isReadFromReplica()) {
+            redisService.setObject(TaskQueryUtils.windowCacheKey(filter), window, 5, TimeUnit.MINUTES);
+        }
+
+        return window;
+    }
+
+
+    // utility methods
+
+    /**
+     * Lists the filter followed by every broader filter with the same keyword, obtained by dropping
+     * any combination of its status, priority and due date conditions, narrowest first.
+     */
+    private List<TaskFilter> broaderFilters(TaskFilter filter) {
+        List<TaskFilter> filters = new ArrayList<>();
+        boolean hasStatus = filter.getStatus() != null;
+        boolean hasPriority = filter.getPriority() != null;
+        boolean hasDueDate = filter.getStartDate() != null || filter.getEndDate() != null;
+        for (int mask = 0; mask < 8; mask++) {
+            boolean dropStatus = (mask & 1) != 0;
+            boolean dropPriority = (mask & 2) != 0;
+            boolean dropDueDate = (mask & 4) != 0;
+            if ((dropStatus && !hasStatus) || (dropPriority && !hasPriority) || (dropDueDate && !hasDueDate)) {
+                continue;
+            }
+            TaskFilter.TaskFilterBuilder builder = filter.toBuilder();
+            if (dropStatus) {
+                builder.status(null);
+            }
+            if (dropPriority) {
+                builder.priority(null);
+            }
+            if (dropDueDate) {
+                builder.startDate(null).endDate(null);
+            }
+            filters.add(builder.build());
+        }
+        filters.sort(Comparator.comparingInt(this::conditionCount).reversed());
+        return filters;
+    }
+
+    /**
+     * Counts the status, priority and due date conditions of a filter.
+     */
+    private int conditionCount(TaskFilter filter) {
+        int count = 0;
+        if (filter.getStatus() != null) count++;
+        if (filter.getPriority() != null) count++;
+        if (filter.getStartDate() != null || filter.getEndDate() != null) count++;
+        return count;
+    }
+
+    /**
+     * Narrows a complete window down to a stricter filter.
+     */
+    private TaskQueryWindow narrow(TaskQueryWindow broader, TaskFilter filter) {
+        List<TaskQueryWindow.Entry> entries = broader.getEntries().stream()
+                .filter(entry -> filter.matches(entry.getStatus(), entry.getPriority(), entry.getDueDate()))
+                .toList();
+        return TaskQueryWindow.builder()
+                .entries(entries)
+                .total(entries.size())
+                .complete(true)
+                .build();
+    }
+
+    /**
+     * Loads the window of a filter from the database, counting the matches only when they overflow the window.
+     */
+    private TaskQueryWindow load(TaskFilter filter) {
+        Specification<Task> spec = TaskSpecification.matching(filter);
+        List<TaskQueryWindow.Entry> entries = taskRepository.findWindow(spec, windowSize + 1);
+        if (entries.size() <= windowSize) {
+            return TaskQueryWindow.builder()
+                    .entries(entries)
+                    .total(entries.size())
+                    .complete(true)
+                    .build();
+        }
+        return TaskQueryWindow.builder()
+                .entries(entries.subList(0, windowSize))
+                .total(taskRepository.count(spec))
+                .complete(false)
+                .build();
+    }
+}
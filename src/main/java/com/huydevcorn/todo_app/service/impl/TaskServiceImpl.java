@@ -1,37 +1,56 @@
 package com.huydevcorn.todo_app.service.impl;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.huydevcorn.todo_app.datasource.ReplicaRoutingContext;
 import com.huydevcorn.todo_app.dto.request.TaskCreationRequest;
 import com.huydevcorn.todo_app.dto.request.TaskUpdateRequest;
+import com.huydevcorn.todo_app.dto.response.NotificationResponse;
 import com.huydevcorn.todo_app.dto.response.PaginationResponse;
+import com.huydevcorn.todo_app.dto.response.TaskNodeResponse;
+import com.huydevcorn.todo_app.dto.response.TaskQueryWindow;
 import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.dto.response.TaskStatsResponse;
 import com.huydevcorn.todo_app.entity.Task;
-import com.huydevcorn.todo_app.entity.TaskDependency;
 import com.huydevcorn.todo_app.enums.RedisPrefix;
 import com.huydevcorn.todo_app.enums.TaskPriority;
 import com.huydevcorn.todo_app.enums.TaskStatus;
 import com.huydevcorn.todo_app.exception.AppException;
 import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.index.TaskBitmapIndex;
+import com.huydevcorn.todo_app.index.TaskDependencyFilter;
 import com.huydevcorn.todo_app.mapper.TaskMapper;
 import com.huydevcorn.todo_app.notification.NotificationScheduler;
 import com.huydevcorn.todo_app.repository.TaskDependencyRepository;
 import com.huydevcorn.todo_app.repository.TaskRepository;
+import com.huydevcorn.todo_app.repository.TaskStatusTransitionRepository;
+import com.huydevcorn.todo_app.service.NotificationService;
 import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.SideEffectService;
+import com.huydevcorn.todo_app.service.TaskCalendarService;
+import com.huydevcorn.todo_app.service.TaskETagService;
+import com.huydevcorn.todo_app.service.TaskExistenceService;
+import com.huydevcorn.todo_app.service.TaskQueryCacheService;
 import com.huydevcorn.todo_app.service.TaskService;
+import com.huydevcorn.todo_app.service.TaskStatsService;
 import com.huydevcorn.todo_app.utils.RedisUtils;
+import com.huydevcorn.todo_app.utils.TaskQueryUtils;
 import com.huydevcorn.todo_app.utils.TaskSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -42,11 +61,22 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 @FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
 public class TaskServiceImpl implements TaskService {
+    private static final String UNBLOCKED_DESTINATION = "/notification/unblocked-tasks";
+
     TaskRepository taskRepository;
     TaskMapper taskMapper;
     TaskDependencyRepository taskDependencyRepository;
     NotificationScheduler notificationScheduler;
+    NotificationService notificationService;
     RedisService redisService;
+    TaskStatsService taskStatsService;
+    TaskCalendarService taskCalendarService;
+    TaskETagService taskETagService;
+    SideEffectService sideEffectService;
+    TaskBitmapIndex taskBitmapIndex;
+    TaskQueryCacheService taskQueryCacheService;
+    TaskExistenceService taskExistenceService;
+    TaskDependencyFilter taskDependencyFilter;
 
     @Override
     public TaskResponse createTask(TaskCreationRequest request) {
@@ -74,19 +104,22 @@ public class TaskServiceImpl implements TaskService {
                 .build();
         newTask.setStatus(TaskStatus.PENDING);
         newTask.setPriority(priority);
+        long stamp = taskStatsService.beginChange();
         newTask = taskRepository.save(newTask);
-
-        // Schedule notification for the new task
-        if (newTask.getDueDate() != null) {
-            notificationScheduler.scheduleTask(
-                    newTask.getId(),
-                    newTask.getTitle(),
-                    newTask.getDueDate()
-            );
+        taskBitmapIndex.upsert(newTask);
+        taskExistenceService.recordCreated(List.of(newTask.getId()));
+
+        // Schedule notification for the new task in the background
+        Long id = newTask.getId();
+        String title = newTask.getTitle();
+        LocalDateTime dueDate = newTask.getDueDate();
+        if (dueDate != null) {
+            sideEffectService.afterCommit(id, "schedule-reminders",
+                    () -> notificationScheduler.scheduleTask(id, title, dueDate));
         }
 
-        // Clear related cache
-        redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.TASKS.getPrefix(), "*"));
+        // Update counters and clear list caches in the background
+        afterTaskWrite(id, stamp, Set.of(), taskStatsService.countersOf(newTask), dueDate);
 
         return taskMapper.toTaskResponse(newTask);
     }
@@ -103,8 +136,9 @@ public class TaskServiceImpl implements TaskService {
         }
 
         // Find and update task
-        Task updateTask = taskRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+        Task updateTask = findTask(id);
+        Set<String> countersBefore = taskStatsService.countersOf(updateTask);
+        LocalDateTime dueDateBefore = updateTask.getDueDate();
 
         if (request.getTitle() != null) {
             updateTask.setTitle(request.getTitle());
@@ -122,21 +156,26 @@ public class TaskServiceImpl implements TaskService {
             updateTask.setDueDate(request.getDueDate());
         }
 
-        updateTask = taskRepository.save(updateTask);
-
-        // Reschedule notification for the updated task
-        notificationScheduler.cancelTask(id);
-        if (updateTask.getDueDate() != null) {
-            notificationScheduler.scheduleTask(
-                    updateTask.getId(),
-                    updateTask.getTitle(),
-                    updateTask.getDueDate()
-            );
-        }
+        long stamp = taskStatsService.beginChange();
+        updateTask = saveVersioned(updateTask);
+        taskBitmapIndex.upsert(updateTask);
 
-        // Clear related cache
+        // Clear the cached task before responding, so the client reads its own write
         redisService.delete(RedisUtils.withPrefix(RedisPrefix.TASK.getPrefix(), id.toString()));
-        redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.TASKS.getPrefix(), "*"));
+        taskETagService.recordWrite(id, updateTask.getVersion());
+
+        // Reschedule notification for the updated task in the background
+        String title = updateTask.getTitle();
+        LocalDateTime dueDate = updateTask.getDueDate();
+        sideEffectService.afterCommit(id, "reschedule-reminders", () -> {
+            notificationScheduler.cancelTask(id);
+            if (dueDate != null) {
+                notificationScheduler.scheduleTask(id, title, dueDate);
+            }
+        });
+
+        // Update counters and clear list caches in the background
+        afterTaskWrite(id, stamp, countersBefore, taskStatsService.countersOf(updateTask), dueDateBefore, dueDate);
 
         return taskMapper.toTaskResponse(updateTask);
     }
@@ -152,13 +191,14 @@ public class TaskServiceImpl implements TaskService {
         }
 
         // Fetch task from repository
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+        Task task = findTask(id);
 
         TaskResponse response = taskMapper.toTaskResponse(task);
 
-        // Cache the task response
-        redisService.setObject(key, response, 5, TimeUnit.MINUTES);
+        // Cache the task response, unless it was read from a replica that may lag behind
+        if (!ReplicaRoutingContext.isReadFromReplica()) {
+            redisService.setObject(key, response, 5, TimeUnit.MINUTES);
+        }
 
         return response;
     }
@@ -166,70 +206,86 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public void deleteTask(Long id) {
         // Find task
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+        Task task = findTask(id);
 
-        // Check for dependencies
-        if (taskDependencyRepository.existsByTaskId(id) || taskDependencyRepository.existsByDependsOnTaskId(id)) {
+        // Check for dependencies, querying only for tasks the filter may have seen linked
+        if (taskDependencyFilter.mightBeLinked(id)
+                && (taskDependencyRepository.existsByTaskId(id) || taskDependencyRepository.existsByDependsOnTaskId(id))) {
             throw new AppException(ErrorCode.CAN_NOT_DELETE_TASK_WITH_DEPENDENCY);
         }
 
-        // Delete task and cancel notification
-        taskRepository.delete(task);
-        notificationScheduler.cancelTask(id);
+        // Delete task; the foreign keys of task_dependencies catch links the filter has not seen yet
+        long stamp = taskStatsService.beginChange();
+        try {
+            taskRepository.delete(task);
+        } catch (DataIntegrityViolationException e) {
+            throw new AppException(ErrorCode.CAN_NOT_DELETE_TASK_WITH_DEPENDENCY);
+        }
+        taskBitmapIndex.remove(id);
+        taskExistenceService.recordDeleted(id);
 
-        // Clear related cache
+        // Clear the cached task before responding, so the client reads its own write
         redisService.delete(RedisUtils.withPrefix(RedisPrefix.TASK.getPrefix(), id.toString()));
-        redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.TASKS.getPrefix(), "*"));
+        taskETagService.evictTask(id);
+
+        // Cancel notification and drop watchers in the background
+        sideEffectService.afterCommit(id, "cancel-reminders", () -> {
+            notificationScheduler.cancelTask(id);
+            notificationService.clearWatchers(id);
+        });
+
+        // Update counters and clear list caches in the background
+        afterTaskWrite(id, stamp, taskStatsService.countersOf(task), Set.of(), task.getDueDate());
     }
 
     @Override
     public TaskResponse changeStatus(Long id, String status) {
-        // Find task
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
-
-        // Validate status change
-        if (task.getStatus() == TaskStatus.DONE) {
-            throw new AppException(ErrorCode.CAN_NOT_CHANGE_STATUS_OF_COMPLETED_TASK);
-        } else if (task.getStatus() == TaskStatus.OVERDUE) {
-            throw new AppException(ErrorCode.CAN_NOT_CHANGE_STATUS_OF_OVERDUE_TASK);
-        }
+        // Validate status
+        TaskStatus newStatus = Arrays.stream(TaskStatus.values())
+                .filter(e -> e.name().equalsIgnoreCase(status))
+                .findFirst()
+                .orElseThrow(() -> new AppException(ErrorCode.INVALID_STATUS));
+
+        // Reject unknown tasks before touching the database
+        taskExistenceService.checkExists(id);
+
+        // Update status in one statement, if the task is open and all of its dependencies are done
+        LocalDateTime now = LocalDateTime.now();
+        long stamp = taskStatsService.beginChange();
+        TaskStatusTransitionRepository.StatusTransition transition = taskRepository.transitionStatus(id, newStatus, now)
+                .orElseThrow(() -> resolveStatusConflict(id));
+        Task task = transition.task();
+        taskBitmapIndex.upsert(task);
+        Task taskBefore = Task.builder()
+                .status(transition.previousStatus())
+                .priority(task.getPriority())
+                .dueDate(task.getDueDate())
+                .build();
 
-        // Check dependencies
-        Set<TaskDependency> taskDependency = taskDependencyRepository.findByTask(task);
-        taskDependency.forEach(td -> {
-            if (td.getDependsOnTask().getStatus() != TaskStatus.DONE) {
-                throw new AppException(ErrorCode.CAN_NOT_UPDATE_STATUS_OF_TASK_WITH_DEPENDENCY);
-            }
-        });
+        // Clear the cached task before responding, so the client reads its own write
+        redisService.delete(RedisUtils.withPrefix(RedisPrefix.TASK.getPrefix(), id.toString()));
+        taskETagService.recordWrite(id, task.getVersion());
 
-        // Update status
-        try {
-            TaskStatus newStatus = TaskStatus.valueOf(status.toUpperCase());
-            task.setStatus(newStatus);
-            task = taskRepository.save(task);
+        // Cancel notification in the background if task is done
+        if (newStatus == TaskStatus.DONE) {
+            sideEffectService.afterCommit(id, "cancel-reminders", () -> notificationScheduler.cancelTask(id));
 
-            // Cancel notification if task is done
-            if (newStatus == TaskStatus.DONE) {
-                notificationScheduler.cancelTask(id);
-            }
+            // Tell the watchers of dependents whose last blocker this was; the filter may not have seen links
+            // made by other instances, so the query always runs
+            String title = task.getTitle();
+            sideEffectService.afterCommit(id, "notify-unblocked-dependents", () -> notifyUnblockedDependents(id, title));
+        }
 
-            // Clear related cache
-            redisService.delete(RedisUtils.withPrefix(RedisPrefix.TASK.getPrefix(), id.toString()));
-            redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.TASKS.getPrefix(), "*"));
+        // Update counters and clear list caches in the background
+        afterTaskWrite(id, stamp, taskStatsService.countersOf(taskBefore), taskStatsService.countersOf(task), task.getDueDate());
 
-            return taskMapper.toTaskResponse(task);
-        } catch (IllegalArgumentException e) {
-            throw new AppException(ErrorCode.INVALID_STATUS);
-        }
+        return taskMapper.toTaskResponse(task);
     }
 
     @Override
     public TaskResponse extendDueDate(Long id, LocalDateTime dueDate) {
         // Find task
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.TASK_NOT_FOUND));
+        Task task = findTask(id);
 
         // Validate due date
         if (dueDate.isBefore(LocalDateTime.now())) {
@@ -237,22 +293,25 @@ public class TaskServiceImpl implements TaskService {
         }
 
         // Update due date and status
+        Set<String> countersBefore = taskStatsService.countersOf(task);
+        LocalDateTime dueDateBefore = task.getDueDate();
         task.setDueDate(dueDate);
         task.setStatus(TaskStatus.PENDING);
-        task = taskRepository.save(task);
-
-        // Reschedule notification
-        if (task.getDueDate() != null) {
-            notificationScheduler.scheduleTask(
-                    task.getId(),
-                    task.getTitle(),
-                    task.getDueDate()
-            );
-        }
+        long stamp = taskStatsService.beginChange();
+        task = saveVersioned(task);
+        taskBitmapIndex.upsert(task);
 
-        // Clear related cache
+        // Clear the cached task before responding, so the client reads its own write
         redisService.delete(RedisUtils.withPrefix(RedisPrefix.TASK.getPrefix(), id.toString()));
-        redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.TASKS.getPrefix(), "*"));
+        taskETagService.recordWrite(id, task.getVersion());
+
+        // Reschedule notification in the background
+        String title = task.getTitle();
+        sideEffectService.afterCommit(id, "schedule-reminders",
+                () -> notificationScheduler.scheduleTask(id, title, dueDate));
+
+        // Update counters and clear list caches in the background
+        afterTaskWrite(id, stamp, countersBefore, taskStatsService.countersOf(task), dueDateBefore, dueDate);
 
         return taskMapper.toTaskResponse(task);
     }
@@ -265,81 +324,240 @@ public class TaskServiceImpl implements TaskService {
             String priority,
             LocalDate startDate,
             LocalDate endDate,
-            String status
+            String status,
+            Integer descriptionLength,
+            String fields
     ) {
-        // Validate pagination parameters
-        if (page < 1) {
-            throw new AppException(ErrorCode.INVALID_PAGE);
+        // Validate parameters
+        TaskQueryUtils.validateFilters(page, size, priority, startDate, endDate, status);
+        if (descriptionLength != null && descriptionLength < 1) {
+            throw new AppException(ErrorCode.INVALID_DESCRIPTION_LENGTH);
         }
-        if (size < 1) {
-            throw new AppException(ErrorCode.INVALID_PAGE_SIZE);
+        Set<String> fieldSet = TaskQueryUtils.parseFields(fields);
+
+        // Check cache for tasks
+        String key = TaskQueryUtils.tasksCacheKey(page, size, title, priority, startDate, endDate, status, descriptionLength, fieldSet);
+        TypeReference<PaginationResponse<TaskResponse>> typeRef = new TypeReference<>() {};
+        PaginationResponse<TaskResponse> cachedResponse = redisService.getObject(key, typeRef);
+        if (cachedResponse != null) {
+            return cachedResponse;
         }
 
-        // Validate priority
-        if (priority != null) {
-            boolean isValid = Arrays.stream(TaskPriority.values())
-                    .anyMatch(e -> e.name().equalsIgnoreCase(priority));
-            if (!isValid) {
-                throw new AppException(ErrorCode.INVALID_PRIORITY);
-            }
+        // Find the ids of the page in the in-process index when it covers the filters
+        Optional<TaskBitmapIndex.TaskIdSlice> slice = title == null || title.isBlank()
+                ? taskBitmapIndex.query(
+                        status == null ? null : TaskStatus.valueOf(status.toUpperCase()),
+                        priority == null ? null : TaskPriority.valueOf(priority.toUpperCase()),
+                        startDate,
+                        endDate,
+                        page,
+                        size)
+                : Optional.empty();
+        boolean fromIndex = slice.isPresent();
+
+        // Otherwise serve pages inside the leading window from the cached ids of the filter or of a broader filter
+        if (slice.isEmpty() && (long) page * size <= taskQueryCacheService.getWindowSize()) {
+            TaskQueryWindow window = taskQueryCacheService.getWindow(
+                    TaskQueryUtils.canonicalFilter(title, priority, startDate, endDate, status));
+            List<Long> ids = window.getEntries().stream()
+                    .skip((long) (page - 1) * size)
+                    .limit(size)
+                    .map(TaskQueryWindow.Entry::getId)
+                    .toList();
+            slice = Optional.of(new TaskBitmapIndex.TaskIdSlice(ids, window.getTotal()));
         }
 
-        // Validate status
-        if (status != null) {
-            boolean isValid = Arrays.stream(TaskStatus.values())
-                    .anyMatch(e -> e.name().equalsIgnoreCase(status));
-            if (!isValid) {
-                throw new AppException(ErrorCode.INVALID_STATUS);
-            }
+        // Fetch only the page bodies when the ids are known, or run the whole query
+        PaginationResponse<TaskResponse> response;
+        boolean complete = true;
+        if (slice.isPresent()) {
+            List<TaskResponse> tasks = taskRepository.findResponsesByIds(slice.get().ids(), descriptionLength, fieldSet);
+
+            // Tasks deleted since their ids were indexed leave the total as well as the page
+            int missing = slice.get().ids().size() - tasks.size();
+            complete = missing == 0;
+            response = toPage(page, size, slice.get().total() - missing, tasks);
+        } else {
+            response = findTasks(page, size, title, priority, startDate, endDate, status, descriptionLength, fieldSet);
         }
 
-        // Validate date range
-        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
-            throw new AppException(ErrorCode.START_DATE_MUST_BE_BEFORE_END_DATE);
+        // Cache the response, unless it has gaps or was read from a replica that may lag behind. Pages from the index
+        // are not shared either, since the index of this instance misses other instances' writes until its rebuild
+        if (complete && !fromIndex && !ReplicaRoutingContext.isReadFromReplica()) {
+            redisService.setObject(key, response, 5, TimeUnit.MINUTES);
         }
 
-        // Check cache for tasks
-        String key = RedisUtils.withPrefix(
-                RedisPrefix.TASKS.getPrefix(),
-                String.format("page=%d:size=%d:title=%s:priority=%s:start=%s:end=%s:status=%s",
-                        page, size,
-                        title != null ? title : "all",
-                        priority != null ? priority : "all",
-                        startDate != null ? startDate.toString() : "all",
-                        endDate != null ? endDate.toString() : "all",
-                        status != null ? status : "all"
-                )
-        );
+        return response;
+    }
 
-        TypeReference<PaginationResponse<TaskResponse>> typeRef = new TypeReference<>() {};
-        PaginationResponse<TaskResponse> cachedResponse = redisService.getObject(key, typeRef);
-        if (cachedResponse != null) {
-            return cachedResponse;
+    @Override
+    public TaskStatsResponse getStats() {
+        return taskStatsService.getStats();
+    }
+
+
+    // utility methods
+
+    /**
+     * Notifies the watchers of every open dependent of a done task that has no unfinished dependency left.
+     *
+     * @param id the ID of the done task
+     * @param title the title of the done task
+     */
+    private void notifyUnblockedDependents(Long id, String title) {
+        for (TaskNodeResponse dependent : taskDependencyRepository.findUnblockedDependents(id)) {
+            notificationService.sendToTaskWatchers(dependent.getId(), UNBLOCKED_DESTINATION, NotificationResponse.builder()
+                    .title("Task Unblocked")
+                    .message("Your task is no longer blocked: " + dependent.getTitle() + ", since " + title + " is done")
+                    .build());
         }
+    }
+
+    /**
+     * Builds a pagination response from a page of tasks.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param total the number of matching tasks
+     * @param tasks the tasks of the page
+     * @return the pagination response
+     */
+    private PaginationResponse<TaskResponse> toPage(int page, int size, long total, List<TaskResponse> tasks) {
+        return PaginationResponse.<TaskResponse>builder()
+                .page(page)
+                .perPage(size)
+                .totalPages((int) ((total + size - 1) / size))
+                .totalResults(total)
+                .results(tasks)
+                .build();
+    }
 
+    /**
+     * Finds a page of tasks in the database.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param title the title or description keyword, or null
+     * @param priority the priority filter, or null
+     * @param startDate the start of the due date range, or null
+     * @param endDate the end of the due date range, or null
+     * @param status the status filter, or null
+     * @param descriptionLength the maximum description length, or null
+     * @param fields the parsed sparse fieldset, or null
+     * @return the pagination response
+     */
+    private PaginationResponse<TaskResponse> findTasks(
+            int page,
+            int size,
+            String title,
+            String priority,
+            LocalDate startDate,
+            LocalDate endDate,
+            String status,
+            Integer descriptionLength,
+            Set<String> fields
+    ) {
         // Build specification for filtering tasks
-        Specification<Task> spec = Specification
-                .where(TaskSpecification.filterByTitleOrDescription(title))
-                .and(TaskSpecification.filterByPriority(priority == null ? null : priority.toUpperCase()))
-                .and(TaskSpecification.filterByDueDateRange(startDate, endDate))
-                .and(TaskSpecification.filterByStatus(status == null ? null : status.toUpperCase()));
+        Specification<Task> spec = TaskSpecification.matching(TaskQueryUtils.canonicalFilter(title, priority, startDate, endDate, status));
 
         // Fetch tasks from repository
         Pageable pageable = PageRequest.of(page - 1, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Task> taskPage = taskRepository.findAll(spec, pageable);
+        Page<TaskResponse> taskPage = taskRepository.findResponses(spec, pageable, descriptionLength, fields);
 
         // Build pagination response
-        PaginationResponse<TaskResponse> response = PaginationResponse.<TaskResponse>builder()
+        return PaginationResponse.<TaskResponse>builder()
                 .page(page)
                 .perPage(size)
                 .totalPages(taskPage.getTotalPages())
                 .totalResults(taskPage.getTotalElements())
-                .results(taskPage.map(taskMapper::toTaskResponse).getContent())
+                .results(taskPage.getContent())
                 .build();
+    }
 
-        // Cache the response
-        redisService.setObject(key, response, 5, TimeUnit.MINUTES);
+    /**
+     * Applies the side effects every task write shares. A new list entity tag is taken before the response,
+     * so the writer's next list request is never answered 304. The rest runs in the background, in order
+     * after the write's other side effects: counter deltas, then list and calendar cache eviction.
+     *
+     * @param id the ID of the written task
+     * @param stamp the counter stamp taken before the write
+     * @param countersBefore the counters of the task before the write
+     * @param countersAfter the counters of the task after the write
+     * @param dueDates the due dates whose calendar days changed
+     */
+    private void afterTaskWrite(Long id, long stamp, Set<String> countersBefore, Set<String> countersAfter,
+                                LocalDateTime... dueDates) {
+        sideEffectService.afterCommitInline("bump-task-lists-generation", taskETagService::bumpTasksGeneration);
+
+        // A delta applied twice would skew the counters, while a lost one is repaired by the reconciliation
+        sideEffectService.afterCommitOnce(id, "record-task-stats",
+                () -> taskStatsService.recordChange(stamp, countersBefore, countersAfter));
+        sideEffectService.afterCommit(id, "clear-task-lists", () -> {
+            redisService.deleteByPattern(RedisUtils.withPrefix(RedisPrefix.TASKS.getPrefix(), "*"));
+            taskCalendarService.evictDueDates(dueDates);
 
-        return response;
+            // A list read before the eviction may have been tagged with the generation taken on commit
+            taskETagService.bumpTasksGeneration();
+        });
+    }
+
+    /**
+     * Finds a task, rejecting IDs ruled out by the existence filter before querying the database
+     * and remembering IDs the database does not hold.
+     *
+     * @param id the ID of the task
+     * @return the task
+     */
+    private Task findTask(Long id) {
+        taskExistenceService.checkExists(id);
+        return taskRepository.findById(id).orElseThrow(() -> {
+            taskExistenceService.recordMissing(id);
+            return new AppException(ErrorCode.TASK_NOT_FOUND);
+        });
+    }
+
+    /**
+     * Saves a task read earlier in the request, failing if another write bumped its version in between.
+     *
+     * @param task the task to save
+     * @return the saved task
+     */
+    private Task saveVersioned(Task task) {
+        try {
+            return taskRepository.save(task);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new AppException(ErrorCode.TASK_MODIFIED_CONCURRENTLY);
+        }
+    }
+
+    /**
+     * Validates that a task in the given status may change status.
+     *
+     * @param status the current status of the task
+     */
+    private void validateStatusChange(TaskStatus status) {
+        if (status == TaskStatus.DONE) {
+            throw new AppException(ErrorCode.CAN_NOT_CHANGE_STATUS_OF_COMPLETED_TASK);
+        } else if (status == TaskStatus.OVERDUE) {
+            throw new AppException(ErrorCode.CAN_NOT_CHANGE_STATUS_OF_OVERDUE_TASK);
+        }
+    }
+
+    /**
+     * Explains why a status transition matched no row, by re-reading the task and its dependencies.
+     * Only runs on the rejected path, so successful transitions stay at one statement.
+     *
+     * @param id the ID of the task
+     * @return the exception to throw
+     */
+    private AppException resolveStatusConflict(Long id) {
+        Task current = findTask(id);
+        validateStatusChange(current.getStatus());
+        taskDependencyRepository.findByTask(current).forEach(td -> {
+            if (td.getDependsOnTask().getStatus() != TaskStatus.DONE) {
+                throw new AppException(ErrorCode.CAN_NOT_UPDATE_STATUS_OF_TASK_WITH_DEPENDENCY);
+            }
+        });
+        return new AppException(ErrorCode.TASK_MODIFIED_CONCURRENTLY);
     }
 }
@@ -0,0 +1,171 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.huydevcorn.todo_app.dto.response.TaskStatsResponse;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.RedisPrefix;
+import com.huydevcorn.todo_app.repository.TaskRepository;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.TaskStatsService;
+import com.huydevcorn.todo_app.utils.RedisUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Implementation of the TaskStatsService interface.
+ * Counters live in a single Redis hash with the fields {@code total}, {@code status:<STATUS>},
+ * {@code priority:<PRIORITY>} and {@code due:<yyyy-MM-dd>} or {@code due:none}, so reading
+ * all of them is one HGETALL regardless of the number of tasks.
+ * Every write takes a stamp from a sequence before it commits, and a reconciliation marks the counters
+ * with the sequence read after its query, so a delta counted by the rebuild is never applied on top of it.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = lombok.AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class TaskStatsServiceImpl implements TaskStatsService {
+    private static final String KEY = RedisUtils.withPrefix(RedisPrefix.TASK_STATS.getPrefix(), "counters");
+    private static final String SEQUENCE_KEY = RedisUtils.withPrefix(RedisPrefix.TASK_STATS.getPrefix(), "sequence");
+    private static final String RECONCILED_KEY = RedisUtils.withPrefix(RedisPrefix.TASK_STATS.getPrefix(), "reconciled");
+    private static final String TOTAL = "total";
+    private static final String STATUS = "status:";
+    private static final String PRIORITY = "priority:";
+    private static final String DUE = "due:";
+    private static final String NO_DUE_DATE = "none";
+
+    TaskRepository taskRepository;
+    RedisService redisService;
+
+    @Override
+    public Set<String> countersOf(Task task) {
+        if (task == null) {
+            return Set.of();
+        }
+        return Set.of(
+                TOTAL,
+                STATUS + task.getStatus().name(),
+                PRIORITY + task.getPriority().name(),
+                dueField(task.getDueDate() == null ? null : task.getDueDate().toLocalDate())
+        );
+    }
+
+    @Override
+    public long beginChange() {
+        try {
+            return redisService.increment(SEQUENCE_KEY);
+        } catch (RuntimeException e) {
+            // An unstamped delta is skipped after any reconciliation, and a lost update is repaired by the next one
+            log.warn("Failed to stamp task counter change: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void recordChange(long stamp, Set<String> before, Set<String> after) {
+        // Only counters that differ between the two states need updating
+        Map<String, Long> deltas = new HashMap<>();
+        before.stream().filter(field -> !after.contains(field)).forEach(field -> deltas.put(field, -1L));
+        after.stream().filter(field -> !before.contains(field)).forEach(field -> deltas.put(field, 1L));
+
+        try {
+            redisService.incrementHashIfAfter(KEY, deltas, RECONCILED_KEY, stamp);
+        } catch (RuntimeException e) {
+            // A lost update is corrected by the next reconciliation, so it must not fail the write
+            log.warn("Failed to update task counters: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public TaskStatsResponse getStats() {
+        Map<String, Long> counters = redisService.getHash(KEY);
+        if (counters.isEmpty()) {
+            reconcile();
+            counters = redisService.getHash(KEY);
+        }
+
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<String, Long> byPriority = new TreeMap<>();
+        Map<String, Long> byDueDate = new TreeMap<>();
+        long noDueDate = 0;
+
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            String field = entry.getKey();
+            long count = entry.getValue();
+            if (count == 0) {
+                continue;
+            }
+            if (field.startsWith(STATUS)) {
+                byStatus.put(field.substring(STATUS.length()), count);
+            } else if (field.startsWith(PRIORITY)) {
+                byPriority.put(field.substring(PRIORITY.length()), count);
+            } else if (field.equals(DUE + NO_DUE_DATE)) {
+                noDueDate = count;
+            } else if (field.startsWith(DUE)) {
+                byDueDate.put(field.substring(DUE.length()), count);
+            }
+        }
+
+        return TaskStatsResponse.builder()
+                .total(counters.getOrDefault(TOTAL, 0L))
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .byDueDate(byDueDate)
+                .noDueDate(noDueDate)
+                .build();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.task-stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        // Rebuild every counter from a single grouped query
+        Map<String, Long> counters = new HashMap<>();
+        for (Object[] row : taskRepository.countByStatusPriorityAndDueDay()) {
+            long count = ((Number) row[3]).longValue();
+            counters.merge(TOTAL, count, Long::sum);
+            counters.merge(STATUS + row[0], count, Long::sum);
+            counters.merge(PRIORITY + row[1], count, Long::sum);
+            counters.merge(dueField(toLocalDate(row[2])), count, Long::sum);
+        }
+
+        // Writes stamped up to now may be in the query's snapshot, so their deltas are skipped from here on;
+        // a write stamped later can only commit after the snapshot was taken
+        Long sequence = redisService.getObject(SEQUENCE_KEY, new TypeReference<>() {});
+        redisService.replaceHash(KEY, counters, RECONCILED_KEY, sequence == null ? 0 : sequence);
+        log.info("Reconciled task counters for {} tasks", counters.getOrDefault(TOTAL, 0L));
+    }
+
+
+    // utility methods
+
+    /**
+     * Builds the due date counter field of a day.
+     *
+     * @param dueDay the due day, or null for tasks without a due date
+     * @return the counter field
+     */
+    private String dueField(LocalDate dueDay) {
+        return DUE + (dueDay == null ? NO_DUE_DATE : dueDay.toString());
+    }
+
+    /**
+     * Converts a DATE column value returned by a native query to a LocalDate.
+     *
+     * @param value the column value
+     * @return the local date, or null
+     */
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
@@ -0,0 +1,106 @@
+package com.huydevcorn.todo_app.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for reading and writing CSV records.
+ */
+public class CsvUtils {
+    /**
+     * Reads the next CSV record. A record spans several lines when a quoted field contains line breaks,
+     * which are kept in the field as '\n'.
+     *
+     * @param reader the reader positioned at the start of a record
+     * @return the record, or null at the end of the input; an unterminated quoted field runs to the end of the input
+     * @throws IOException if the reader fails
+     */
+    public static String readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        // An odd number of quotes so far means the record continues inside a quoted field
+        StringBuilder record = new StringBuilder(line);
+        boolean inQuotes = countQuotes(line) % 2 == 1;
+        while (inQuotes && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            inQuotes ^= countQuotes(line) % 2 == 1;
+        }
+        return record.toString();
+    }
+
+    /**
+     * Splits a single CSV record into its fields, honouring double-quoted fields and escaped quotes.
+     * Line breaks inside quoted fields are kept.
+     *
+     * @param line the CSV record to split
+     * @return the list of field values
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (inQuotes) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Quotes a value for a CSV line. Null values are written as an unquoted empty field,
+     * which PostgreSQL COPY reads as NULL.
+     *
+     * @param value the value to quote
+     * @return the quoted field
+     */
+    public static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+
+    // utility methods
+
+    /**
+     * Counts the double quotes of a line; escaped quotes count twice and so keep the parity.
+     */
+    private static int countQuotes(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,147 @@
+package com.huydevcorn.todo_app.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility class for cycle checks over dependency graphs, given as maps from a task ID
+ * to the IDs of the tasks it depends on.
+ */
+public class DependencyGraphUtils {
+    /**
+     * Finds the tasks lying on a cycle with Tarjan's strongly connected components algorithm,
+     * iterative so that long dependency chains cannot overflow the stack.
+     * A dependency lies on a cycle exactly when both of its tasks belong to the same component,
+     * so tasks that merely depend on a cycle are not reported.
+     *
+     * @param dependsOn the dependencies of each task
+     * @return the index of the component of every task in a component of more than one task
+     */
+    public static Map<Long, Integer> findCycleComponents(Map<Long, ? extends Collection<Long>> dependsOn) {
+        Map<Long, Integer> order = new HashMap<>();
+        Map<Long, Integer> lowLink = new HashMap<>();
+        Deque<Long> stack = new ArrayDeque<>();
+        Set<Long> onStack = new HashSet<>();
+        Map<Long, Integer> components = new HashMap<>();
+        int componentCount = 0;
+
+        for (Long root : dependsOn.keySet()) {
+            if (order.containsKey(root)) {
+                continue;
+            }
+
+            // Each frame is a task being visited and the dependencies it has left to follow
+            Deque<Frame> frames = new ArrayDeque<>();
+            frames.push(visit(root, dependsOn, order, lowLink, stack, onStack));
+            while (!frames.isEmpty()) {
+                Frame frame = frames.peek();
+                if (frame.next().hasNext()) {
+                    Long dependency = frame.next().next();
+                    if (!order.containsKey(dependency)) {
+                        frames.push(visit(dependency, dependsOn, order, lowLink, stack, onStack));
+                    } else if (onStack.contains(dependency)) {
+                        lowLink.merge(frame.taskId(), order.get(dependency), Math::min);
+                    }
+                    continue;
+                }
+
+                frames.pop();
+                if (!frames.isEmpty()) {
+                    lowLink.merge(frames.peek().taskId(), lowLink.get(frame.taskId()), Math::min);
+                }
+
+                // The task is the root of a component: pop the component off the stack
+                if (lowLink.get(frame.taskId()).equals(order.get(frame.taskId()))) {
+                    List<Long> component = new ArrayList<>();
+                    Long member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(frame.taskId()));
+
+                    if (component.size() > 1) {
+                        for (Long taskId : component) {
+                            components.put(taskId, componentCount);
+                        }
+                        componentCount++;
+                    }
+                }
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Checks a dependency graph for cycles with one topological sort (Kahn's algorithm):
+     * tasks nothing depends on are removed repeatedly, and any task left over lies on a cycle
+     * or depends on one.
+     *
+     * @param dependsOn the dependencies of each task
+     * @return true if the graph has a cycle, false otherwise
+     */
+    public static boolean hasCycle(Map<Long, ? extends Collection<Long>> dependsOn) {
+        Map<Long, Integer> dependentCounts = new HashMap<>();
+        dependsOn.forEach((taskId, dependencies) -> {
+            dependentCounts.putIfAbsent(taskId, 0);
+            for (Long dependency : dependencies) {
+                dependentCounts.merge(dependency, 1, Integer::sum);
+            }
+        });
+
+        Deque<Long> ready = new ArrayDeque<>();
+        dependentCounts.forEach((taskId, count) -> {
+            if (count == 0) {
+                ready.add(taskId);
+            }
+        });
+        int sorted = 0;
+        while (!ready.isEmpty()) {
+            Long taskId = ready.poll();
+            sorted++;
+            Collection<Long> dependencies = dependsOn.get(taskId);
+            for (Long dependency : dependencies == null ? List.<Long>of() : dependencies) {
+                if (dependentCounts.merge(dependency, -1, Integer::sum) == 0) {
+                    ready.add(dependency);
+                }
+            }
+        }
+        return sorted < dependentCounts.size();
+    }
+
+
+    // utility methods
+
+    /**
+     * Numbers a task on its first visit and pushes it on the component stack.
+     */
+    private static Frame visit(
+            Long taskId,
+            Map<Long, ? extends Collection<Long>> dependsOn,
+            Map<Long, Integer> order,
+            Map<Long, Integer> lowLink,
+            Deque<Long> stack,
+            Set<Long> onStack
+    ) {
+        int index = order.size();
+        order.put(taskId, index);
+        lowLink.put(taskId, index);
+        stack.push(taskId);
+        onStack.add(taskId);
+        Collection<Long> dependencies = dependsOn.get(taskId);
+        return new Frame(taskId, dependencies == null ? List.<Long>of().iterator() : dependencies.iterator());
+    }
+
+    /**
+     * A task on the depth-first path and the iterator over its remaining dependencies.
+     */
+    private record Frame(Long taskId, Iterator<Long> next) {}
+}
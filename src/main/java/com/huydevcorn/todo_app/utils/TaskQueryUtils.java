@@ -0,0 +1,149 @@
+package com.huydevcorn.todo_app.utils;
+
+import com.huydevcorn.todo_app.dto.request.TaskFilter;
+import com.huydevcorn.todo_app.enums.RedisPrefix;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Utility class shared by the blocking and reactive task list queries.
+ */
+public class TaskQueryUtils {
+    /**
+     * The properties of a task response that can be requested with a sparse fieldset.
+     */
+    public static final List<String> TASK_FIELDS = List.of(
+            "id", "title", "description", "priority", "status", "version", "dueDate", "createdAt", "updatedAt"
+    );
+
+    /**
+     * Validates the pagination and filter parameters of a task list query.
+     *
+     * @param page the page number, starting at 1
+     * @param size the page size
+     * @param priority the priority filter, or null
+     * @param startDate the start of the due date range, or null
+     * @param endDate the end of the due date range, or null
+     * @param status the status filter, or null
+     * @throws AppException if a parameter is invalid
+     */
+    public static void validateFilters(int page, int size, String priority, LocalDate startDate, LocalDate endDate, String status) {
+        // Validate pagination parameters
+        if (page < 1) {
+            throw new AppException(ErrorCode.INVALID_PAGE);
+        }
+        if (size < 1) {
+            throw new AppException(ErrorCode.INVALID_PAGE_SIZE);
+        }
+
+        // Validate priority
+        if (priority != null) {
+            boolean isValid = Arrays.stream(TaskPriority.values())
+                    .anyMatch(e -> e.name().equalsIgnoreCase(priority));
+            if (!isValid) {
+                throw new AppException(ErrorCode.INVALID_PRIORITY);
+            }
+        }
+
+        // Validate status
+        if (status != null) {
+            boolean isValid = Arrays.stream(TaskStatus.values())
+                    .anyMatch(e -> e.name().equalsIgnoreCase(status));
+            if (!isValid) {
+                throw new AppException(ErrorCode.INVALID_STATUS);
+            }
+        }
+
+        // Validate date range
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new AppException(ErrorCode.START_DATE_MUST_BE_BEFORE_END_DATE);
+        }
+    }
+
+    /**
+     * Parses a sparse fieldset of task responses. The ID is always included, since clients
+     * and the list queries need it to identify tasks.
+     *
+     * @param fields the comma-separated task properties, or null
+     * @return the sorted requested properties, or null for all properties
+     * @throws AppException if a property is unknown
+     */
+    public static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<String> parsed = new TreeSet<>(List.of("id"));
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!TASK_FIELDS.contains(trimmed)) {
+                throw new AppException(ErrorCode.INVALID_FIELDS);
+            }
+            parsed.add(trimmed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Canonicalizes validated task list filters, so equivalent filters share cache entries:
+     * enum filters are parsed case-insensitively and a blank keyword counts as no keyword.
+     *
+     * @param title the title or description keyword, or null
+     * @param priority the priority filter, or null
+     * @param startDate the start of the due date range, or null
+     * @param endDate the end of the due date range, or null
+     * @param status the status filter, or null
+     * @return the canonical filter
+     */
+    public static TaskFilter canonicalFilter(String title, String priority, LocalDate startDate, LocalDate endDate, String status) {
+        return TaskFilter.builder()
+                .title(title == null || title.isBlank() ? null : title)
+                .priority(priority == null ? null : TaskPriority.valueOf(priority.toUpperCase()))
+                .status(status == null ? null : TaskStatus.valueOf(status.toUpperCase()))
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+    }
+
+    /**
+     * Builds the cache key of a task list page from validated filters.
+     *
+     * @param page the page number
+     * @param size the page size
+     * @param title the title or description keyword, or null
+     * @param priority the priority filter, or null
+     * @param startDate the start of the due date range, or null
+     * @param endDate the end of the due date range, or null
+     * @param status the status filter, or null
+     * @param descriptionLength the maximum description length, or null for whole descriptions
+     * @param fields the parsed sparse fieldset, or null for all properties
+     * @return the cache key
+     */
+    public static String tasksCacheKey(int page, int size, String title, String priority, LocalDate startDate, LocalDate endDate, String status, Integer descriptionLength, Set<String> fields) {
+        return RedisUtils.withPrefix(
+                RedisPrefix.TASKS.getPrefix(),
+                String.format("page=%d:size=%d:%s:description=%s:fields=%s", page, size,
+                        canonicalFilter(title, priority, startDate, endDate, status).cacheKey(),
+                        descriptionLength != null ? descriptionLength.toString() : "full",
+                        fields != null ? String.join(",", fields) : "all")
+        );
+    }
+
+    /**
+     * Builds the cache key of the leading window of a task list query.
+     *
+     * @param filter the canonical filter
+     * @return the cache key
+     */
+    public static String windowCacheKey(TaskFilter filter) {
+        return RedisUtils.withPrefix(RedisPrefix.TASKS.getPrefix(), "window:" + filter.cacheKey());
+    }
+}
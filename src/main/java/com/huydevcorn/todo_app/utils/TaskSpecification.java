@@ -1,5 +1,6 @@
 package com.huydevcorn.todo_app.utils;
 
+import com.huydevcorn.todo_app.dto.request.TaskFilter;
 import com.huydevcorn.todo_app.entity.Task;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -69,4 +70,18 @@ public class TaskSpecification {
         return (root, query, criteriaBuilder) ->
                 status == null ? null : criteriaBuilder.equal(root.get("status"), status);
     }
+
+    /**
+     * Creates a specification combining every filter of a canonical task filter.
+     *
+     * @param filter the canonical filter
+     * @return a specification for filtering tasks
+     */
+    public static Specification<Task> matching(TaskFilter filter) {
+        return Specification
+                .where(filterByTitleOrDescription(filter.getTitle()))
+                .and(filterByPriority(filter.getPriority() == null ? null : filter.getPriority().name()))
+                .and(filterByDueDateRange(filter.getStartDate(), filter.getEndDate()))
+                .and(filterByStatus(filter.getStatus() == null ? null : filter.getStatus().name()));
+    }
 }
@@ -0,0 +1,108 @@
+package com.huydevcorn.todo_app.cache;
+
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.service.RedisService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EntityCacheInvalidatorTest {
+    private static final String CHANNEL = "entity-cache";
+
+    @Mock
+    RedisService redisService;
+    @Mock
+    ObjectProvider<EntityManagerFactory> entityManagerFactoryProvider;
+    @Mock
+    EntityManagerFactory entityManagerFactory;
+    @Mock
+    jakarta.persistence.Cache jpaCache;
+    @Mock
+    Cache cache;
+
+    EntityCacheInvalidator entityCacheInvalidator;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactoryProvider.getObject()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+        when(jpaCache.unwrap(Cache.class)).thenReturn(cache);
+        entityCacheInvalidator = new EntityCacheInvalidator(redisService, entityManagerFactoryProvider, CHANNEL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictOutsideATransactionEvictsLocallyAndPublishes() {
+        entityCacheInvalidator.evict(Task.class, List.of(1L, 2L));
+
+        verify(cache).evictEntityData(Task.class.getName(), 1L);
+        verify(cache).evictEntityData(Task.class.getName(), 2L);
+        EntityCacheEviction eviction = publishedEviction();
+        assertEquals(Task.class.getName(), eviction.getEntityName());
+        assertEquals(List.of(1L, 2L), eviction.getIds());
+    }
+
+    @Test
+    void evictInATransactionPublishesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        entityCacheInvalidator.evict(Task.class, List.of(1L));
+
+        verify(cache).evictEntityData(Task.class.getName(), 1L);
+        verify(redisService, never()).publish(any(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(cache, times(2)).evictEntityData(Task.class.getName(), 1L);
+        assertEquals(List.of(1L), publishedEviction().getIds());
+    }
+
+    @Test
+    void applyIgnoresEvictionsOfThisNode() {
+        entityCacheInvalidator.evict(Task.class, List.of(1L));
+        EntityCacheEviction own = publishedEviction();
+        clearInvocations(cache);
+
+        entityCacheInvalidator.apply(own);
+        verifyNoInteractions(cache);
+
+        entityCacheInvalidator.apply(new EntityCacheEviction("other-node", Task.class.getName(), List.of(3L)));
+        verify(cache).evictEntityData(Task.class.getName(), 3L);
+    }
+
+    @Test
+    void evictSurvivesAPublishFailure() {
+        doThrow(new IllegalStateException("redis down")).when(redisService).publish(any(), any());
+
+        assertDoesNotThrow(() -> entityCacheInvalidator.evict(Task.class, List.of(1L)));
+        verify(cache).evictEntityData(Task.class.getName(), 1L);
+    }
+
+
+    // utility methods
+
+    private EntityCacheEviction publishedEviction() {
+        ArgumentCaptor<Object> message = ArgumentCaptor.forClass(Object.class);
+        verify(redisService).publish(eq(CHANNEL), message.capture());
+        return (EntityCacheEviction) message.getValue();
+    }
+}
@@ -0,0 +1,46 @@
+package com.huydevcorn.todo_app.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class))
+            .withUserConfiguration(ConnectionPoolConfig.class)
+            .withBean(HikariDataSource.class);
+
+    @Test
+    void poolIsSizedFromTheAvailableCores() {
+        contextRunner
+                .withPropertyValues(
+                        "app.datasource.pool.size-from-cores=true",
+                        "app.datasource.pool.connections-per-core=3",
+                        "app.datasource.pool.spindles=2")
+                .run(context -> {
+                    HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+                    int expected = Runtime.getRuntime().availableProcessors() * 3 + 2;
+                    assertEquals(expected, dataSource.getMaximumPoolSize());
+                    assertEquals(expected, dataSource.getMinimumIdle());
+                });
+    }
+
+    @Test
+    void poolKeepsItsSizeUnlessEnabled() {
+        contextRunner.run(context -> assertEquals(
+                new HikariDataSource().getMaximumPoolSize(),
+                context.getBean(HikariDataSource.class).getMaximumPoolSize()));
+    }
+
+    @Test
+    void sampledStatementInspectorNeverRewritesStatements() {
+        String sql = "select 1";
+
+        assertSame(sql, new SampledStatementInspector(1).inspect(sql));
+        assertSame(sql, new SampledStatementInspector(0).inspect(sql));
+    }
+}
@@ -0,0 +1,63 @@
+package com.huydevcorn.todo_app.configuration;
+
+import com.huydevcorn.todo_app.TodoAppApplication;
+import com.huydevcorn.todo_app.datasource.MultiplexedR2dbcConnections;
+import com.huydevcorn.todo_app.datasource.ReplicaRoutingDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class R2dbcConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class, DataSourceAutoConfiguration.class))
+            .withUserConfiguration(R2dbcConfig.class, DataSourceConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:postgresql://localhost:5432/todo_app",
+                    "spring.datasource.username=postgres",
+                    "spring.datasource.password=secret",
+                    "spring.r2dbc.url=r2dbc:postgresql://localhost:5432/todo_app",
+                    "spring.r2dbc.username=postgres",
+                    "spring.r2dbc.password=secret");
+
+    @Test
+    void jdbcAndR2dbcComeUpTogether() {
+        contextRunner.run(context -> {
+            assertNull(context.getStartupFailure());
+            assertTrue(context.getBeansOfType(ConnectionFactory.class).isEmpty());
+            assertNotNull(context.getBean(DataSource.class));
+            assertNotNull(context.getBean(MultiplexedR2dbcConnections.class));
+        });
+    }
+
+    @Test
+    void replicaRoutingComesUpAlongsideR2dbc() {
+        contextRunner
+                .withPropertyValues(
+                        "app.datasource.replica.enabled=true",
+                        "app.datasource.replica.urls=jdbc:postgresql://replica:5432/todo_app")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertInstanceOf(LazyConnectionDataSourceProxy.class, context.getBean(DataSource.class));
+                    assertNotNull(context.getBean(ReplicaRoutingDataSource.class));
+                    assertNotNull(context.getBean(MultiplexedR2dbcConnections.class));
+                });
+    }
+
+    @Test
+    void applicationExcludesTheR2dbcAutoConfiguration() {
+        // A ConnectionFactory bean would make DataSourceAutoConfiguration back off
+        assertTrue(List.of(TodoAppApplication.class.getAnnotation(SpringBootApplication.class).exclude())
+                .contains(R2dbcAutoConfiguration.class));
+    }
+}
@@ -0,0 +1,42 @@
+package com.huydevcorn.todo_app.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulerConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class))
+            .withUserConfiguration(SchedulerConfig.class, ScheduledJob.class);
+
+    @Test
+    void scheduledJobsDoNotRunOnTheReminderPool() {
+        contextRunner.run(context -> {
+            String thread = context.getBean(ScheduledJob.class).thread.get(5, TimeUnit.SECONDS);
+            assertTrue(thread.startsWith("scheduled-"), thread);
+        });
+    }
+
+
+    // utility methods
+
+    @Configuration
+    @EnableScheduling
+    static class ScheduledJob {
+        final CompletableFuture<String> thread = new CompletableFuture<>();
+
+        @Scheduled(fixedDelay = 1000)
+        void run() {
+            thread.complete(Thread.currentThread().getName());
+        }
+    }
+}
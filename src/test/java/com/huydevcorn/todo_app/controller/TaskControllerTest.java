@@ -0,0 +1,102 @@
+package com.huydevcorn.todo_app.controller;
+
+import com.huydevcorn.todo_app.dto.response.ApiResponse;
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.service.TaskCalendarService;
+import com.huydevcorn.todo_app.service.TaskETagService;
+import com.huydevcorn.todo_app.service.TaskImportService;
+import com.huydevcorn.todo_app.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TaskControllerTest {
+    @Mock
+    TaskService taskService;
+    @Mock
+    TaskImportService taskImportService;
+    @Mock
+    TaskCalendarService taskCalendarService;
+    @Mock
+    TaskETagService taskETagService;
+
+    @InjectMocks
+    TaskController taskController;
+
+    private MockHttpServletRequest servletRequest;
+    private MockHttpServletResponse servletResponse;
+
+    @BeforeEach
+    void setUp() {
+        servletRequest = new MockHttpServletRequest("GET", "/tasks/7");
+        servletResponse = new MockHttpServletResponse();
+        when(taskETagService.getTaskETag(eq(7L), anyLong()))
+                .thenAnswer(invocation -> "W/\"task-7-v" + invocation.getArgument(1) + "\"");
+    }
+
+    @Test
+    void clientHoldingTheStampedVersionGetsNotModifiedWithoutALoad() {
+        when(taskETagService.getStampedTaskETag(7L)).thenReturn("W/\"task-7-v4\"");
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"task-7-v4\"");
+
+        assertNull(getTask());
+
+        assertEquals(304, servletResponse.getStatus());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void bodyLaggingBehindTheStampIsTaggedWithItsOwnVersion() {
+        // A write stamped v4 while a slower read put v3 back into the cache
+        when(taskETagService.getStampedTaskETag(7L)).thenReturn("W/\"task-7-v4\"");
+        when(taskService.getTask(7L)).thenReturn(task(3L));
+
+        ApiResponse<TaskResponse> response = getTask();
+
+        assertEquals(3L, response.getData().getVersion());
+        assertEquals(200, servletResponse.getStatus());
+        assertEquals("W/\"task-7-v3\"", servletResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void clientHoldingAnOlderVersionGetsTheServedBodyAndItsTag() {
+        when(taskETagService.getStampedTaskETag(7L)).thenReturn("W/\"task-7-v4\"");
+        when(taskService.getTask(7L)).thenReturn(task(4L));
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"task-7-v3\"");
+
+        assertNotNull(getTask());
+
+        assertEquals("W/\"task-7-v4\"", servletResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void withoutAStampTheServedVersionAnswersTheConditionalRequest() {
+        when(taskService.getTask(7L)).thenReturn(task(3L));
+        servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"task-7-v3\"");
+
+        assertNull(getTask());
+
+        assertEquals(304, servletResponse.getStatus());
+        verify(taskETagService).recordRead(7L, 3L);
+    }
+
+
+    // utility methods
+
+    private ApiResponse<TaskResponse> getTask() {
+        return taskController.getTaskById(7L, new ServletWebRequest(servletRequest, servletResponse));
+    }
+
+    private TaskResponse task(long version) {
+        return TaskResponse.builder().id(7L).version(version).build();
+    }
+}
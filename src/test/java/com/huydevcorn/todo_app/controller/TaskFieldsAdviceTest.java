@@ -0,0 +1,58 @@
+package com.huydevcorn.todo_app.controller;
+
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskFieldsAdviceTest {
+    private final TaskFieldsAdvice advice = new TaskFieldsAdvice();
+
+    @Test
+    void readsAreFilteredToTheRequestedFields() {
+        MappingJacksonValue body = write("GET", "id,title");
+
+        assertNotNull(body.getFilters());
+        assertNotNull(body.getFilters().findPropertyFilter(TaskResponse.FIELDS_FILTER, null));
+    }
+
+    @Test
+    void readsWithoutFieldsAreLeftUnchanged() {
+        assertNull(write("GET", null).getFilters());
+    }
+
+    @Test
+    void readsWithUnknownFieldsAreRejected() {
+        AppException exception = assertThrows(AppException.class, () -> write("GET", "id,secret"));
+
+        assertEquals(ErrorCode.INVALID_FIELDS, exception.getErrorCode());
+    }
+
+    @Test
+    void writesIgnoreFieldsSinceTheyHaveAlreadyCommitted() {
+        assertNull(write("PUT", "id,secret").getFilters());
+        assertNull(write("PATCH", "title").getFilters());
+    }
+
+
+    // utility methods
+
+    private MappingJacksonValue write(String method, String fields) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/tasks/1");
+        if (fields != null) {
+            request.setParameter("fields", fields);
+        }
+        MappingJacksonValue body = new MappingJacksonValue(TaskResponse.builder().id(1L).build());
+        advice.beforeBodyWriteInternal(body, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(request), new ServletServerHttpResponse(new MockHttpServletResponse()));
+        return body;
+    }
+}
@@ -0,0 +1,55 @@
+package com.huydevcorn.todo_app.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+    ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ReplicaRoutingDataSource(mock(DataSource.class), Map.of("replica-1", mock(DataSource.class)));
+        dataSource.setHealthy("replica-1", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsOfAllowedRequestsReadFromAReplica() {
+        ReplicaRoutingContext.allowReplica();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-1", dataSource.determineCurrentLookupKey());
+        assertTrue(ReplicaRoutingContext.isReadFromReplica());
+    }
+
+    @Test
+    void requestsNotAllowedToUseReplicasReadFromThePrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+        assertFalse(ReplicaRoutingContext.isReadFromReplica());
+    }
+
+    @Test
+    void requestsFallBackToThePrimaryWithoutHealthyReplicas() {
+        ReplicaRoutingContext.allowReplica();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        dataSource.setHealthy("replica-1", false);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+        assertFalse(ReplicaRoutingContext.isReadFromReplica());
+    }
+}
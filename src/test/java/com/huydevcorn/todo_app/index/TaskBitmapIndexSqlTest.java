@@ -0,0 +1,51 @@
+package com.huydevcorn.todo_app.index;
+
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.support.PostgresContainerSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskBitmapIndexSqlTest extends PostgresContainerSupport {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @MockBean
+    EntityCacheInvalidator entityCacheInvalidator;
+
+    @Test
+    void rebuildLoadsEveryTaskFromTheDatabase() {
+        long first = insertTask("PENDING", LocalDateTime.of(2026, 3, 10, 9, 0), LocalDateTime.of(2026, 1, 1, 0, 0));
+        long second = insertTask("DONE", null, LocalDateTime.of(2026, 1, 2, 0, 0));
+        long third = insertTask("PENDING", LocalDateTime.of(2026, 4, 10, 9, 0), LocalDateTime.of(2026, 1, 3, 0, 0));
+        TaskBitmapIndex index = new TaskBitmapIndex(jdbcTemplate, true);
+
+        index.rebuild();
+
+        assertEquals(List.of(third, second, first), index.query(null, null, null, null, 1, 10).orElseThrow().ids());
+        assertEquals(List.of(third, first), index.query(TaskStatus.PENDING, null, null, null, 1, 10).orElseThrow().ids());
+        assertEquals(List.of(first), index.query(null, null, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), 1, 10)
+                .orElseThrow().ids());
+    }
+
+
+    // utility methods
+
+    private long insertTask(String status, LocalDateTime dueDate, LocalDateTime createdAt) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, priority, status, version, due_date, create_at) VALUES ('task', 'MEDIUM', ?, 0, ?, ?) RETURNING id",
+                Long.class, status, dueDate == null ? null : Timestamp.valueOf(dueDate), Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,183 @@
+package com.huydevcorn.todo_app.index;
+
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.index.TaskBitmapIndex.TaskIdSlice;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TaskBitmapIndexTest {
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void disabledIndexAnswersNothing() {
+        TaskBitmapIndex index = new TaskBitmapIndex(jdbcTemplate, false);
+
+        index.rebuild();
+
+        assertEquals(Optional.empty(), index.query(null, null, null, null, 1, 10));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void indexAnswersNothingUntilBuilt() {
+        TaskBitmapIndex index = new TaskBitmapIndex(jdbcTemplate, true);
+
+        index.upsert(task(1L, TaskStatus.PENDING, TaskPriority.LOW, null, 1));
+
+        assertEquals(Optional.empty(), index.query(null, null, null, null, 1, 10));
+    }
+
+    @Test
+    void queryIntersectsFiltersAndPagesNewestFirst() throws SQLException {
+        TaskBitmapIndex index = built(
+                task(1L, TaskStatus.PENDING, TaskPriority.HIGH, null, 1),
+                task(2L, TaskStatus.PENDING, TaskPriority.LOW, null, 2),
+                task(3L, TaskStatus.PENDING, TaskPriority.HIGH, null, 3),
+                task(4L, TaskStatus.DONE, TaskPriority.HIGH, null, 4),
+                task(5L, TaskStatus.PENDING, TaskPriority.HIGH, null, 5));
+
+        assertEquals(new TaskIdSlice(List.of(5L, 3L), 3), index.query(TaskStatus.PENDING, TaskPriority.HIGH, null, null, 1, 2).orElseThrow());
+        assertEquals(new TaskIdSlice(List.of(1L), 3), index.query(TaskStatus.PENDING, TaskPriority.HIGH, null, null, 2, 2).orElseThrow());
+        assertEquals(new TaskIdSlice(List.of(), 3), index.query(TaskStatus.PENDING, TaskPriority.HIGH, null, null, 3, 2).orElseThrow());
+        assertEquals(new TaskIdSlice(List.of(5L, 4L, 3L, 2L, 1L), 5), index.query(null, null, null, null, 1, 10).orElseThrow());
+    }
+
+    @Test
+    void dueDateRangeMatchesTheDatabaseBounds() throws SQLException {
+        TaskBitmapIndex index = built(
+                task(1L, TaskStatus.PENDING, TaskPriority.LOW, LocalDateTime.of(2026, 3, 9, 23, 59), 1),
+                task(2L, TaskStatus.PENDING, TaskPriority.LOW, LocalDateTime.of(2026, 3, 10, 0, 0), 2),
+                task(3L, TaskStatus.PENDING, TaskPriority.LOW, LocalDateTime.of(2026, 3, 15, 12, 0), 3),
+                task(4L, TaskStatus.PENDING, TaskPriority.LOW, LocalDateTime.of(2026, 3, 20, 0, 0), 4),
+                task(5L, TaskStatus.PENDING, TaskPriority.LOW, LocalDateTime.of(2026, 3, 20, 0, 1), 5),
+                task(6L, TaskStatus.PENDING, TaskPriority.LOW, null, 6));
+
+        LocalDate start = LocalDate.of(2026, 3, 10);
+        LocalDate end = LocalDate.of(2026, 3, 20);
+        assertEquals(List.of(4L, 3L, 2L), index.query(null, null, start, end, 1, 10).orElseThrow().ids());
+        assertEquals(List.of(5L, 4L, 3L, 2L), index.query(null, null, start, null, 1, 10).orElseThrow().ids());
+        assertEquals(List.of(4L, 3L, 2L, 1L), index.query(null, null, null, end, 1, 10).orElseThrow().ids());
+    }
+
+    @Test
+    void upsertReplacesThePreviousEntryAndRemoveDropsIt() throws SQLException {
+        TaskBitmapIndex index = built(
+                task(1L, TaskStatus.PENDING, TaskPriority.LOW, LocalDateTime.of(2026, 3, 10, 0, 0), 1),
+                task(2L, TaskStatus.PENDING, TaskPriority.LOW, null, 2));
+
+        index.upsert(task(1L, TaskStatus.DONE, TaskPriority.LOW, LocalDateTime.of(2026, 4, 10, 0, 0), 1));
+        index.remove(2L);
+        index.upsert(task(3L, TaskStatus.PENDING, TaskPriority.LOW, null, 3));
+
+        assertEquals(List.of(3L), index.query(TaskStatus.PENDING, null, null, null, 1, 10).orElseThrow().ids());
+        assertEquals(List.of(1L), index.query(TaskStatus.DONE, null, null, null, 1, 10).orElseThrow().ids());
+        assertEquals(List.of(), index.query(null, null, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31), 1, 10).orElseThrow().ids());
+        assertEquals(2, index.query(null, null, null, null, 1, 10).orElseThrow().total());
+    }
+
+    @Test
+    void writesDuringARebuildAreReplayedOnTheNewSnapshot() throws SQLException {
+        TaskBitmapIndex index = new TaskBitmapIndex(jdbcTemplate, true);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(task(1L, TaskStatus.PENDING, TaskPriority.LOW, null, 1)));
+            handler.processRow(row(task(2L, TaskStatus.PENDING, TaskPriority.LOW, null, 2)));
+
+            // Writes committed while the rows are being read
+            index.upsert(task(3L, TaskStatus.PENDING, TaskPriority.LOW, null, 3));
+            index.upsert(task(1L, TaskStatus.DONE, TaskPriority.LOW, null, 1));
+            index.remove(2L);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        index.rebuild();
+
+        assertEquals(List.of(3L), index.query(TaskStatus.PENDING, null, null, null, 1, 10).orElseThrow().ids());
+        assertEquals(List.of(1L), index.query(TaskStatus.DONE, null, null, null, 1, 10).orElseThrow().ids());
+    }
+
+    @Test
+    void failedRebuildKeepsThePreviousSnapshot() throws SQLException {
+        TaskBitmapIndex index = built(task(1L, TaskStatus.PENDING, TaskPriority.LOW, null, 1));
+        doThrow(new IllegalStateException("down")).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        index.rebuild();
+        index.upsert(task(2L, TaskStatus.PENDING, TaskPriority.LOW, null, 2));
+
+        assertEquals(List.of(2L, 1L), index.query(null, null, null, null, 1, 10).orElseThrow().ids());
+    }
+
+    @Test
+    void idsBeyondTheBitmapRangeFallBackToTheDatabase() throws SQLException {
+        TaskBitmapIndex index = built(task(1L, TaskStatus.PENDING, TaskPriority.LOW, null, 1));
+
+        index.upsert(task(Integer.MAX_VALUE + 1L, TaskStatus.PENDING, TaskPriority.LOW, null, 2));
+
+        assertEquals(Optional.empty(), index.query(null, null, null, null, 1, 10));
+    }
+
+
+    // utility methods
+
+    /**
+     * Builds an enabled index loaded with the given tasks.
+     */
+    private TaskBitmapIndex built(Task... tasks) throws SQLException {
+        List<ResultSet> rows = new ArrayList<>();
+        for (Task task : tasks) {
+            rows.add(row(task));
+        }
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        TaskBitmapIndex index = new TaskBitmapIndex(jdbcTemplate, true);
+        index.rebuild();
+        return index;
+    }
+
+    private Task task(Long id, TaskStatus status, TaskPriority priority, LocalDateTime dueDate, int createdMinute) {
+        return Task.builder()
+                .id(id)
+                .status(status)
+                .priority(priority)
+                .dueDate(dueDate)
+                .createdAt(CREATED.plusMinutes(createdMinute))
+                .build();
+    }
+
+    private ResultSet row(Task task) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(task.getId());
+        when(rs.getString("status")).thenReturn(task.getStatus().name());
+        when(rs.getString("priority")).thenReturn(task.getPriority().name());
+        when(rs.getTimestamp("due_date")).thenReturn(task.getDueDate() == null ? null : Timestamp.valueOf(task.getDueDate()));
+        when(rs.getTimestamp("create_at")).thenReturn(Timestamp.valueOf(task.getCreatedAt()));
+        return rs;
+    }
+}
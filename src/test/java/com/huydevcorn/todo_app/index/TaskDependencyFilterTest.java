@@ -0,0 +1,134 @@
+package com.huydevcorn.todo_app.index;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TaskDependencyFilterTest {
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void unbuiltFilterAssumesEveryTaskIsLinked() {
+        TaskDependencyFilter filter = new TaskDependencyFilter(jdbcTemplate, 1 << 16);
+
+        filter.addEdge(1L, 2L);
+
+        assertTrue(filter.mightBeLinked(3L));
+    }
+
+    @Test
+    void rebuildLoadsEveryDependency() {
+        TaskDependencyFilter filter = built(1 << 16, new long[] {1L, 2L});
+
+        assertTrue(filter.mightBeLinked(1L));
+        assertTrue(filter.mightBeLinked(2L));
+        assertFalse(filter.mightBeLinked(3L));
+    }
+
+    @Test
+    void removedEdgesAreForgotten() {
+        TaskDependencyFilter filter = built(1 << 16, new long[] {1L, 2L}, new long[] {1L, 3L});
+
+        filter.removeEdge(1L, 2L);
+
+        assertTrue(filter.mightBeLinked(1L));
+        assertFalse(filter.mightBeLinked(2L));
+        assertTrue(filter.mightBeLinked(3L));
+    }
+
+    @Test
+    void saturatedCountersAreNeverDecremented() {
+        // A single slot takes all three hashes of every ID, so 43 edges push it past 255
+        TaskDependencyFilter filter = built(1);
+        for (long id = 1; id <= 43; id++) {
+            filter.addEdge(id, id + 100);
+        }
+
+        for (long id = 1; id <= 43; id++) {
+            filter.removeEdge(id, id + 100);
+        }
+
+        assertTrue(filter.mightBeLinked(1L));
+    }
+
+    @Test
+    void countersBelowSaturationReturnToZero() {
+        TaskDependencyFilter filter = built(1);
+        for (long id = 1; id <= 42; id++) {
+            filter.addEdge(id, id + 100);
+        }
+
+        for (long id = 1; id <= 42; id++) {
+            filter.removeEdge(id, id + 100);
+        }
+
+        assertFalse(filter.mightBeLinked(1L));
+    }
+
+    @Test
+    void writesDuringRebuildAreReplayedOnTheNewCounters() {
+        TaskDependencyFilter filter = new TaskDependencyFilter(jdbcTemplate, 1 << 16);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(1L, 2L));
+            // Another request links and unlinks tasks while the rows are streaming in
+            filter.addEdge(5L, 6L);
+            filter.removeEdge(1L, 2L);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        filter.rebuild();
+
+        assertTrue(filter.mightBeLinked(5L));
+        assertTrue(filter.mightBeLinked(6L));
+        assertFalse(filter.mightBeLinked(1L));
+        assertFalse(filter.mightBeLinked(2L));
+    }
+
+    @Test
+    void failedRebuildKeepsTheCurrentCounters() {
+        TaskDependencyFilter filter = built(1 << 16, new long[] {1L, 2L});
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        filter.rebuild();
+        filter.addEdge(5L, 6L);
+
+        assertTrue(filter.mightBeLinked(1L));
+        assertTrue(filter.mightBeLinked(5L));
+    }
+
+
+    // utility methods
+
+    private TaskDependencyFilter built(int size, long[]... edges) {
+        TaskDependencyFilter filter = new TaskDependencyFilter(jdbcTemplate, size);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] edge : edges) {
+                handler.processRow(row(edge[0], edge[1]));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        filter.rebuild();
+        return filter;
+    }
+
+    private ResultSet row(long taskId, long dependsOnTaskId) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("task_id")).thenReturn(taskId);
+        when(rs.getLong("depends_on_task_id")).thenReturn(dependsOnTaskId);
+        return rs;
+    }
+}
@@ -0,0 +1,172 @@
+package com.huydevcorn.todo_app.notification;
+
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.index.TaskBitmapIndex;
+import com.huydevcorn.todo_app.repository.TaskRepository;
+import com.huydevcorn.todo_app.service.NotificationService;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.TaskCalendarService;
+import com.huydevcorn.todo_app.service.TaskETagService;
+import com.huydevcorn.todo_app.service.TaskStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationSchedulerTest {
+    private static final long TASK_ID = 7L;
+
+    @Mock
+    ScheduledExecutorService scheduledExecutorService;
+    @Mock
+    NotificationService notificationService;
+    @Mock
+    TaskRepository taskRepository;
+    @Mock
+    TaskStatsService taskStatsService;
+    @Mock
+    TaskCalendarService taskCalendarService;
+    @Mock
+    TaskETagService taskETagService;
+    @Mock
+    TaskBitmapIndex taskBitmapIndex;
+    @Mock
+    ReminderPartitionManager reminderPartitionManager;
+    @Mock
+    RedisService redisService;
+    @Mock
+    EntityCacheInvalidator entityCacheInvalidator;
+    @Mock
+    ScheduledFuture<?> scheduledFuture;
+
+    private NotificationScheduler notificationScheduler;
+
+    @BeforeEach
+    void setUp() {
+        notificationScheduler = new NotificationScheduler(scheduledExecutorService, notificationService,
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME, taskRepository, taskStatsService, taskCalendarService,
+                taskETagService, taskBitmapIndex, reminderPartitionManager, redisService, entityCacheInvalidator);
+        doReturn(scheduledFuture).when(scheduledExecutorService).schedule(any(Runnable.class), anyLong(), any());
+        when(reminderPartitionManager.owns(TASK_ID)).thenReturn(true);
+        when(reminderPartitionManager.holdsLease(TASK_ID)).thenReturn(true);
+        when(reminderPartitionManager.getNodeId()).thenReturn("node");
+    }
+
+    @Test
+    void overdueReminderIsRetriedInsteadOfFiredWhenRedisFails() {
+        LocalDateTime dueDate = LocalDateTime.now().minusMinutes(1);
+        when(redisService.setIfAbsent(anyString(), any(), anyLong(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(true);
+        stubOpenTask(dueDate);
+
+        notificationScheduler.scheduleTask(TASK_ID, "title", dueDate);
+        Runnable firing = scheduled(1, 0L);
+
+        // The claim fails: nothing is sent and a retry is scheduled
+        firing.run();
+        verifyNoInteractions(notificationService);
+        verify(taskRepository, never()).markOverdue(any(), any(), any(), any());
+        Runnable retry = scheduled(2, 5000L);
+
+        // The claim succeeds on retry: the task is marked overdue exactly once
+        retry.run();
+        verify(taskRepository).markOverdue(eq(TASK_ID), eq(3L), eq(TaskStatus.OPEN), any());
+        verify(notificationService).sendToTaskWatchers(eq(TASK_ID), eq("/notification/overdue-tasks"), any());
+    }
+
+    @Test
+    void dueDateRoundedByTheDatabaseStillMatches() {
+        LocalDateTime dueDate = LocalDateTime.of(2026, 1, 2, 10, 0, 0, 123_456_789);
+        when(redisService.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(true);
+        stubOpenTask(LocalDateTime.of(2026, 1, 2, 10, 0, 0, 123_457_000));
+
+        notificationScheduler.scheduleTask(TASK_ID, "title", dueDate);
+        scheduled(1, 0L).run();
+
+        verify(taskRepository).markOverdue(eq(TASK_ID), eq(3L), eq(TaskStatus.OPEN), any());
+        verify(notificationService).sendToTaskWatchers(eq(TASK_ID), eq("/notification/overdue-tasks"), any());
+    }
+
+    @Test
+    void rescheduledTaskIsNotMarkedOverdue() {
+        LocalDateTime dueDate = LocalDateTime.of(2026, 1, 2, 10, 0);
+        when(redisService.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(true);
+        stubOpenTask(dueDate.plusNanos(2_000));
+
+        notificationScheduler.scheduleTask(TASK_ID, "title", dueDate);
+        scheduled(1, 0L).run();
+
+        verify(taskRepository, never()).markOverdue(any(), any(), any(), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void cancelledReminderIsNotRetried() {
+        LocalDateTime dueDate = LocalDateTime.now().minusMinutes(1);
+        when(redisService.setIfAbsent(anyString(), any(), anyLong(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        notificationScheduler.scheduleTask(TASK_ID, "title", dueDate);
+        Runnable firing = scheduled(1, 0L);
+        notificationScheduler.cancelTask(TASK_ID);
+
+        firing.run();
+
+        verify(scheduledExecutorService, times(1)).schedule(any(Runnable.class), anyLong(), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void reminderClaimedByAnotherNodeIsSkipped() {
+        LocalDateTime dueDate = LocalDateTime.now().plusHours(2);
+        when(redisService.setIfAbsent(anyString(), any(), anyLong(), any())).thenReturn(false);
+
+        notificationScheduler.scheduleTask(TASK_ID, "title", dueDate);
+        ArgumentCaptor<Runnable> firings = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduledExecutorService, times(2)).schedule(firings.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        firings.getAllValues().forEach(Runnable::run);
+
+        verifyNoInteractions(notificationService);
+        verify(taskRepository, never()).findById(any());
+    }
+
+
+    // utility methods
+
+    /**
+     * Returns the latest of the given number of scheduled runnables, checking its delay.
+     */
+    private Runnable scheduled(int times, long delayMillis) {
+        ArgumentCaptor<Runnable> runnables = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Long> delays = ArgumentCaptor.forClass(Long.class);
+        verify(scheduledExecutorService, times(times)).schedule(runnables.capture(), delays.capture(), eq(TimeUnit.MILLISECONDS));
+        assertEquals(delayMillis, delays.getAllValues().getLast());
+        return runnables.getAllValues().getLast();
+    }
+
+    private void stubOpenTask(LocalDateTime dueDate) {
+        Task task = new Task();
+        task.setId(TASK_ID);
+        task.setTitle("title");
+        task.setStatus(TaskStatus.PENDING);
+        task.setDueDate(dueDate);
+        task.setVersion(3L);
+        when(taskRepository.findById(TASK_ID)).thenReturn(Optional.of(task));
+        when(taskRepository.markOverdue(eq(TASK_ID), eq(3L), eq(TaskStatus.OPEN), any())).thenReturn(1);
+    }
+}
@@ -0,0 +1,131 @@
+package com.huydevcorn.todo_app.notification;
+
+import com.huydevcorn.todo_app.service.RedisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReminderPartitionManagerTest {
+    private static final int PARTITIONS = 8;
+
+    @Mock
+    RedisService redisService;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    // Leases and node heartbeats as stored in Redis
+    private final Map<String, Object> leases = new HashMap<>();
+    private final Map<String, Double> nodes = new HashMap<>();
+
+    @BeforeEach
+    void fakeRedis() {
+        when(redisService.setIfAbsent(anyString(), any(), anyLong(), any()))
+                .thenAnswer(invocation -> leases.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        when(redisService.expireIfEquals(anyString(), any(), anyLong(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1).equals(leases.get(invocation.<String>getArgument(0))));
+        when(redisService.deleteIfEquals(anyString(), any()))
+                .thenAnswer(invocation -> leases.remove(invocation.getArgument(0), invocation.getArgument(1)));
+        doAnswer(invocation -> nodes.put(invocation.getArgument(1), invocation.getArgument(2)))
+                .when(redisService).addToSortedSet(anyString(), anyString(), anyDouble());
+        when(redisService.trimSortedSetAndCount(anyString(), anyDouble()))
+                .thenAnswer(invocation -> (long) nodes.size());
+    }
+
+    @Test
+    void singleNodeClaimsEveryPartition() {
+        ReminderPartitionManager node = manager();
+
+        node.heartbeat();
+
+        assertEquals(PARTITIONS, ownedPartitions(node).size());
+        assertTrue(node.holdsLease(3L));
+        verify(eventPublisher).publishEvent(new ReminderPartitionsChangedEvent(allPartitions(), Set.of()));
+    }
+
+    @Test
+    void joiningNodeTakesOverTheReleasedShare() {
+        ReminderPartitionManager first = manager();
+        ReminderPartitionManager second = manager();
+        first.heartbeat();
+
+        // The second node registers, the first gives back half, then the second claims it
+        second.heartbeat();
+        first.heartbeat();
+        second.heartbeat();
+
+        Set<Integer> firstOwned = ownedPartitions(first);
+        Set<Integer> secondOwned = ownedPartitions(second);
+        assertEquals(PARTITIONS / 2, firstOwned.size());
+        assertEquals(PARTITIONS / 2, secondOwned.size());
+        assertTrue(firstOwned.stream().noneMatch(secondOwned::contains));
+        firstOwned.forEach(partition -> assertFalse(second.holdsLease((long) partition)));
+    }
+
+    @Test
+    void expiredLeasesOfACrashedNodeAreTakenOver() {
+        ReminderPartitionManager crashed = manager();
+        ReminderPartitionManager survivor = manager();
+        crashed.heartbeat();
+        survivor.heartbeat();
+        crashed.heartbeat();
+        survivor.heartbeat();
+
+        // The crashed node stops renewing: its node entry and leases expire
+        nodes.remove(crashed.getNodeId());
+        leases.values().removeIf(crashed.getNodeId()::equals);
+        survivor.heartbeat();
+
+        assertEquals(allPartitions(), ownedPartitions(survivor));
+        assertTrue(LongStream.range(0, PARTITIONS).noneMatch(crashed::holdsLease));
+    }
+
+    @Test
+    void lostLeaseIsReleasedOnTheNextHeartbeat() {
+        ReminderPartitionManager node = manager();
+        node.heartbeat();
+
+        // Another node took over partition 5 after the lease expired
+        leases.put("reminder:lease:5", "other");
+
+        assertFalse(node.holdsLease(5L));
+        node.heartbeat();
+
+        assertFalse(node.owns(5L));
+        verify(eventPublisher).publishEvent(new ReminderPartitionsChangedEvent(Set.of(), Set.of(5)));
+    }
+
+
+    // utility methods
+
+    private ReminderPartitionManager manager() {
+        return new ReminderPartitionManager(redisService, eventPublisher, PARTITIONS, Duration.ofSeconds(15), "reminder");
+    }
+
+    private Set<Integer> ownedPartitions(ReminderPartitionManager node) {
+        return LongStream.range(0, PARTITIONS)
+                .filter(node::owns)
+                .mapToObj(taskId -> (int) taskId)
+                .collect(Collectors.toSet());
+    }
+
+    private Set<Integer> allPartitions() {
+        Set<Integer> partitions = new HashSet<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions.add(i);
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,126 @@
+package com.huydevcorn.todo_app.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SlowConsumerInterceptorTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SlowConsumerInterceptor interceptor = new SlowConsumerInterceptor(meterRegistry, 2);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private final MessageHandler handler = mock(MessageHandler.class);
+
+    @Test
+    void overflowingSessionDropsNewMessages() {
+        assertNotNull(interceptor.preSend(message("s1", null, null), channel));
+        assertNotNull(interceptor.preSend(message("s1", null, null), channel));
+
+        assertNull(interceptor.preSend(message("s1", null, null), channel));
+        assertNotNull(interceptor.preSend(message("s2", null, null), channel));
+        assertEquals(1.0, dropped("overflow"));
+        assertEquals(3.0, queued());
+    }
+
+    @Test
+    void handledMessagesFreeTheSessionQueue() {
+        Message<?> first = interceptor.preSend(message("s1", null, null), channel);
+        interceptor.preSend(message("s1", null, null), channel);
+
+        interceptor.afterMessageHandled(interceptor.beforeHandle(first, channel, handler), channel, handler, null);
+
+        assertNotNull(interceptor.preSend(message("s1", null, null), channel));
+        assertEquals(2.0, queued());
+    }
+
+    @Test
+    void unsentMessagesFreeTheSessionQueue() {
+        Message<?> first = interceptor.preSend(message("s1", null, null), channel);
+
+        interceptor.afterSendCompletion(first, channel, false, null);
+
+        assertEquals(0.0, queued());
+    }
+
+    @Test
+    void expiredMessagesAreDroppedOnSend() {
+        assertNull(interceptor.preSend(message("s1", null, System.currentTimeMillis() - 1), channel));
+        assertEquals(1.0, dropped("stale"));
+        assertEquals(0.0, queued());
+    }
+
+    @Test
+    void messagesExpiringWhileQueuedAreDroppedOnHandle() throws InterruptedException {
+        Message<?> queuedMessage = interceptor.preSend(message("s1", null, System.currentTimeMillis() + 20), channel);
+        Thread.sleep(40);
+
+        assertNull(interceptor.beforeHandle(queuedMessage, channel, handler));
+        assertEquals(1.0, dropped("stale"));
+        assertEquals(0.0, queued());
+    }
+
+    @Test
+    void newerTaskNotificationSupersedesTheQueuedOne() {
+        Message<?> older = interceptor.preSend(message("s1", "7", null), channel);
+        Message<?> newer = interceptor.preSend(message("s1", "7", null), channel);
+
+        assertNull(interceptor.beforeHandle(older, channel, handler));
+        assertSame(newer, interceptor.beforeHandle(newer, channel, handler));
+        assertEquals(1.0, dropped("coalesced"));
+    }
+
+    @Test
+    void notificationsForOtherTasksOrSessionsAreNotCoalesced() {
+        SlowConsumerInterceptor roomy = new SlowConsumerInterceptor(new SimpleMeterRegistry(), 10);
+        Message<?> task7 = roomy.preSend(message("s1", "7", null), channel);
+        Message<?> otherSession = roomy.preSend(message("s2", "7", null), channel);
+        roomy.preSend(message("s1", "8", null), channel);
+
+        assertNotNull(roomy.beforeHandle(task7, channel, handler));
+        assertNotNull(roomy.beforeHandle(otherSession, channel, handler));
+    }
+
+    @Test
+    void nonMessageFramesPassThroughUncounted() {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.HEARTBEAT);
+        accessor.setSessionId("s1");
+        Message<byte[]> heartbeat = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        for (int i = 0; i < 5; i++) {
+            assertSame(heartbeat, interceptor.preSend(heartbeat, channel));
+        }
+        assertEquals(0.0, queued());
+    }
+
+
+    // utility methods
+
+    private Message<byte[]> message(String sessionId, String taskId, Long expiresAt) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination("/user/queue/notification/reminders");
+        if (taskId != null) {
+            accessor.setNativeHeader(SlowConsumerInterceptor.TASK_ID_HEADER, taskId);
+        }
+        if (expiresAt != null) {
+            accessor.setNativeHeader(SlowConsumerInterceptor.EXPIRES_HEADER, String.valueOf(expiresAt));
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("notifications.dropped").tag("reason", reason).counter().count();
+    }
+
+    private double queued() {
+        return meterRegistry.get("notifications.queued").gauge().value();
+    }
+}
@@ -0,0 +1,45 @@
+package com.huydevcorn.todo_app.notification;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.security.Principal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserHandshakeHandlerTest {
+    private final UserHandshakeHandler handler = new UserHandshakeHandler();
+
+    @Test
+    void userQueryParameterNamesTheSession() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ws");
+        request.setQueryString("user=%20alice%40example.com%20");
+        request.addHeader("X-User-Id", "bob");
+
+        assertEquals("alice@example.com", determineUser(request).getName());
+    }
+
+    @Test
+    void userHeaderNamesTheSessionWithoutAParameter() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ws");
+        request.addHeader("X-User-Id", "bob");
+
+        assertEquals("bob", determineUser(request).getName());
+    }
+
+    @Test
+    void anonymousSessionsGetDistinctNames() {
+        assertNotEquals(
+                determineUser(new MockHttpServletRequest("GET", "/ws")).getName(),
+                determineUser(new MockHttpServletRequest("GET", "/ws")).getName());
+    }
+
+
+    // utility methods
+
+    private Principal determineUser(MockHttpServletRequest request) {
+        return handler.determineUser(new ServletServerHttpRequest(request), null, Map.of());
+    }
+}
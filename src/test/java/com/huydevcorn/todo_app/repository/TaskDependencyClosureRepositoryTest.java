@@ -0,0 +1,184 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.dto.response.ReachableTaskResponse;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.repository.TaskDependencyBulkRepository.Edge;
+import com.huydevcorn.todo_app.support.PostgresContainerSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "app.dependency-closure.enabled=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskDependencyClosureRepositoryTest extends PostgresContainerSupport {
+    @Autowired
+    TaskDependencyRepository taskDependencyRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @MockBean
+    EntityCacheInvalidator entityCacheInvalidator;
+
+    @Test
+    void insertLinksEveryPairOnceWithItsShortestChain() {
+        // a -> b -> d, a -> c -> d, a -> d
+        long a = insertTask("a");
+        long b = insertTask("b");
+        long c = insertTask("c");
+        long d = insertTask("d");
+
+        taskDependencyRepository.insertDependencies(List.of(new Edge(a, b), new Edge(a, c), new Edge(b, d), new Edge(c, d)));
+        taskDependencyRepository.insertDependencies(List.of(new Edge(a, d)));
+
+        assertEquals(Map.of(
+                pair(a, b), 1, pair(a, c), 1, pair(a, d), 1,
+                pair(b, d), 1, pair(c, d), 1), closure());
+        assertTrue(taskDependencyRepository.existsPath(a, d));
+        assertFalse(taskDependencyRepository.existsPath(d, a));
+    }
+
+    @Test
+    void removeKeepsPairsLinkedThroughAnotherChain() {
+        long a = insertTask("a");
+        long b = insertTask("b");
+        long c = insertTask("c");
+        long d = insertTask("d");
+        taskDependencyRepository.insertDependencies(
+                List.of(new Edge(a, b), new Edge(a, c), new Edge(b, d), new Edge(c, d), new Edge(a, d)));
+
+        taskDependencyRepository.deleteDependencies(a, List.of(d));
+        assertEquals(2, closure().get(pair(a, d)));
+
+        taskDependencyRepository.deleteDependencies(b, null);
+        assertEquals(Map.of(pair(a, b), 1, pair(a, c), 1, pair(a, d), 2, pair(c, d), 1), closure());
+
+        taskDependencyRepository.deleteDependencies(c, List.of(d));
+        assertEquals(Map.of(pair(a, b), 1, pair(a, c), 1), closure());
+    }
+
+    @Test
+    void removeRecomputesPairsAboveAndBelowTheDependency() {
+        // x -> a -> d -> y, plus x -> z -> y
+        long x = insertTask("x");
+        long a = insertTask("a");
+        long d = insertTask("d");
+        long y = insertTask("y");
+        long z = insertTask("z");
+        taskDependencyRepository.insertDependencies(
+                List.of(new Edge(x, a), new Edge(a, d), new Edge(d, y), new Edge(x, z), new Edge(z, y)));
+
+        taskDependencyRepository.deleteDependencies(a, List.of(d));
+
+        assertEquals(Map.of(pair(x, a), 1, pair(d, y), 1, pair(x, z), 1, pair(z, y), 1, pair(x, y), 2), closure());
+    }
+
+    @Test
+    void pathCountsBeyondBigintDoNotMatter() {
+        // 70 layers of two tasks, each depending on both tasks of the next layer: 2^70 chains from top to bottom
+        List<long[]> layers = new ArrayList<>();
+        for (int i = 0; i <= 70; i++) {
+            layers.add(new long[] {insertTask("l" + i), insertTask("r" + i)});
+        }
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            for (long from : layers.get(i)) {
+                for (long to : layers.get(i + 1)) {
+                    edges.add(new Edge(from, to));
+                }
+            }
+        }
+
+        taskDependencyRepository.insertDependencies(edges);
+        taskDependencyRepository.deleteDependencies(layers.get(35)[0], null);
+
+        List<ReachableTaskResponse> descendants = taskDependencyRepository.findDescendants(layers.get(0)[0]);
+        assertEquals(140, descendants.size());
+        assertEquals(70, descendants.get(descendants.size() - 1).getDepth());
+    }
+
+    @Test
+    void insertRejectsABatchClosingACycleWithCommittedDependencies() {
+        long a = insertTask("a");
+        long b = insertTask("b");
+        long c = insertTask("c");
+        taskDependencyRepository.insertDependencies(List.of(new Edge(c, a)));
+
+        // Each edge passes a check against the closure alone; together they close a -> b -> c -> a
+        AppException exception = assertThrows(AppException.class,
+                () -> taskDependencyRepository.insertDependencies(List.of(new Edge(a, b), new Edge(b, c))));
+
+        assertEquals(ErrorCode.CIRCULAR_DEPENDENCY, exception.getErrorCode());
+    }
+
+    @Test
+    void findAncestorsReturnsShortestDepthsNearestFirst() {
+        long a = insertTask("a");
+        long b = insertTask("b");
+        long c = insertTask("c");
+        taskDependencyRepository.insertDependencies(List.of(new Edge(a, b), new Edge(b, c), new Edge(a, c)));
+
+        List<ReachableTaskResponse> ancestors = taskDependencyRepository.findAncestors(c);
+
+        assertEquals(List.of(a, b), ancestors.stream().map(ReachableTaskResponse::getId).toList());
+        assertEquals(List.of(1, 1), ancestors.stream().map(ReachableTaskResponse::getDepth).toList());
+    }
+
+    @Test
+    void rebuildRunsOnlyWhenTheClosureIsStale() {
+        long a = insertTask("a");
+        long b = insertTask("b");
+        long c = insertTask("c");
+        insertDependency(a, b);
+        insertDependency(b, c);
+        insertDependency(a, c);
+        jdbcTemplate.update("DELETE FROM task_dependency_closure_state");
+
+        assertTrue(taskDependencyRepository.rebuildClosureIfStale());
+        assertEquals(Map.of(pair(a, b), 1, pair(b, c), 1, pair(a, c), 1), closure());
+
+        // A fresh closure is left alone, even when it disagrees with task_dependencies
+        jdbcTemplate.update("DELETE FROM task_dependency_closure");
+        assertFalse(taskDependencyRepository.rebuildClosureIfStale());
+        assertEquals(Map.of(), closure());
+
+        jdbcTemplate.update("UPDATE task_dependency_closure_state SET stale = TRUE");
+        assertTrue(taskDependencyRepository.rebuildClosureIfStale());
+        assertEquals(3, closure().size());
+    }
+
+
+    // utility methods
+
+    private long insertTask(String title) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, priority, status, version) VALUES (?, 'MEDIUM', 'PENDING', 0) RETURNING id",
+                Long.class, title);
+    }
+
+    private void insertDependency(long taskId, long dependsOnTaskId) {
+        jdbcTemplate.update("INSERT INTO task_dependencies (task_id, depends_on_task_id) VALUES (?, ?)", taskId, dependsOnTaskId);
+    }
+
+    private Map<List<Long>, Integer> closure() {
+        Map<List<Long>, Integer> closure = new HashMap<>();
+        jdbcTemplate.query("SELECT ancestor_id, descendant_id, depth FROM task_dependency_closure", rs -> {
+            closure.put(pair(rs.getLong("ancestor_id"), rs.getLong("descendant_id")), rs.getInt("depth"));
+        });
+        return closure;
+    }
+
+    private List<Long> pair(long ancestorId, long descendantId) {
+        return List.of(ancestorId, descendantId);
+    }
+}
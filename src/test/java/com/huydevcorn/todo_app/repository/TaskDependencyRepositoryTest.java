@@ -0,0 +1,129 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.dto.response.TaskNodeResponse;
+import com.huydevcorn.todo_app.entity.TaskDependency;
+import com.huydevcorn.todo_app.repository.TaskDependencyBulkRepository.Edge;
+import com.huydevcorn.todo_app.support.PostgresContainerSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskDependencyRepositoryTest extends PostgresContainerSupport {
+    @Autowired
+    TaskDependencyRepository taskDependencyRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @MockBean
+    EntityCacheInvalidator entityCacheInvalidator;
+
+    @Test
+    void findReachableEdgesWalksEachDependencyOnce() {
+        long a = insertTask("a");
+        long b = insertTask("b");
+        long c = insertTask("c");
+        long d = insertTask("d");
+        long unrelated = insertTask("unrelated");
+        insertDependency(a, b);
+        insertDependency(a, c);
+        insertDependency(b, d);
+        insertDependency(c, d);
+        insertDependency(unrelated, a);
+
+        List<Edge> edges = taskDependencyRepository.findReachableEdges(List.of(a));
+
+        assertEquals(Set.of(new Edge(a, b), new Edge(a, c), new Edge(b, d), new Edge(c, d)), Set.copyOf(edges));
+        assertEquals(4, edges.size());
+    }
+
+    @Test
+    void deleteDependenciesRemovesOnlyTheGivenDependencies() {
+        long a = insertTask("a");
+        long b = insertTask("b");
+        long c = insertTask("c");
+        long d = insertTask("d");
+        long ab = insertDependency(a, b);
+        insertDependency(a, c);
+        long ad = insertDependency(a, d);
+        insertDependency(b, d);
+
+        List<Long> removed = taskDependencyRepository.deleteDependencies(a, List.of(b, d, -1L));
+
+        assertEquals(Set.of(b, d), Set.copyOf(removed));
+        assertEquals(2, removed.size());
+        assertEquals(Set.of(new Edge(a, c), new Edge(b, d)), Set.copyOf(edges()));
+        verify(entityCacheInvalidator).evict(eq(TaskDependency.class), argThat(ids -> Set.copyOf(ids).equals(Set.of(ab, ad))));
+    }
+
+    @Test
+    void deleteDependenciesWithoutIdsRemovesAllOfTheTask() {
+        long a = insertTask("a");
+        long b = insertTask("b");
+        long c = insertTask("c");
+        insertDependency(a, b);
+        insertDependency(a, c);
+        insertDependency(b, c);
+
+        List<Long> removed = taskDependencyRepository.deleteDependencies(a, null);
+
+        assertEquals(Set.of(b, c), Set.copyOf(removed));
+        assertEquals(List.of(new Edge(b, c)), edges());
+    }
+
+    @Test
+    void deleteDependenciesMatchingNothingTouchesNothing() {
+        long a = insertTask("a");
+        long b = insertTask("b");
+        insertDependency(a, b);
+
+        assertEquals(List.of(), taskDependencyRepository.deleteDependencies(a, List.of()));
+        assertEquals(List.of(), taskDependencyRepository.deleteDependencies(b, null));
+        assertEquals(List.of(new Edge(a, b)), edges());
+        verify(entityCacheInvalidator, never()).evict(any(), any());
+    }
+
+    @Test
+    void findNodesByIdInReturnsIdsAndTitles() {
+        long a = insertTask("a");
+        long b = insertTask("b");
+
+        List<TaskNodeResponse> nodes = taskRepository.findNodesByIdIn(List.of(a, b, -1L));
+
+        assertEquals(Set.of(new TaskNodeResponse(a, "a"), new TaskNodeResponse(b, "b")), Set.copyOf(nodes));
+    }
+
+
+    // utility methods
+
+    private long insertTask(String title) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, priority, status, version) VALUES (?, 'MEDIUM', 'PENDING', 0) RETURNING id",
+                Long.class, title);
+    }
+
+    private long insertDependency(long taskId, long dependsOnTaskId) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO task_dependencies (task_id, depends_on_task_id) VALUES (?, ?) RETURNING id",
+                Long.class, taskId, dependsOnTaskId);
+    }
+
+    private List<Edge> edges() {
+        return jdbcTemplate.query(
+                "SELECT task_id, depends_on_task_id FROM task_dependencies",
+                (rs, rowNum) -> new Edge(rs.getLong("task_id"), rs.getLong("depends_on_task_id")));
+    }
+}
@@ -0,0 +1,55 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.support.PostgresContainerSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskRepositoryTest extends PostgresContainerSupport {
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @MockBean
+    EntityCacheInvalidator entityCacheInvalidator;
+
+    @Test
+    void countByStatusPriorityAndDueDayGroupsByCalendarDay() {
+        insertTask("PENDING", "HIGH", LocalDateTime.of(2026, 1, 2, 8, 0));
+        insertTask("PENDING", "HIGH", LocalDateTime.of(2026, 1, 2, 20, 0));
+        insertTask("DONE", "LOW", null);
+
+        Map<String, Long> counts = taskRepository.countByStatusPriorityAndDueDay().stream()
+                .collect(Collectors.toMap(
+                        row -> row[0] + "/" + row[1] + "/" + (row[2] == null ? "none" : toLocalDate(row[2])),
+                        row -> ((Number) row[3]).longValue()));
+
+        assertEquals(Map.of("PENDING/HIGH/2026-01-02", 2L, "DONE/LOW/none", 1L), counts);
+    }
+
+
+    // utility methods
+
+    private void insertTask(String status, String priority, LocalDateTime dueDate) {
+        jdbcTemplate.update("INSERT INTO tasks (title, priority, status, due_date, version) VALUES ('task', ?, ?, ?, 0)",
+                priority, status, dueDate == null ? null : Timestamp.valueOf(dueDate));
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
@@ -0,0 +1,99 @@
+package com.huydevcorn.todo_app.repository;
+
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.repository.TaskStatusTransitionRepository.StatusTransition;
+import com.huydevcorn.todo_app.support.PostgresContainerSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TaskStatusTransitionRepositoryTest extends PostgresContainerSupport {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 2, 10, 0);
+
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @MockBean
+    EntityCacheInvalidator entityCacheInvalidator;
+
+    @Test
+    void openTaskTransitionsAndReturnsTheUpdatedRow() {
+        long id = insertTask("a", "PENDING");
+
+        StatusTransition transition = taskRepository.transitionStatus(id, TaskStatus.IN_PROGRESS, NOW).orElseThrow();
+
+        Task task = transition.task();
+        assertEquals(TaskStatus.PENDING, transition.previousStatus());
+        assertEquals(TaskStatus.IN_PROGRESS, task.getStatus());
+        assertEquals(1L, task.getVersion());
+        assertEquals(NOW, task.getUpdatedAt());
+        assertEquals("a", task.getTitle());
+        assertEquals("IN_PROGRESS", jdbcTemplate.queryForObject("SELECT status FROM tasks WHERE id = ?", String.class, id));
+        verify(entityCacheInvalidator).evict(Task.class, List.of(id));
+    }
+
+    @Test
+    void closedTaskIsNotTransitioned() {
+        long id = insertTask("a", "DONE");
+
+        assertEquals(Optional.empty(), taskRepository.transitionStatus(id, TaskStatus.IN_PROGRESS, NOW));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM tasks WHERE id = ?", Long.class, id));
+        verify(entityCacheInvalidator, never()).evict(any(), any());
+    }
+
+    @Test
+    void unfinishedDependencyBlocksTheTransition() {
+        long dependency = insertTask("dependency", "IN_PROGRESS");
+        long id = insertTask("a", "PENDING");
+        insertDependency(id, dependency);
+
+        assertEquals(Optional.empty(), taskRepository.transitionStatus(id, TaskStatus.DONE, NOW));
+        assertEquals("PENDING", jdbcTemplate.queryForObject("SELECT status FROM tasks WHERE id = ?", String.class, id));
+    }
+
+    @Test
+    void finishedDependenciesAllowTheTransition() {
+        long dependency = insertTask("dependency", "DONE");
+        long id = insertTask("a", "IN_PROGRESS");
+        insertDependency(id, dependency);
+
+        StatusTransition transition = taskRepository.transitionStatus(id, TaskStatus.DONE, NOW).orElseThrow();
+
+        assertEquals(TaskStatus.IN_PROGRESS, transition.previousStatus());
+        assertEquals(TaskStatus.DONE, transition.task().getStatus());
+    }
+
+    @Test
+    void missingTaskIsNotTransitioned() {
+        assertEquals(Optional.empty(), taskRepository.transitionStatus(-1L, TaskStatus.DONE, NOW));
+    }
+
+
+    // utility methods
+
+    private long insertTask(String title, String status) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, priority, status, version) VALUES (?, 'MEDIUM', ?, 0) RETURNING id",
+                Long.class, title, status);
+    }
+
+    private void insertDependency(long taskId, long dependsOnTaskId) {
+        jdbcTemplate.update("INSERT INTO task_dependencies (task_id, depends_on_task_id) VALUES (?, ?)", taskId, dependsOnTaskId);
+    }
+}
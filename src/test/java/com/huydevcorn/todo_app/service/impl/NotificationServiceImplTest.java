@@ -0,0 +1,97 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.notification.NotificationEnvelope;
+import com.huydevcorn.todo_app.notification.SlowConsumerInterceptor;
+import com.huydevcorn.todo_app.service.RedisService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceImplTest {
+    private static final String CHANNEL = "notification";
+
+    @Mock
+    SimpMessagingTemplate simpMessagingTemplate;
+    @Mock
+    RedisService redisService;
+
+    @Test
+    void sendDeliversLocallyWithoutTheRelay() {
+        service(false).send("/notification/tasks", "payload");
+
+        verify(simpMessagingTemplate).convertAndSend("/notification/tasks", (Object) "payload", Map.of());
+        verify(redisService, never()).publish(any(), any());
+    }
+
+    @Test
+    void sendToUserIsPublishedToEveryNodeWithTheRelay() {
+        service(true).sendToUser("alice", "/notification/import-progress", "payload");
+
+        NotificationEnvelope envelope = publishedEnvelopes(1).getFirst();
+        assertEquals("alice", envelope.getUser());
+        assertEquals("/notification/import-progress", envelope.getDestination());
+        verifyNoInteractions(simpMessagingTemplate);
+    }
+
+    @Test
+    void sendToTaskWatchersAddressesEachWatcherWithAnExpiry() {
+        when(redisService.getSetMembers("task_watchers:7")).thenReturn(Set.of("alice", "bob"));
+        long before = System.currentTimeMillis();
+
+        service(true).sendToTaskWatchers(7L, "/notification/reminders", "payload");
+
+        List<NotificationEnvelope> envelopes = publishedEnvelopes(2);
+        assertEquals(Set.of("alice", "bob"), Set.of(envelopes.get(0).getUser(), envelopes.get(1).getUser()));
+        envelopes.forEach(envelope -> {
+            assertEquals(7L, envelope.getTaskId());
+            assertTrue(envelope.getExpiresAt() >= before + Duration.ofMinutes(5).toMillis());
+        });
+    }
+
+    @Test
+    void sendToTaskWatchersBroadcastsWithoutWatchers() {
+        when(redisService.getSetMembers("task_watchers:7")).thenReturn(Set.of());
+
+        service(true).sendToTaskWatchers(7L, "/notification/reminders", "payload");
+
+        assertNull(publishedEnvelopes(1).getFirst().getUser());
+    }
+
+    @Test
+    void deliverPassesTaskHeadersToTheUserDestination() {
+        service(false).deliver(NotificationEnvelope.builder()
+                .user("alice")
+                .destination("/notification/reminders")
+                .payload("payload")
+                .taskId(7L)
+                .expiresAt(123L)
+                .build());
+
+        verify(simpMessagingTemplate).convertAndSendToUser("alice", "/notification/reminders", "payload", Map.of(
+                SlowConsumerInterceptor.TASK_ID_HEADER, 7L,
+                SlowConsumerInterceptor.EXPIRES_HEADER, 123L));
+    }
+
+
+    // utility methods
+
+    private NotificationServiceImpl service(boolean relayEnabled) {
+        return new NotificationServiceImpl(simpMessagingTemplate, redisService, relayEnabled, CHANNEL, Duration.ofMinutes(5));
+    }
+
+    private List<NotificationEnvelope> publishedEnvelopes(int count) {
+        ArgumentCaptor<Object> envelopes = ArgumentCaptor.forClass(Object.class);
+        verify(redisService, times(count)).publish(eq(CHANNEL), envelopes.capture());
+        return envelopes.getAllValues().stream().map(NotificationEnvelope.class::cast).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SideEffectServiceImplTest {
+    private final SideEffectServiceImpl sideEffectService = new SideEffectServiceImpl(
+            new SimpleMeterRegistry(), 2, 10, 3, Duration.ofMillis(1), Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        sideEffectService.shutdown();
+    }
+
+    @Test
+    void failedActionIsRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        sideEffectService.afterCommit(1L, "failing", failing(attempts));
+        sideEffectService.shutdown();
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void failedOnceActionIsNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        sideEffectService.afterCommitOnce(1L, "failing", failing(attempts));
+        sideEffectService.shutdown();
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void inlineActionRunsOnTheCallingThreadOnCommit() {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        TransactionSynchronizationManager.initSynchronization();
+
+        sideEffectService.afterCommitInline("inline", () -> thread.set(Thread.currentThread()));
+        assertNull(thread.get());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertSame(Thread.currentThread(), thread.get());
+    }
+
+    @Test
+    void inlineActionFailureDoesNotReachTheCaller() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertDoesNotThrow(() -> sideEffectService.afterCommitInline("failing", failing(attempts)));
+        assertEquals(1, attempts.get());
+    }
+
+
+    // utility methods
+
+    private Runnable failing(AtomicInteger attempts) {
+        return () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("failed");
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.dto.response.CalendarBucketResponse;
+import com.huydevcorn.todo_app.dto.response.TaskCalendarResponse;
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.support.PostgresContainerSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskCalendarServiceImpl.class)
+class TaskCalendarServiceImplSqlTest extends PostgresContainerSupport {
+    @Autowired
+    TaskCalendarServiceImpl taskCalendarService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @MockBean
+    RedisService redisService;
+    @MockBean
+    EntityCacheInvalidator entityCacheInvalidator;
+
+    @Test
+    void bucketsCountEveryTaskAndKeepTheMostImportantFirst() {
+        when(redisService.getHashObjects(any(), any())).thenReturn(new HashMap<>());
+        insertTask("low", "LOW", LocalDateTime.of(2026, 1, 2, 9, 0));
+        insertTask("critical", "CRITICAL", LocalDateTime.of(2026, 1, 2, 18, 0));
+        insertTask("high", "HIGH", LocalDateTime.of(2026, 1, 2, 12, 0));
+        insertTask("next day", "MEDIUM", LocalDateTime.of(2026, 1, 3, 9, 0));
+        insertTask("next month", "MEDIUM", LocalDateTime.of(2026, 2, 1, 0, 0));
+
+        TaskCalendarResponse calendar = taskCalendarService.getCalendar("2026-01", "day", 2);
+
+        assertEquals(2, calendar.getBuckets().size());
+        CalendarBucketResponse first = calendar.getBuckets().getFirst();
+        assertEquals(LocalDateTime.of(2026, 1, 2, 0, 0), first.getStart());
+        assertEquals(3, first.getCount());
+        assertEquals(List.of("critical", "high"), first.getTasks().stream().map(TaskResponse::getTitle).toList());
+        assertEquals(1, calendar.getBuckets().get(1).getCount());
+    }
+
+    @Test
+    void hourBucketsSplitADay() {
+        when(redisService.getHashObjects(any(), any())).thenReturn(new HashMap<>());
+        insertTask("a", "LOW", LocalDateTime.of(2026, 1, 2, 9, 10));
+        insertTask("b", "LOW", LocalDateTime.of(2026, 1, 2, 9, 50));
+        insertTask("c", "LOW", LocalDateTime.of(2026, 1, 2, 10, 0));
+
+        TaskCalendarResponse calendar = taskCalendarService.getCalendar("2026-01", "hour", 10);
+
+        assertEquals(List.of(2L, 1L), calendar.getBuckets().stream().map(CalendarBucketResponse::getCount).toList());
+    }
+
+
+    // utility methods
+
+    private void insertTask(String title, String priority, LocalDateTime dueDate) {
+        jdbcTemplate.update("INSERT INTO tasks (title, priority, status, due_date, version) VALUES (?, ?, 'PENDING', ?, 0)",
+                title, priority, Timestamp.valueOf(dueDate));
+    }
+}
@@ -0,0 +1,147 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.dto.response.CalendarBucketResponse;
+import com.huydevcorn.todo_app.dto.response.TaskCalendarResponse;
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.service.RedisService;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TaskCalendarServiceImplTest {
+    @Mock
+    JdbcTemplate jdbcTemplate;
+    @Mock
+    RedisService redisService;
+
+    @InjectMocks
+    TaskCalendarServiceImpl taskCalendarService;
+
+    @Test
+    void getCalendarRejectsInvalidParameters() {
+        assertEquals(ErrorCode.INVALID_MONTH, assertThrows(AppException.class,
+                () -> taskCalendarService.getCalendar("2026-13", "day", 3)).getErrorCode());
+        assertEquals(ErrorCode.INVALID_GRANULARITY, assertThrows(AppException.class,
+                () -> taskCalendarService.getCalendar("2026-01", "week", 3)).getErrorCode());
+        assertEquals(ErrorCode.INVALID_TOP, assertThrows(AppException.class,
+                () -> taskCalendarService.getCalendar("2026-01", "day", 11)).getErrorCode());
+    }
+
+    @Test
+    void getCalendarServesACompleteMonthFromTheCacheAndTrimsTopTasks() {
+        Map<String, List<CalendarBucketResponse>> days = cachedMonth();
+        days.put("2026-01-02", List.of(bucket(LocalDateTime.of(2026, 1, 2, 0, 0), 3)));
+        when(redisService.<List<CalendarBucketResponse>>getHashObjects(eq("calendar:2026-01:DAY"), any())).thenReturn(days);
+
+        TaskCalendarResponse calendar = taskCalendarService.getCalendar("2026-01", "day", 2);
+
+        assertEquals(1, calendar.getBuckets().size());
+        assertEquals(3, calendar.getBuckets().getFirst().getCount());
+        assertEquals(2, calendar.getBuckets().getFirst().getTasks().size());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void getCalendarReloadsOnlyTheRangeOfEvictedDays() {
+        Map<String, List<CalendarBucketResponse>> days = cachedMonth();
+        days.remove("2026-01-05");
+        days.remove("2026-01-07");
+        when(redisService.<List<CalendarBucketResponse>>getHashObjects(eq("calendar:2026-01:DAY"), any())).thenReturn(days);
+
+        taskCalendarService.getCalendar("2026-01", "day", 3);
+
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class),
+                eq(Timestamp.valueOf(LocalDate.of(2026, 1, 5).atStartOfDay())),
+                eq(Timestamp.valueOf(LocalDate.of(2026, 1, 8).atStartOfDay())),
+                eq(10));
+    }
+
+    @Test
+    void getCalendarStartsTheTimeoutOnlyWhenTheWholeMonthIsLoaded() {
+        when(redisService.<List<CalendarBucketResponse>>getHashObjects(eq("calendar:2026-01:DAY"), any())).thenReturn(new HashMap<>());
+
+        taskCalendarService.getCalendar("2026-01", "day", 3);
+
+        verify(redisService).putHashObjectsIfEquals(eq("calendar:2026-01:DAY"), anyMap(), eq("calendar_epoch:all"),
+                eq(0L), eq(10L), eq(TimeUnit.MINUTES));
+    }
+
+    @Test
+    void getCalendarWritesEvictedDaysBackOnlyIfNoEvictionHappenedSinceTheRead() {
+        Map<String, List<CalendarBucketResponse>> days = cachedMonth();
+        days.remove("2026-01-05");
+        when(redisService.<Long>getObject(eq("calendar_epoch:all"), any())).thenReturn(4L);
+        when(redisService.<List<CalendarBucketResponse>>getHashObjects(eq("calendar:2026-01:DAY"), any())).thenReturn(days);
+
+        taskCalendarService.getCalendar("2026-01", "day", 3);
+
+        InOrder inOrder = inOrder(redisService, jdbcTemplate);
+        inOrder.verify(redisService).getObject(eq("calendar_epoch:all"), any());
+        inOrder.verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any(), any());
+        inOrder.verify(redisService).putHashObjectsIfEquals(eq("calendar:2026-01:DAY"),
+                argThat(reloaded -> reloaded.keySet().equals(Set.of("loaded", "2026-01-05"))),
+                eq("calendar_epoch:all"), eq(4L), eq(0L), eq(TimeUnit.MINUTES));
+    }
+
+    @Test
+    void evictDueDatesMovesTheCounterBeforeDroppingTheDayOfEveryGranularity() {
+        taskCalendarService.evictDueDates(LocalDateTime.of(2026, 1, 2, 10, 0), null);
+
+        InOrder inOrder = inOrder(redisService);
+        inOrder.verify(redisService).increment("calendar_epoch:all");
+        inOrder.verify(redisService).deleteHashFields("calendar:2026-01:DAY", "2026-01-02");
+        inOrder.verify(redisService).deleteHashFields("calendar:2026-01:HOUR", "2026-01-02");
+        verifyNoMoreInteractions(redisService);
+    }
+
+    @Test
+    void evictAllMovesTheCounterBeforeDroppingEveryMonth() {
+        taskCalendarService.evictAll();
+
+        InOrder inOrder = inOrder(redisService);
+        inOrder.verify(redisService).increment("calendar_epoch:all");
+        inOrder.verify(redisService).deleteByPattern("calendar:*");
+    }
+
+
+    // utility methods
+
+    private Map<String, List<CalendarBucketResponse>> cachedMonth() {
+        Map<String, List<CalendarBucketResponse>> days = new HashMap<>();
+        days.put("loaded", List.of());
+        LocalDate.of(2026, 1, 1).datesUntil(LocalDate.of(2026, 2, 1)).forEach(day -> days.put(day.toString(), List.of()));
+        return days;
+    }
+
+    private CalendarBucketResponse bucket(LocalDateTime start, int tasks) {
+        return CalendarBucketResponse.builder()
+                .start(start)
+                .count(tasks)
+                .tasks(LongStream.rangeClosed(1, tasks)
+                        .mapToObj(id -> TaskResponse.builder().id(id).build())
+                        .toList())
+                .build();
+    }
+}
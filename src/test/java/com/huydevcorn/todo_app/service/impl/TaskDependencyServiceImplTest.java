@@ -0,0 +1,157 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.dto.request.DependencyEdgeRequest;
+import com.huydevcorn.todo_app.dto.response.DependencyBatchResponse;
+import com.huydevcorn.todo_app.dto.response.DependencyEdgeResponse;
+import com.huydevcorn.todo_app.dto.response.TaskDependencyGraphResponse;
+import com.huydevcorn.todo_app.dto.response.TaskNodeResponse;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.index.TaskDependencyFilter;
+import com.huydevcorn.todo_app.repository.TaskDependencyBulkRepository.Edge;
+import com.huydevcorn.todo_app.repository.TaskDependencyRepository;
+import com.huydevcorn.todo_app.repository.TaskRepository;
+import com.huydevcorn.todo_app.service.RedisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TaskDependencyServiceImplTest {
+    @Mock
+    TaskRepository taskRepository;
+    @Mock
+    TaskDependencyRepository taskDependencyRepository;
+    @Mock
+    RedisService redisService;
+    @Mock
+    TaskDependencyFilter taskDependencyFilter;
+
+    TaskDependencyServiceImpl taskDependencyService;
+
+    @BeforeEach
+    void setUp() {
+        taskDependencyService = new TaskDependencyServiceImpl(
+                taskRepository, taskDependencyRepository, redisService, taskDependencyFilter, false);
+    }
+
+    @Test
+    void getDependencyGraphReadsEdgesAndNodesInTwoQueries() {
+        // 1 -> 2, 1 -> 3, 2 -> 4, 3 -> 4
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(Task.builder().id(1L).title("root").build()));
+        when(taskDependencyRepository.findReachableEdges(List.of(1L))).thenReturn(List.of(
+                new Edge(1L, 2L), new Edge(1L, 3L), new Edge(2L, 4L), new Edge(3L, 4L)));
+        when(taskRepository.findNodesByIdIn(Set.of(2L, 3L, 4L))).thenReturn(List.of(
+                node(4L), node(3L), node(2L)));
+
+        TaskDependencyGraphResponse graph = taskDependencyService.getDependencyGraph(1L);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), graph.getNodes().stream().map(TaskNodeResponse::getId).toList());
+        assertEquals(List.of(
+                DependencyEdgeResponse.builder().taskId(1L).dependsOnTaskId(2L).build(),
+                DependencyEdgeResponse.builder().taskId(1L).dependsOnTaskId(3L).build(),
+                DependencyEdgeResponse.builder().taskId(2L).dependsOnTaskId(4L).build(),
+                DependencyEdgeResponse.builder().taskId(3L).dependsOnTaskId(4L).build()), graph.getEdges());
+        verify(taskRepository, times(1)).findNodesByIdIn(any());
+        verify(taskRepository, never()).findById(2L);
+        verify(redisService).setObject(any(), eq(graph), anyLong(), any());
+    }
+
+    @Test
+    void getDependencyGraphDropsNodesDeletedMeanwhile() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(Task.builder().id(1L).title("root").build()));
+        when(taskDependencyRepository.findReachableEdges(List.of(1L))).thenReturn(List.of(
+                new Edge(1L, 2L), new Edge(1L, 3L)));
+        when(taskRepository.findNodesByIdIn(Set.of(2L, 3L))).thenReturn(List.of(node(3L)));
+
+        TaskDependencyGraphResponse graph = taskDependencyService.getDependencyGraph(1L);
+
+        assertEquals(List.of(1L, 3L), graph.getNodes().stream().map(TaskNodeResponse::getId).toList());
+    }
+
+    @Test
+    void getDependencyGraphSkipsTheNodeQueryWithoutDependencies() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(Task.builder().id(1L).title("root").build()));
+        when(taskDependencyRepository.findReachableEdges(List.of(1L))).thenReturn(List.of());
+
+        TaskDependencyGraphResponse graph = taskDependencyService.getDependencyGraph(1L);
+
+        assertEquals(1, graph.getNodes().size());
+        assertTrue(graph.getEdges().isEmpty());
+        verify(taskRepository, never()).findNodesByIdIn(any());
+    }
+
+    @Test
+    void addDependencyBatchRejectsACycleThroughExistingDependencies() {
+        // Existing 2 -> 3 -> 1, so 1 -> 2 closes a cycle
+        pendingTasks(1L, 2L, 3L);
+        when(taskDependencyRepository.findReachableEdges(any())).thenReturn(List.of(new Edge(2L, 3L), new Edge(3L, 1L)));
+
+        AppException exception = assertThrows(AppException.class,
+                () -> taskDependencyService.addDependencyBatch(List.of(edge(1L, 2L))));
+
+        assertEquals(ErrorCode.CIRCULAR_DEPENDENCY, exception.getErrorCode());
+        verify(taskDependencyRepository, never()).insertDependencies(any());
+    }
+
+    @Test
+    void addDependencyBatchRejectsACycleWithinTheBatch() {
+        pendingTasks(1L, 2L, 3L);
+        when(taskDependencyRepository.findReachableEdges(any())).thenReturn(List.of());
+
+        assertThrows(AppException.class, () -> taskDependencyService.addDependencyBatch(
+                List.of(edge(1L, 2L), edge(2L, 3L), edge(3L, 1L))));
+        verify(taskDependencyRepository, never()).insertDependencies(any());
+    }
+
+    @Test
+    void addDependencyBatchInsertsOnlyNewDependencies() {
+        pendingTasks(1L, 2L, 3L);
+        when(taskDependencyRepository.findReachableEdges(any())).thenReturn(List.of(new Edge(1L, 2L)));
+
+        DependencyBatchResponse response = taskDependencyService.addDependencyBatch(
+                List.of(edge(1L, 2L), edge(1L, 3L), edge(2L, 3L)));
+
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getAlreadyExisting());
+        verify(taskDependencyRepository).insertDependencies(List.of(new Edge(1L, 3L), new Edge(2L, 3L)));
+        verify(taskDependencyFilter).addEdge(1L, 3L);
+        verify(taskDependencyFilter).addEdge(2L, 3L);
+    }
+
+    @Test
+    void rebuildClosureAtStartupOnlyWhenEnabled() {
+        taskDependencyService.rebuildClosure();
+        verify(taskDependencyRepository, never()).rebuildClosureIfStale();
+
+        new TaskDependencyServiceImpl(taskRepository, taskDependencyRepository, redisService, taskDependencyFilter, true)
+                .rebuildClosure();
+        verify(taskDependencyRepository).rebuildClosureIfStale();
+    }
+
+
+    // utility methods
+
+    private void pendingTasks(Long... ids) {
+        List<Object[]> rows = Stream.of(ids).map(id -> new Object[] {id, TaskStatus.PENDING}).toList();
+        when(taskRepository.findStatusesByIdIn(any())).thenReturn(rows);
+    }
+
+    private DependencyEdgeRequest edge(long taskId, long dependsOnTaskId) {
+        return DependencyEdgeRequest.builder().taskId(taskId).dependsOnTaskId(dependsOnTaskId).build();
+    }
+
+    private TaskNodeResponse node(long id) {
+        return TaskNodeResponse.builder().id(id).title("task " + id).build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.service.RedisService;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TaskETagServiceImplTest {
+    private static final String STAMP_KEY = "etag:task:7";
+    private static final String GENERATION_KEY = "etag:tasks";
+
+    @Mock
+    RedisService redisService;
+
+    @InjectMocks
+    TaskETagServiceImpl taskETagService;
+
+    @Test
+    void taskETagIsBuiltFromTheVersion() {
+        assertEquals("W/\"task-7-v3\"", taskETagService.getTaskETag(7L, 3L));
+        assertNull(taskETagService.getTaskETag(7L, null));
+    }
+
+    @Test
+    void stampedTaskETagIsBuiltFromTheVersionStamp() {
+        when(redisService.getObject(eq(STAMP_KEY), any())).thenReturn(3L);
+
+        assertEquals("W/\"task-7-v3\"", taskETagService.getStampedTaskETag(7L));
+    }
+
+    @Test
+    void stampedTaskETagIsUnknownWithoutAStamp() {
+        assertNull(taskETagService.getStampedTaskETag(7L));
+    }
+
+    @Test
+    void readRecordsTheStampOnlyWhenNoneExists() {
+        taskETagService.recordRead(7L, 3L);
+        taskETagService.recordRead(7L, null);
+
+        verify(redisService).setIfAbsent(STAMP_KEY, 3L, 1, TimeUnit.HOURS);
+        verify(redisService, never()).setObject(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void writeReplacesOrDropsTheStamp() {
+        taskETagService.recordWrite(7L, 4L);
+        taskETagService.recordWrite(7L, null);
+
+        verify(redisService).setObject(STAMP_KEY, 4L, 1, TimeUnit.HOURS);
+        verify(redisService).delete(STAMP_KEY);
+    }
+
+    @Test
+    void writeSurvivesARedisFailure() {
+        doThrow(new RedisConnectionFailureException("down")).when(redisService).setObject(any(), any(), anyLong(), any());
+
+        assertDoesNotThrow(() -> taskETagService.recordWrite(7L, 4L));
+    }
+
+    @Test
+    void tasksETagFollowsTheGeneration() {
+        when(redisService.getObject(eq(GENERATION_KEY), any())).thenReturn(5L, 6L);
+
+        String before = taskETagService.getTasksETag();
+        taskETagService.bumpTasksGeneration();
+
+        assertEquals("W/\"tasks-g5\"", before);
+        assertEquals("W/\"tasks-g6\"", taskETagService.getTasksETag());
+        verify(redisService).increment(GENERATION_KEY);
+    }
+
+    @Test
+    void tasksETagStartsAGenerationWhenMissing() {
+        when(redisService.increment(GENERATION_KEY)).thenReturn(1L);
+
+        assertEquals("W/\"tasks-g1\"", taskETagService.getTasksETag());
+    }
+}
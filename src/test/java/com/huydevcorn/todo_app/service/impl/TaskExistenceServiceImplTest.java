@@ -0,0 +1,142 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.datasource.ReplicaRoutingContext;
+import com.huydevcorn.todo_app.exception.AppException;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.service.RedisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskExistenceServiceImplTest {
+    private static final String IDS_KEY = "task:ids";
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+    @Mock
+    RedisService redisService;
+
+    private TaskExistenceServiceImpl taskExistenceService;
+
+    @BeforeEach
+    void setUp() {
+        taskExistenceService = new TaskExistenceServiceImpl(jdbcTemplate, redisService, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void completeFilterRejectsIdsItDoesNotHold() {
+        when(redisService.getBits(IDS_KEY, 0L, 7L)).thenReturn(List.of(true, false));
+
+        AppException exception = assertThrows(AppException.class, () -> taskExistenceService.checkExists(7L));
+
+        assertEquals(ErrorCode.TASK_NOT_FOUND, exception.getErrorCode());
+        verify(redisService, never()).hasKey(any());
+    }
+
+    @Test
+    void completeFilterLetsHeldIdsThrough() {
+        when(redisService.getBits(IDS_KEY, 0L, 7L)).thenReturn(List.of(true, true));
+
+        assertDoesNotThrow(() -> taskExistenceService.checkExists(7L));
+    }
+
+    @Test
+    void incompleteFilterFallsBackToRecentMisses() {
+        when(redisService.getBits(IDS_KEY, 0L, 7L)).thenReturn(List.of(false, false));
+        when(redisService.getBits(IDS_KEY, 0L, 8L)).thenReturn(List.of(false, false));
+        when(redisService.hasKey("task:missing:7")).thenReturn(true);
+
+        assertThrows(AppException.class, () -> taskExistenceService.checkExists(7L));
+        assertDoesNotThrow(() -> taskExistenceService.checkExists(8L));
+    }
+
+    @Test
+    void idsOutsideTheBitmapAreAlwaysLookedUp() {
+        taskExistenceService.checkExists(null);
+        taskExistenceService.checkExists(0L);
+        taskExistenceService.checkExists(1L << 32);
+
+        verifyNoInteractions(redisService);
+    }
+
+    @Test
+    void redisFailureLetsTheLookupThrough() {
+        when(redisService.getBits(any(), anyLong(), anyLong())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertDoesNotThrow(() -> taskExistenceService.checkExists(7L));
+    }
+
+    @Test
+    void missesReadFromAReplicaAreNotRemembered() {
+        taskExistenceService.recordMissing(7L);
+        ReplicaRoutingContext.setSelectedReplica("replica-1");
+        taskExistenceService.recordMissing(8L);
+
+        verify(redisService).setObject("task:missing:7", true, 30_000, TimeUnit.MILLISECONDS);
+        verify(redisService, never()).setObject(eq("task:missing:8"), any(), anyLong(), any());
+    }
+
+    @Test
+    void createdTasksAreAddedAndTheirMissesForgotten() {
+        taskExistenceService.recordCreated(List.of(7L, 8L));
+
+        verify(redisService).setBits(IDS_KEY, List.of(7L, 8L), true);
+        verify(redisService).delete(List.of("task:missing:7", "task:missing:8"));
+    }
+
+    @Test
+    void failedCreateStopsTrustingTheFilter() {
+        doThrow(new RedisConnectionFailureException("down")).when(redisService).setBits(IDS_KEY, List.of(7L), true);
+
+        taskExistenceService.recordCreated(List.of(7L));
+
+        verify(redisService).setBits(IDS_KEY, List.of(0L), false);
+    }
+
+    @Test
+    void deletedTasksAreCleared() {
+        taskExistenceService.recordDeleted(7L);
+
+        verify(redisService).setBits(IDS_KEY, List.of(7L), false);
+    }
+
+    @Test
+    void rebuildSetsEveryIdThenMarksTheFilterComplete() {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long id : new long[] {3L, 5L}) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("id")).thenReturn(id);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        List<List<Long>> batches = new ArrayList<>();
+        doAnswer(invocation -> batches.add(List.copyOf(invocation.<Collection<Long>>getArgument(1))))
+                .when(redisService).setBits(eq(IDS_KEY), any(), eq(true));
+
+        taskExistenceService.rebuild();
+
+        assertEquals(List.of(List.of(3L, 5L), List.of(0L)), batches);
+    }
+}
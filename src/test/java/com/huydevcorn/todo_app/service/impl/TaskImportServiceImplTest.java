@@ -0,0 +1,150 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.cache.EntityCacheInvalidator;
+import com.huydevcorn.todo_app.dto.response.ImportReportResponse;
+import com.huydevcorn.todo_app.dto.response.ImportRowErrorResponse;
+import com.huydevcorn.todo_app.exception.ErrorCode;
+import com.huydevcorn.todo_app.index.TaskBitmapIndex;
+import com.huydevcorn.todo_app.index.TaskDependencyFilter;
+import com.huydevcorn.todo_app.notification.NotificationScheduler;
+import com.huydevcorn.todo_app.service.NotificationService;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.SideEffectService;
+import com.huydevcorn.todo_app.service.TaskCalendarService;
+import com.huydevcorn.todo_app.service.TaskETagService;
+import com.huydevcorn.todo_app.service.TaskExistenceService;
+import com.huydevcorn.todo_app.service.TaskStatsService;
+import com.huydevcorn.todo_app.support.PostgresContainerSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskImportServiceImpl.class, JacksonAutoConfiguration.class})
+class TaskImportServiceImplTest extends PostgresContainerSupport {
+    @Autowired
+    TaskImportServiceImpl taskImportService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    NotificationScheduler notificationScheduler;
+    @MockBean
+    RedisService redisService;
+    @MockBean
+    NotificationService notificationService;
+    @MockBean
+    TaskStatsService taskStatsService;
+    @MockBean
+    TaskCalendarService taskCalendarService;
+    @MockBean
+    TaskETagService taskETagService;
+    @MockBean
+    SideEffectService sideEffectService;
+    @MockBean
+    TaskBitmapIndex taskBitmapIndex;
+    @MockBean
+    TaskExistenceService taskExistenceService;
+    @MockBean
+    TaskDependencyFilter taskDependencyFilter;
+    @MockBean
+    EntityCacheInvalidator entityCacheInvalidator;
+
+    @Test
+    void importsCsvRecordsWithQuotedLineBreaks() {
+        String csv = """
+                external_id,title,description
+                a,First,"line one
+                line two"
+                b,Second,
+                """;
+
+        ImportReportResponse report = taskImportService.importTasks(file("tasks.csv", csv), null, null);
+
+        assertEquals(2, report.getTotalRows());
+        assertEquals(2, report.getImportedTasks());
+        assertEquals("line one\nline two", jdbcTemplate.queryForObject(
+                "SELECT description FROM tasks WHERE title = 'First'", String.class));
+    }
+
+    @Test
+    void rejectsOnlyDependenciesOnACycle() {
+        // a <-> b is a cycle; c depends on a without being part of it
+        String ndjson = """
+                {"externalId":"a","title":"A","dependsOn":["b"]}
+                {"externalId":"b","title":"B","dependsOn":["a"]}
+                {"externalId":"c","title":"C","dependsOn":["a"]}
+                """;
+
+        ImportReportResponse report = taskImportService.importTasks(file("tasks.ndjson", ndjson), null, null);
+
+        assertEquals(3, report.getImportedTasks());
+        assertEquals(1, report.getImportedDependencies());
+        assertEquals(2, report.getRejectedDependencies());
+        assertEquals(List.of("a", "b"), report.getErrors().stream()
+                .filter(error -> error.getCode() == ErrorCode.CIRCULAR_DEPENDENCY.getCode())
+                .map(ImportRowErrorResponse::getExternalId)
+                .sorted()
+                .toList());
+        assertEquals(1, jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM task_dependencies d
+                JOIN tasks t ON t.id = d.task_id
+                JOIN tasks a ON a.id = d.depends_on_task_id
+                WHERE t.title = 'C' AND a.title = 'A'
+                """, Integer.class));
+    }
+
+    @Test
+    void rejectsDependenciesOnARejectedRowInsteadOfAnExistingTaskWithItsId() {
+        Long existingId = jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (title, priority, status, version) VALUES ('existing', 'MEDIUM', 'PENDING', 0) RETURNING id",
+                Long.class);
+        String ndjson = """
+                {"externalId":"%1$d","title":""}
+                {"externalId":"b","title":"B","dependsOn":["%1$d"]}
+                """.formatted(existingId);
+
+        ImportReportResponse report = taskImportService.importTasks(file("tasks.ndjson", ndjson), null, null);
+
+        assertEquals(1, report.getImportedTasks());
+        assertEquals(0, report.getImportedDependencies());
+        assertEquals(1, report.getRejectedDependencies());
+        assertEquals(List.of("b"), report.getErrors().stream()
+                .filter(error -> ErrorCode.DEPENDENCY_ROW_REJECTED.getMessage().equals(error.getMessage()))
+                .map(ImportRowErrorResponse::getExternalId)
+                .toList());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM task_dependencies WHERE depends_on_task_id = ?", Integer.class, existingId));
+    }
+
+    @Test
+    void publishesProgressOnlyToTheImportingUser() {
+        taskImportService.importTasks(file("tasks.ndjson", "{\"externalId\":\"a\",\"title\":\"A\"}\n"), null, "alice");
+        taskImportService.importTasks(file("tasks.ndjson", "{\"externalId\":\"b\",\"title\":\"B\"}\n"), null, null);
+
+        verify(notificationService).sendToUser(eq("alice"), eq("/notification/import-progress"), any());
+        verify(notificationService, never()).send(any(), any());
+    }
+
+
+    // utility methods
+
+    private MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", name, "text/plain", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
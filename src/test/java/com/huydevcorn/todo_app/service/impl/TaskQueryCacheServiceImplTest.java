@@ -0,0 +1,202 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.datasource.ReplicaRoutingContext;
+import com.huydevcorn.todo_app.dto.request.TaskFilter;
+import com.huydevcorn.todo_app.dto.response.TaskQueryWindow;
+import com.huydevcorn.todo_app.dto.response.TaskQueryWindow.Entry;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.repository.TaskRepository;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.utils.TaskQueryUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TaskQueryCacheServiceImplTest {
+    private static final TaskFilter ALL = TaskFilter.builder().build();
+
+    @Mock
+    TaskRepository taskRepository;
+    @Mock
+    RedisService redisService;
+
+    // Windows cached in Redis by key
+    private final Map<String, TaskQueryWindow> cached = new HashMap<>();
+    private TaskQueryCacheServiceImpl taskQueryCacheService;
+
+    @BeforeEach
+    void setUp() {
+        taskQueryCacheService = new TaskQueryCacheServiceImpl(taskRepository, redisService, 3);
+        when(redisService.<TaskQueryWindow>getObjects(any(), any())).thenAnswer(invocation -> {
+            List<TaskQueryWindow> windows = new ArrayList<>();
+            invocation.<List<String>>getArgument(0).forEach(key -> windows.add(cached.get(key)));
+            return windows;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void cachedWindowOfTheFilterIsReturnedAsIs() {
+        TaskFilter filter = ALL.toBuilder().status(TaskStatus.DONE).build();
+        TaskQueryWindow window = window(false, 10, entry(1L, TaskStatus.DONE, TaskPriority.LOW, null));
+        cached.put(TaskQueryUtils.windowCacheKey(filter), window);
+
+        assertSame(window, taskQueryCacheService.getWindow(filter));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void keywordAllDoesNotShareTheUnfilteredWindow() {
+        TaskFilter keyword = ALL.toBuilder().title("all").build();
+        cached.put(TaskQueryUtils.windowCacheKey(ALL), window(true, 1, entry(1L, TaskStatus.DONE, TaskPriority.LOW, null)));
+        when(taskRepository.findWindow(any(), anyInt())).thenReturn(List.of());
+
+        assertNotEquals(TaskQueryUtils.windowCacheKey(ALL), TaskQueryUtils.windowCacheKey(keyword));
+        assertNotEquals(
+                TaskQueryUtils.tasksCacheKey(1, 10, null, null, null, null, null, null, null),
+                TaskQueryUtils.tasksCacheKey(1, 10, "all", null, null, null, null, null, null));
+        assertEquals(List.of(), taskQueryCacheService.getWindow(keyword).getEntries());
+        verify(taskRepository).findWindow(any(), anyInt());
+    }
+
+    @Test
+    void completeBroaderWindowIsNarrowed() {
+        cached.put(TaskQueryUtils.windowCacheKey(ALL), window(true, 3,
+                entry(3L, TaskStatus.DONE, TaskPriority.HIGH, LocalDateTime.of(2026, 3, 10, 0, 0)),
+                entry(2L, TaskStatus.PENDING, TaskPriority.HIGH, LocalDateTime.of(2026, 3, 10, 0, 0)),
+                entry(1L, TaskStatus.DONE, TaskPriority.HIGH, null)));
+        TaskFilter filter = ALL.toBuilder()
+                .status(TaskStatus.DONE)
+                .startDate(LocalDate.of(2026, 3, 1))
+                .build();
+
+        TaskQueryWindow window = taskQueryCacheService.getWindow(filter);
+
+        assertEquals(List.of(3L), window.getEntries().stream().map(Entry::getId).toList());
+        assertEquals(1, window.getTotal());
+        assertTrue(window.isComplete());
+        verifyNoInteractions(taskRepository);
+        verify(redisService).setObject(TaskQueryUtils.windowCacheKey(filter), window, 5, TimeUnit.MINUTES);
+    }
+
+    @Test
+    void narrowestCompleteWindowIsPreferred() {
+        TaskFilter statusOnly = ALL.toBuilder().status(TaskStatus.DONE).build();
+        cached.put(TaskQueryUtils.windowCacheKey(ALL), window(true, 2,
+                entry(2L, TaskStatus.DONE, TaskPriority.HIGH, null),
+                entry(1L, TaskStatus.DONE, TaskPriority.HIGH, null)));
+        cached.put(TaskQueryUtils.windowCacheKey(statusOnly), window(true, 1,
+                entry(2L, TaskStatus.DONE, TaskPriority.HIGH, null)));
+
+        TaskQueryWindow window = taskQueryCacheService.getWindow(statusOnly.toBuilder().priority(TaskPriority.HIGH).build());
+
+        assertEquals(List.of(2L), window.getEntries().stream().map(Entry::getId).toList());
+    }
+
+    @Test
+    void incompleteBroaderWindowIsNotNarrowed() {
+        cached.put(TaskQueryUtils.windowCacheKey(ALL), window(false, 50, entry(1L, TaskStatus.DONE, TaskPriority.LOW, null)));
+        when(taskRepository.findWindow(any(), eq(4))).thenReturn(List.of(entry(7L, TaskStatus.DONE, TaskPriority.LOW, null)));
+
+        TaskQueryWindow window = taskQueryCacheService.getWindow(ALL.toBuilder().status(TaskStatus.DONE).build());
+
+        assertEquals(List.of(7L), window.getEntries().stream().map(Entry::getId).toList());
+        assertTrue(window.isComplete());
+    }
+
+    @Test
+    void windowsWithAnotherKeywordAreNeverNarrowed() {
+        cached.put(TaskQueryUtils.windowCacheKey(ALL), window(true, 1, entry(1L, TaskStatus.DONE, TaskPriority.LOW, null)));
+        when(taskRepository.findWindow(any(), anyInt())).thenReturn(List.of());
+
+        taskQueryCacheService.getWindow(ALL.toBuilder().title("report").status(TaskStatus.DONE).build());
+
+        verify(taskRepository).findWindow(any(), eq(4));
+    }
+
+    @Test
+    void overflowingLoadIsTruncatedAndCounted() {
+        when(taskRepository.findWindow(any(), eq(4))).thenReturn(List.of(
+                entry(4L, TaskStatus.DONE, TaskPriority.LOW, null),
+                entry(3L, TaskStatus.DONE, TaskPriority.LOW, null),
+                entry(2L, TaskStatus.DONE, TaskPriority.LOW, null),
+                entry(1L, TaskStatus.DONE, TaskPriority.LOW, null)));
+        when(taskRepository.count(any(Specification.class))).thenReturn(9L);
+
+        TaskQueryWindow window = taskQueryCacheService.getWindow(ALL);
+
+        assertEquals(List.of(4L, 3L, 2L), window.getEntries().stream().map(Entry::getId).toList());
+        assertEquals(9, window.getTotal());
+        assertFalse(window.isComplete());
+    }
+
+    @Test
+    void windowsReadFromAReplicaAreNotCached() {
+        ReplicaRoutingContext.setSelectedReplica("replica-1");
+        when(taskRepository.findWindow(any(), anyInt())).thenReturn(List.of());
+
+        taskQueryCacheService.getWindow(ALL);
+
+        verify(redisService, never()).setObject(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void broaderWindowsAreLookedUpInOneRoundTrip() {
+        when(taskRepository.findWindow(any(), anyInt())).thenReturn(List.of());
+        TaskFilter filter = ALL.toBuilder()
+                .status(TaskStatus.DONE)
+                .priority(TaskPriority.LOW)
+                .endDate(LocalDate.of(2026, 3, 1))
+                .build();
+
+        taskQueryCacheService.getWindow(filter);
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisService, times(1)).getObjects(keys.capture(), any());
+        assertEquals(8, keys.getValue().size());
+        assertEquals(TaskQueryUtils.windowCacheKey(filter), keys.getValue().getFirst());
+        assertEquals(TaskQueryUtils.windowCacheKey(ALL), keys.getValue().getLast());
+    }
+
+
+    // utility methods
+
+    private TaskQueryWindow window(boolean complete, long total, Entry... entries) {
+        return TaskQueryWindow.builder()
+                .entries(List.of(entries))
+                .total(total)
+                .complete(complete)
+                .build();
+    }
+
+    private Entry entry(Long id, TaskStatus status, TaskPriority priority, LocalDateTime dueDate) {
+        return Entry.builder()
+                .id(id)
+                .status(status)
+                .priority(priority)
+                .dueDate(dueDate)
+                .build();
+    }
+}
@@ -0,0 +1,228 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.datasource.ReplicaRoutingContext;
+import com.huydevcorn.todo_app.dto.response.PaginationResponse;
+import com.huydevcorn.todo_app.dto.response.TaskQueryWindow;
+import com.huydevcorn.todo_app.dto.response.TaskResponse;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.index.TaskBitmapIndex;
+import com.huydevcorn.todo_app.index.TaskBitmapIndex.TaskIdSlice;
+import com.huydevcorn.todo_app.index.TaskDependencyFilter;
+import com.huydevcorn.todo_app.mapper.TaskMapper;
+import com.huydevcorn.todo_app.notification.NotificationScheduler;
+import com.huydevcorn.todo_app.repository.TaskDependencyRepository;
+import com.huydevcorn.todo_app.repository.TaskRepository;
+import com.huydevcorn.todo_app.repository.TaskStatusTransitionRepository.StatusTransition;
+import com.huydevcorn.todo_app.service.NotificationService;
+import com.huydevcorn.todo_app.service.RedisService;
+import com.huydevcorn.todo_app.service.SideEffectService;
+import com.huydevcorn.todo_app.service.TaskCalendarService;
+import com.huydevcorn.todo_app.service.TaskETagService;
+import com.huydevcorn.todo_app.service.TaskExistenceService;
+import com.huydevcorn.todo_app.service.TaskQueryCacheService;
+import com.huydevcorn.todo_app.service.TaskStatsService;
+import com.huydevcorn.todo_app.utils.TaskQueryUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TaskServiceImplTest {
+    private static final String PAGE_KEY = TaskQueryUtils.tasksCacheKey(1, 10, null, null, null, null, null, null, null);
+
+    @Mock
+    TaskRepository taskRepository;
+    @Mock
+    TaskMapper taskMapper;
+    @Mock
+    TaskDependencyRepository taskDependencyRepository;
+    @Mock
+    NotificationScheduler notificationScheduler;
+    @Mock
+    NotificationService notificationService;
+    @Mock
+    RedisService redisService;
+    @Mock
+    TaskStatsService taskStatsService;
+    @Mock
+    TaskCalendarService taskCalendarService;
+    @Mock
+    TaskETagService taskETagService;
+    @Mock
+    SideEffectService sideEffectService;
+    @Mock
+    TaskBitmapIndex taskBitmapIndex;
+    @Mock
+    TaskQueryCacheService taskQueryCacheService;
+    @Mock
+    TaskExistenceService taskExistenceService;
+    @Mock
+    TaskDependencyFilter taskDependencyFilter;
+
+    @InjectMocks
+    TaskServiceImpl taskService;
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void getTaskCachesTasksReadFromThePrimary() {
+        TaskResponse response = stubTask(1L);
+
+        assertSame(response, taskService.getTask(1L));
+
+        verify(redisService).setObject("task:1", response, 5, TimeUnit.MINUTES);
+    }
+
+    @Test
+    void getTaskDoesNotCacheTasksReadFromAReplica() {
+        TaskResponse response = stubTask(1L);
+        ReplicaRoutingContext.setSelectedReplica("replica-1");
+
+        assertSame(response, taskService.getTask(1L));
+
+        verify(redisService, never()).setObject(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void writeBumpsTheListGenerationBeforeResponding() {
+        stubTask(1L);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(sideEffectService).afterCommitInline(any(), any());
+
+        taskService.deleteTask(1L);
+
+        verify(taskETagService).bumpTasksGeneration();
+    }
+
+    @Test
+    void writeNeverRetriesTheCounterDelta() {
+        stubTask(1L);
+
+        taskService.deleteTask(1L);
+
+        verify(sideEffectService).afterCommitOnce(eq(1L), eq("record-task-stats"), any());
+        verify(sideEffectService, never()).afterCommit(eq(1L), eq("record-task-stats"), any());
+    }
+
+    @Test
+    void writeStampsTheCounterDeltaBeforeItCommits() {
+        stubTask(1L);
+        when(taskStatsService.beginChange()).thenReturn(9L);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return null;
+        }).when(sideEffectService).afterCommitOnce(any(), any(), any());
+
+        taskService.deleteTask(1L);
+
+        InOrder inOrder = inOrder(taskStatsService, taskRepository);
+        inOrder.verify(taskStatsService).beginChange();
+        inOrder.verify(taskRepository).delete(any(Task.class));
+        inOrder.verify(taskStatsService).recordChange(eq(9L), any(), any());
+    }
+
+    @Test
+    void completingATaskAlwaysLooksForUnblockedDependents() {
+        // A link made by another instance may be missing from this one's filter
+        Task done = Task.builder().id(1L).title("a").status(TaskStatus.DONE).priority(TaskPriority.MEDIUM).version(1L).build();
+        when(taskRepository.transitionStatus(eq(1L), eq(TaskStatus.DONE), any()))
+                .thenReturn(Optional.of(new StatusTransition(done, TaskStatus.IN_PROGRESS)));
+        when(taskDependencyFilter.mightBeLinked(1L)).thenReturn(false);
+
+        taskService.changeStatus(1L, "DONE");
+
+        verify(sideEffectService).afterCommit(eq(1L), eq("notify-unblocked-dependents"), any());
+    }
+
+    @Test
+    void windowPagesAreServedFromThePageCacheFirst() {
+        PaginationResponse<TaskResponse> cachedPage = PaginationResponse.<TaskResponse>builder().page(1).build();
+        when(redisService.getObject(eq(PAGE_KEY), any())).thenReturn(cachedPage);
+
+        assertSame(cachedPage, taskService.getTasks(1, 10, null, null, null, null, null, null, null));
+        verifyNoInteractions(taskQueryCacheService, taskRepository);
+    }
+
+    @Test
+    void indexAnswersBeforeTheWindowWithoutSharingThePage() {
+        when(taskBitmapIndex.query(null, null, null, null, 1, 10)).thenReturn(Optional.of(new TaskIdSlice(List.of(2L, 1L), 2)));
+        when(taskRepository.findResponsesByIds(List.of(2L, 1L), null, null)).thenReturn(responses(2L, 1L));
+
+        PaginationResponse<TaskResponse> response = taskService.getTasks(1, 10, null, null, null, null, null, null, null);
+
+        assertEquals(2, response.getTotalResults());
+        verifyNoInteractions(taskQueryCacheService);
+        // Another instance's write may be missing from this index, so the page must not reach the shared cache
+        verify(redisService, never()).setObject(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void windowPagesAreShared() {
+        when(taskQueryCacheService.getWindowSize()).thenReturn(200);
+        when(taskQueryCacheService.getWindow(any())).thenReturn(TaskQueryWindow.builder()
+                .entries(List.of(windowEntry(2L), windowEntry(1L)))
+                .total(2)
+                .complete(true)
+                .build());
+        when(taskRepository.findResponsesByIds(List.of(2L, 1L), null, null)).thenReturn(responses(2L, 1L));
+
+        PaginationResponse<TaskResponse> response = taskService.getTasks(1, 10, null, null, null, null, null, null, null);
+
+        verify(redisService).setObject(PAGE_KEY, response, 5, TimeUnit.MINUTES);
+    }
+
+    @Test
+    void deletedTasksLeaveTheWindowPageAndItsTotal() {
+        when(taskQueryCacheService.getWindowSize()).thenReturn(200);
+        when(taskQueryCacheService.getWindow(any())).thenReturn(TaskQueryWindow.builder()
+                .entries(List.of(windowEntry(3L), windowEntry(2L), windowEntry(1L)))
+                .total(3)
+                .complete(true)
+                .build());
+        when(taskRepository.findResponsesByIds(List.of(3L, 2L, 1L), null, null)).thenReturn(responses(3L, 1L));
+
+        PaginationResponse<TaskResponse> response = taskService.getTasks(1, 10, null, null, null, null, null, null, null);
+
+        assertEquals(List.of(3L, 1L), response.getResults().stream().map(TaskResponse::getId).toList());
+        assertEquals(2, response.getTotalResults());
+        assertEquals(1, response.getTotalPages());
+        verify(redisService, never()).setObject(any(), any(), anyLong(), any());
+    }
+
+
+    // utility methods
+
+    private TaskQueryWindow.Entry windowEntry(Long id) {
+        return TaskQueryWindow.Entry.builder().id(id).status(TaskStatus.PENDING).priority(TaskPriority.LOW).build();
+    }
+
+    private List<TaskResponse> responses(Long... ids) {
+        return Arrays.stream(ids).map(id -> TaskResponse.builder().id(id).build()).toList();
+    }
+
+    private TaskResponse stubTask(Long id) {
+        Task task = Task.builder().id(id).title("task").build();
+        TaskResponse response = TaskResponse.builder().id(id).title("task").build();
+        when(taskRepository.findById(id)).thenReturn(Optional.of(task));
+        when(taskMapper.toTaskResponse(task)).thenReturn(response);
+        return response;
+    }
+}
@@ -0,0 +1,129 @@
+package com.huydevcorn.todo_app.service.impl;
+
+import com.huydevcorn.todo_app.dto.response.TaskStatsResponse;
+import com.huydevcorn.todo_app.entity.Task;
+import com.huydevcorn.todo_app.enums.TaskPriority;
+import com.huydevcorn.todo_app.enums.TaskStatus;
+import com.huydevcorn.todo_app.repository.TaskRepository;
+import com.huydevcorn.todo_app.service.RedisService;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TaskStatsServiceImplTest {
+    private static final String KEY = "task_stats:counters";
+    private static final String RECONCILED_KEY = "task_stats:reconciled";
+
+    @Mock
+    TaskRepository taskRepository;
+    @Mock
+    RedisService redisService;
+
+    @InjectMocks
+    TaskStatsServiceImpl taskStatsService;
+
+    @Test
+    void countersOfCoversStatusPriorityAndDueDay() {
+        Task task = task(TaskStatus.PENDING, TaskPriority.HIGH, LocalDateTime.of(2026, 1, 2, 10, 0));
+
+        assertEquals(Set.of("total", "status:PENDING", "priority:HIGH", "due:2026-01-02"), taskStatsService.countersOf(task));
+        assertEquals(Set.of(), taskStatsService.countersOf(null));
+    }
+
+    @Test
+    void recordChangeOnlyMovesCountersThatDiffer() {
+        Set<String> before = taskStatsService.countersOf(task(TaskStatus.PENDING, TaskPriority.HIGH, null));
+        Set<String> after = taskStatsService.countersOf(task(TaskStatus.DONE, TaskPriority.HIGH, null));
+
+        taskStatsService.recordChange(7L, before, after);
+
+        verify(redisService).incrementHashIfAfter(KEY, Map.of("status:PENDING", -1L, "status:DONE", 1L), RECONCILED_KEY, 7L);
+    }
+
+    @Test
+    void beginChangeTakesTheNextStampAndFallsBackToZero() {
+        when(redisService.increment("task_stats:sequence")).thenReturn(8L).thenThrow(new IllegalStateException("redis down"));
+
+        assertEquals(8L, taskStatsService.beginChange());
+        assertEquals(0L, taskStatsService.beginChange());
+    }
+
+    @Test
+    void recordChangeSurvivesARedisFailure() {
+        doThrow(new IllegalStateException("redis down")).when(redisService).incrementHashIfAfter(any(), any(), any(), anyLong());
+
+        assertDoesNotThrow(() -> taskStatsService.recordChange(1L, Set.of(), Set.of("total")));
+    }
+
+    @Test
+    void getStatsGroupsCountersAndSkipsZeros() {
+        when(redisService.getHash(KEY)).thenReturn(Map.of(
+                "total", 3L,
+                "status:PENDING", 2L,
+                "status:DONE", 1L,
+                "status:OVERDUE", 0L,
+                "priority:LOW", 3L,
+                "due:2026-01-02", 1L,
+                "due:none", 2L));
+
+        TaskStatsResponse stats = taskStatsService.getStats();
+
+        assertEquals(3, stats.getTotal());
+        assertEquals(Map.of("PENDING", 2L, "DONE", 1L), stats.getByStatus());
+        assertEquals(Map.of("LOW", 3L), stats.getByPriority());
+        assertEquals(Map.of("2026-01-02", 1L), stats.getByDueDate());
+        assertEquals(2, stats.getNoDueDate());
+        verify(taskRepository, never()).countByStatusPriorityAndDueDay();
+    }
+
+    @Test
+    void reconcileRebuildsEveryCounterFromGroupedRows() {
+        when(redisService.<Long>getObject(eq("task_stats:sequence"), any())).thenReturn(12L);
+        when(taskRepository.countByStatusPriorityAndDueDay()).thenReturn(List.of(
+                new Object[]{"PENDING", "HIGH", Date.valueOf(LocalDate.of(2026, 1, 2)), 2L},
+                new Object[]{"DONE", "HIGH", null, 1L}));
+
+        taskStatsService.reconcile();
+
+        verify(redisService).replaceHash(KEY, Map.of(
+                "total", 3L,
+                "status:PENDING", 2L,
+                "status:DONE", 1L,
+                "priority:HIGH", 3L,
+                "due:2026-01-02", 2L,
+                "due:none", 1L), RECONCILED_KEY, 12L);
+    }
+
+    @Test
+    void reconcileReadsTheSequenceOnlyAfterItsQuery() {
+        when(taskRepository.countByStatusPriorityAndDueDay()).thenReturn(List.of());
+
+        taskStatsService.reconcile();
+
+        // A stamp read before the query could belong to a write that commits after the snapshot
+        InOrder inOrder = inOrder(taskRepository, redisService);
+        inOrder.verify(taskRepository).countByStatusPriorityAndDueDay();
+        inOrder.verify(redisService).getObject(eq("task_stats:sequence"), any());
+        inOrder.verify(redisService).replaceHash(KEY, Map.of(), RECONCILED_KEY, 0L);
+    }
+
+
+    // utility methods
+
+    private Task task(TaskStatus status, TaskPriority priority, LocalDateTime dueDate) {
+        return Task.builder().id(1L).title("task").status(status).priority(priority).dueDate(dueDate).build();
+    }
+}
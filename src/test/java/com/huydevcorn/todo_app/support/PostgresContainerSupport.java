@@ -0,0 +1,27 @@
+package com.huydevcorn.todo_app.support;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class for tests running SQL against a real PostgreSQL, shared by all subclasses.
+ * The tests are skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresContainerSupport {
+    @Container
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + POSTGRES.getHost() + ":"
+                + POSTGRES.getFirstMappedPort() + "/" + POSTGRES.getDatabaseName());
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+}
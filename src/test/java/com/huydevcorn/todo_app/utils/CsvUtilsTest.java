@@ -0,0 +1,42 @@
+package com.huydevcorn.todo_app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvUtilsTest {
+    @Test
+    void readRecordJoinsLinesInsideQuotedFields() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("a,\"first\nsecond\",c\nd,e,f\n"));
+
+        assertEquals("a,\"first\nsecond\",c", CsvUtils.readRecord(reader));
+        assertEquals("d,e,f", CsvUtils.readRecord(reader));
+        assertNull(CsvUtils.readRecord(reader));
+    }
+
+    @Test
+    void readRecordKeepsEscapedQuotesOnOneLine() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("a,\"say \"\"hi\"\"\",c\nd\n"));
+
+        assertEquals("a,\"say \"\"hi\"\"\",c", CsvUtils.readRecord(reader));
+        assertEquals("d", CsvUtils.readRecord(reader));
+    }
+
+    @Test
+    void parseLineKeepsLineBreaksAndEscapedQuotes() {
+        assertEquals(List.of("a", "first\nsecond", "say \"hi\""),
+                CsvUtils.parseLine("a,\"first\nsecond\",\"say \"\"hi\"\"\""));
+    }
+
+    @Test
+    void quoteRoundTripsThroughParseLine() {
+        String value = "line \"one\"\nline two";
+
+        assertEquals(List.of(value, ""), CsvUtils.parseLine(CsvUtils.quote(value) + ","));
+    }
+}
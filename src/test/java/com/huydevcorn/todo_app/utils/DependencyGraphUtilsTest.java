@@ -0,0 +1,104 @@
+package com.huydevcorn.todo_app.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphUtilsTest {
+    @Test
+    void findCycleComponentsReportsOnlyTasksOnTheCycle() {
+        // 1 <-> 2 is a cycle, 3 depends on 1 and 4 depends on 3
+        Map<Long, List<Long>> dependsOn = Map.of(
+                1L, List.of(2L),
+                2L, List.of(1L),
+                3L, List.of(1L),
+                4L, List.of(3L));
+
+        Map<Long, Integer> components = DependencyGraphUtils.findCycleComponents(dependsOn);
+
+        assertEquals(2, components.size());
+        assertEquals(components.get(1L), components.get(2L));
+        assertFalse(components.containsKey(3L));
+        assertFalse(components.containsKey(4L));
+    }
+
+    @Test
+    void findCycleComponentsSeparatesDisjointCycles() {
+        Map<Long, List<Long>> dependsOn = Map.of(
+                1L, List.of(2L),
+                2L, List.of(1L),
+                3L, List.of(4L),
+                4L, List.of(5L),
+                5L, List.of(3L, 1L));
+
+        Map<Long, Integer> components = DependencyGraphUtils.findCycleComponents(dependsOn);
+
+        assertEquals(5, components.size());
+        assertEquals(components.get(3L), components.get(5L));
+        assertNotEquals(components.get(1L), components.get(3L));
+    }
+
+    @Test
+    void findCycleComponentsIgnoresAcyclicGraphs() {
+        Map<Long, List<Long>> dependsOn = Map.of(
+                1L, List.of(2L, 3L),
+                2L, List.of(3L));
+
+        assertTrue(DependencyGraphUtils.findCycleComponents(dependsOn).isEmpty());
+    }
+
+    @Test
+    void findCycleComponentsHandlesLongChainsWithoutRecursion() {
+        Map<Long, List<Long>> dependsOn = new HashMap<>();
+        for (long i = 0; i < 200_000; i++) {
+            dependsOn.put(i, List.of(i + 1));
+        }
+        dependsOn.put(200_000L, List.of(0L));
+
+        assertEquals(200_001, DependencyGraphUtils.findCycleComponents(dependsOn).size());
+    }
+
+    @Test
+    void hasCycleAcceptsSharedDependencies() {
+        // 1 -> 2 -> 4 and 1 -> 3 -> 4
+        Map<Long, List<Long>> dependsOn = Map.of(
+                1L, List.of(2L, 3L),
+                2L, List.of(4L),
+                3L, List.of(4L));
+
+        assertFalse(DependencyGraphUtils.hasCycle(dependsOn));
+    }
+
+    @Test
+    void hasCycleFindsACycleBehindAcyclicTasks() {
+        // 1 -> 2 -> 3 -> 4 -> 2
+        Map<Long, List<Long>> dependsOn = Map.of(
+                1L, List.of(2L),
+                2L, List.of(3L),
+                3L, List.of(4L),
+                4L, List.of(2L));
+
+        assertTrue(DependencyGraphUtils.hasCycle(dependsOn));
+    }
+
+    @Test
+    void hasCycleFindsACycleWithoutAnyStartingTask() {
+        assertTrue(DependencyGraphUtils.hasCycle(Map.of(1L, List.of(2L), 2L, List.of(1L))));
+    }
+
+    @Test
+    void hasCycleHandlesLongChains() {
+        Map<Long, List<Long>> dependsOn = new HashMap<>();
+        for (long i = 0; i < 200_000; i++) {
+            dependsOn.put(i, List.of(i + 1));
+        }
+
+        assertFalse(DependencyGraphUtils.hasCycle(dependsOn));
+        dependsOn.put(200_000L, List.of(0L));
+        assertTrue(DependencyGraphUtils.hasCycle(dependsOn));
+    }
+}